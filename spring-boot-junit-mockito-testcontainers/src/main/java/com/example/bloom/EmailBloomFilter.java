@@ -0,0 +1,322 @@
+package com.example.bloom;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Bloom filter over the emails in the employee table, so that {@code saveEmployee} can skip the
+ * {@code findByEmail} lookup when an email is definitely new. A "might contain" answer still goes
+ * to the database, and the unique constraint on {@code email} stays the final arbiter.
+ * <p>
+ * Bits cannot be cleared, so deletes and email changes leave stale entries behind and the
+ * false-positive rate drifts up. The filter is rebuilt from the table in the background when
+ * the bit fill predicts, or the observed lookups show, a false-positive rate above
+ * {@code maxFalsePositiveRate}, when stale entries pass a quarter of the insertions, and
+ * immediately after a missed duplicate. Emails are lower-cased, matching the case-insensitive
+ * collation of the column.
+ */
+@Slf4j
+public class EmailBloomFilter implements Closeable {
+
+    /**
+     * Streams every email currently stored.
+     */
+    @FunctionalInterface
+    public interface EmailSource {
+        void forEachEmail(Consumer<String> consumer);
+    }
+
+    private static final int MIN_OBSERVED_LOOKUPS = 1000;
+
+    private final EmailSource source;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final double maxFalsePositiveRate;
+
+    private volatile Bits current;
+    private volatile Bits next;
+    private volatile boolean loaded;
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final Executor rebuilder;
+
+    private final LongAdder lookupsAvoided = new LongAdder();
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+    private final LongAdder missedDuplicates = new LongAdder();
+    private final LongAdder rebuilds = new LongAdder();
+
+    public EmailBloomFilter(EmailSource source, long expectedInsertions, double falsePositiveRate,
+                            double maxFalsePositiveRate) {
+        this(source, expectedInsertions, falsePositiveRate, maxFalsePositiveRate,
+                Executors.newSingleThreadExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "email-bloom-rebuild");
+                    thread.setDaemon(true);
+                    return thread;
+                }));
+    }
+
+    /**
+     * Runs background rebuilds on {@code rebuilder}, which {@link #close()} shuts down if it is an
+     * {@link ExecutorService}.
+     */
+    public EmailBloomFilter(EmailSource source, long expectedInsertions, double falsePositiveRate,
+                            double maxFalsePositiveRate, Executor rebuilder) {
+        this.source = source;
+        this.rebuilder = rebuilder;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.maxFalsePositiveRate = maxFalsePositiveRate;
+        this.current = new Bits(expectedInsertions, falsePositiveRate);
+    }
+
+    /**
+     * False means the email is definitely not stored; before the first build every email might be.
+     */
+    public boolean mightContain(String email) {
+        if (!loaded || current.mightContain(key(email))) {
+            return true;
+        }
+        lookupsAvoided.increment();
+        return false;
+    }
+
+    /**
+     * Outcome of a database lookup made because {@link #mightContain} said yes.
+     */
+    public void recordLookup(boolean found) {
+        if (!loaded) {
+            return;
+        }
+        Bits bits = current;
+        lookups.increment();
+        bits.lookups.increment();
+        if (!found) {
+            bits.falsePositives.increment();
+            falsePositives.increment();
+        }
+        rebuildIfDrifted();
+    }
+
+    /**
+     * The unique constraint rejected an email the filter reported as absent.
+     */
+    public void recordMissedDuplicate(String email) {
+        missedDuplicates.increment();
+        log.warn("Email filter missed an existing email, rebuilding");
+        put(email);
+        scheduleRebuild();
+    }
+
+    public void put(String email) {
+        long[] key = key(email);
+        Bits bits = current;
+        bits.put(key);
+        bits.insertions.increment();
+        // a rebuild in progress may already have read past this row
+        Bits pending = next;
+        if (pending != null) {
+            pending.put(key);
+        }
+    }
+
+    public void recordRemoved() {
+        current.stale.increment();
+        rebuildIfDrifted();
+    }
+
+    /**
+     * Reloads every email into a new filter sized for the current row count and swaps it in.
+     */
+    public void rebuild() {
+        long start = System.nanoTime();
+        long size = Math.max(expectedInsertions, 2 * current.insertions.sum());
+        Bits rebuilt = new Bits(size, falsePositiveRate);
+        next = rebuilt;
+        try {
+            source.forEachEmail(email -> {
+                rebuilt.put(key(email));
+                rebuilt.insertions.increment();
+            });
+            current = rebuilt;
+            loaded = true;
+            rebuilds.increment();
+            log.info("Email filter rebuilt with {} emails in {} ms, {} bits", rebuilt.insertions.sum(),
+                    (System.nanoTime() - start) / 1_000_000, rebuilt.bitCount);
+        } finally {
+            next = null;
+        }
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Probability of a false positive predicted from the fraction of bits set.
+     */
+    public double expectedFalsePositiveRate() {
+        return current.expectedFalsePositiveRate();
+    }
+
+    /**
+     * Share of lookups since the last rebuild that found no row although the filter said maybe.
+     */
+    public double observedFalsePositiveRate() {
+        Bits bits = current;
+        long total = bits.lookups.sum();
+        return total == 0 ? 0.0 : (double) bits.falsePositives.sum() / total;
+    }
+
+    /**
+     * Deleted or replaced emails whose bits are still set, since the last rebuild.
+     */
+    public long staleEntries() {
+        return current.stale.sum();
+    }
+
+    public long lookupsAvoided() {
+        return lookupsAvoided.sum();
+    }
+
+    public long lookups() {
+        return lookups.sum();
+    }
+
+    public long falsePositives() {
+        return falsePositives.sum();
+    }
+
+    public long missedDuplicates() {
+        return missedDuplicates.sum();
+    }
+
+    public long rebuilds() {
+        return rebuilds.sum();
+    }
+
+    @Override
+    public void close() {
+        if (rebuilder instanceof ExecutorService) {
+            ((ExecutorService) rebuilder).shutdownNow();
+        }
+    }
+
+    private void rebuildIfDrifted() {
+        Bits bits = current;
+        boolean drifted = bits.expectedFalsePositiveRate() > maxFalsePositiveRate
+                || (bits.lookups.sum() >= MIN_OBSERVED_LOOKUPS && observedFalsePositiveRate() > maxFalsePositiveRate)
+                || bits.stale.sum() * 4 > Math.max(bits.insertions.sum(), MIN_OBSERVED_LOOKUPS);
+        if (drifted) {
+            scheduleRebuild();
+        }
+    }
+
+    private void scheduleRebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            rebuilder.execute(() -> {
+                try {
+                    rebuild();
+                } catch (RuntimeException ex) {
+                    log.warn("Email filter rebuild failed", ex);
+                } finally {
+                    rebuilding.set(false);
+                }
+            });
+        } catch (RuntimeException ex) {
+            rebuilding.set(false);
+        }
+    }
+
+    /**
+     * Two independent 64-bit hashes of the normalized email, combined by double hashing.
+     */
+    private static long[] key(String email) {
+        byte[] bytes = email.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8);
+        long h1 = 0xcbf29ce484222325L;
+        long h2 = 0x9e3779b97f4a7c15L;
+        for (byte b : bytes) {
+            h1 = (h1 ^ (b & 0xff)) * 0x100000001b3L;
+            h2 = (h2 + (b & 0xff)) * 0xff51afd7ed558ccdL;
+        }
+        return new long[]{mix(h1), mix(h2) | 1};
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        return h ^ (h >>> 33);
+    }
+
+    private static final class Bits {
+
+        private final AtomicLongArray words;
+        private final long bitCount;
+        private final int hashes;
+        private final LongAdder insertions = new LongAdder();
+        private final LongAdder stale = new LongAdder();
+        private final LongAdder lookups = new LongAdder();
+        private final LongAdder falsePositives = new LongAdder();
+        private final LongAdder setBits = new LongAdder();
+
+        private Bits(long expectedInsertions, double falsePositiveRate) {
+            long n = Math.max(1, expectedInsertions);
+            long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            int length = (int) Math.min(Integer.MAX_VALUE - 8, (m + 63) >>> 6);
+            this.words = new AtomicLongArray(length);
+            this.bitCount = (long) length * Long.SIZE;
+            this.hashes = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+        }
+
+        private boolean mightContain(long[] key) {
+            long combined = key[0];
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(combined, bitCount);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+                combined += key[1];
+            }
+            return true;
+        }
+
+        private void put(long[] key) {
+            long combined = key[0];
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(combined, bitCount);
+                int index = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long word;
+                do {
+                    word = words.get(index);
+                    if ((word & mask) != 0) {
+                        break;
+                    }
+                } while (!words.compareAndSet(index, word, word | mask));
+                if ((word & mask) == 0) {
+                    setBits.increment();
+                }
+                combined += key[1];
+            }
+        }
+
+        private double expectedFalsePositiveRate() {
+            return Math.pow((double) setBits.sum() / bitCount, hashes);
+        }
+    }
+}
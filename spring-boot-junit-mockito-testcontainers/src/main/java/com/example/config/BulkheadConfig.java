@@ -0,0 +1,36 @@
+package com.example.config;
+
+import com.example.web.Bulkhead;
+import com.example.web.Bulkheads;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Runs {@code EmployeeController} reads and writes on separate {@link Bulkhead}s, so a burst of
+ * slow writes cannot starve cheap reads of threads. Tomcat threads only accept the request and
+ * hand it over; the response is completed through servlet async processing.
+ */
+@Configuration
+@EnableConfigurationProperties(BulkheadProperties.class)
+@ConditionalOnProperty(prefix = "app.bulkhead", name = "enabled", matchIfMissing = true)
+public class BulkheadConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public Bulkheads bulkheads(BulkheadProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        Bulkhead read = bulkhead("read", properties.getRead());
+        Bulkhead write = bulkhead("write", properties.getWrite());
+        meterRegistry.ifAvailable(registry -> {
+            read.bindTo(registry);
+            write.bindTo(registry);
+        });
+        return new Bulkheads(read, write);
+    }
+
+    private static Bulkhead bulkhead(String name, BulkheadProperties.Pool pool) {
+        return new Bulkhead(name, pool.getThreads(), pool.getQueueCapacity(), pool.getTimeout());
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.bulkhead")
+public class BulkheadProperties {
+
+    private boolean enabled = true;
+
+    private Pool read = new Pool(32, 256, Duration.ofSeconds(2));
+
+    private Pool write = new Pool(8, 64, Duration.ofSeconds(10));
+
+    @Data
+    public static class Pool {
+
+        private int threads;
+
+        /**
+         * Requests waiting for a thread before new ones are rejected with 503.
+         */
+        private int queueCapacity;
+
+        /**
+         * Upper bound for queueing and running one request. Requests still queued at the deadline
+         * are rejected with 503; running ones are interrupted and answered with 504.
+         */
+        private Duration timeout;
+
+        public Pool() {
+        }
+
+        public Pool(int threads, int queueCapacity, Duration timeout) {
+            this.threads = threads;
+            this.queueCapacity = queueCapacity;
+            this.timeout = timeout;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.config;
+
+import com.example.bloom.EmailBloomFilter;
+import com.example.repository.EmployeeRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+/**
+ * Puts an {@link EmailBloomFilter} in front of the duplicate-email lookup in
+ * {@code EmployeeServiceImpl}. The filter is built from the table before the application reports
+ * ready and publishes {@code app.email.filter.*} metrics.
+ */
+@Configuration
+@EnableConfigurationProperties(EmailFilterProperties.class)
+@ConditionalOnProperty(prefix = "app.email-filter", name = "enabled")
+public class EmailFilterConfig {
+
+    @Bean
+    public EmailBloomFilter emailBloomFilter(EmployeeRepository employeeRepository, EmailFilterProperties properties,
+                                             ObjectProvider<MeterRegistry> meterRegistry) {
+        EmailBloomFilter filter = new EmailBloomFilter(consumer -> {
+            long afterId = 0;
+            List<EmployeeRepository.EmployeeEmail> page;
+            do {
+                page = employeeRepository.findEmailsAfter(afterId, PageRequest.of(0, properties.getLoadPageSize()));
+                for (EmployeeRepository.EmployeeEmail row : page) {
+                    consumer.accept(row.getEmail());
+                    afterId = row.getId();
+                }
+            } while (page.size() == properties.getLoadPageSize());
+        }, properties.getExpectedInsertions(), properties.getFalsePositiveRate(), properties.getMaxFalsePositiveRate());
+        meterRegistry.ifAvailable(registry -> {
+            Gauge.builder("app.email.filter.false.positive.rate", filter, EmailBloomFilter::observedFalsePositiveRate)
+                    .description("Lookups since the last rebuild that found no row although the filter said maybe")
+                    .register(registry);
+            Gauge.builder("app.email.filter.expected.false.positive.rate", filter,
+                            EmailBloomFilter::expectedFalsePositiveRate)
+                    .register(registry);
+            Gauge.builder("app.email.filter.stale", filter, EmailBloomFilter::staleEntries)
+                    .description("Deleted or replaced emails still set in the filter since the last rebuild")
+                    .register(registry);
+            FunctionCounter.builder("app.email.filter.lookups.avoided", filter, EmailBloomFilter::lookupsAvoided)
+                    .register(registry);
+            FunctionCounter.builder("app.email.filter.lookups", filter, EmailBloomFilter::lookups)
+                    .register(registry);
+            FunctionCounter.builder("app.email.filter.false.positives", filter, EmailBloomFilter::falsePositives)
+                    .register(registry);
+            FunctionCounter.builder("app.email.filter.missed.duplicates", filter, EmailBloomFilter::missedDuplicates)
+                    .register(registry);
+            FunctionCounter.builder("app.email.filter.rebuilds", filter, EmailBloomFilter::rebuilds)
+                    .register(registry);
+        });
+        return filter;
+    }
+
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public ApplicationRunner emailBloomFilterLoader(EmailBloomFilter filter) {
+        return args -> filter.rebuild();
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "app.email-filter")
+public class EmailFilterProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Emails the filter is sized for; rebuilds size for twice the current count if that is larger.
+     */
+    private long expectedInsertions = 1_000_000;
+
+    /**
+     * Target false-positive rate right after a build.
+     */
+    private double falsePositiveRate = 0.01;
+
+    /**
+     * Predicted or observed false-positive rate that triggers a rebuild.
+     */
+    private double maxFalsePositiveRate = 0.03;
+
+    /**
+     * Rows read per keyset page while building the filter.
+     */
+    private int loadPageSize = 10_000;
+}
@@ -0,0 +1,41 @@
+package com.example.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import javax.servlet.Filter;
+import javax.sql.DataSource;
+
+/**
+ * Settings for the {@code fast-startup} profile, which turns on lazy initialization in
+ * {@code application-fast-startup.properties}.
+ * <p>
+ * The data source and the servlet filters stay eager so connection setup and filter wiring never
+ * land on the first request; everything else off the request path is created on first use.
+ */
+@Configuration(proxyBeanMethods = false)
+@Profile("fast-startup")
+public class FastStartupConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerRequestPath() {
+        return LazyInitializationExcludeFilter.forBeanTypes(DataSource.class, Filter.class);
+    }
+
+    /**
+     * Used by the AppCDS training run of the {@code fast-startup} Maven profile: the JVM
+     * writes its loaded class list on exit, so exiting once ready captures exactly the
+     * classes needed to start.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "app.startup", name = "exit-after-ready")
+    ApplicationListener<ApplicationReadyEvent> exitAfterReady() {
+        return event -> System.exit(SpringApplication.exit(event.getApplicationContext()));
+    }
+}
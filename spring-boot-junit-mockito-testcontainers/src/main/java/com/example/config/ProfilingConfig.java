@@ -0,0 +1,63 @@
+package com.example.config;
+
+import com.example.profiling.JfrAccessFilter;
+import com.example.profiling.JfrEndpoint;
+import com.example.profiling.JfrRecordings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.net.InetAddress;
+
+/**
+ * On-demand Java Flight Recorder profiling through {@code /actuator/jfr} (expose the {@code jfr}
+ * endpoint as well). Every request must carry the configured bearer token. The token filter only
+ * sees the application port, so a separate management port must be bound to a loopback address.
+ */
+@Configuration
+@EnableConfigurationProperties(ProfilingProperties.class)
+@ConditionalOnProperty(prefix = "app.profiling", name = "enabled")
+public class ProfilingConfig {
+
+    private final String endpointPath;
+
+    public ProfilingConfig(ProfilingProperties properties,
+                           @Value("${management.endpoints.web.base-path:/actuator}") String basePath,
+                           @Value("${server.port:8080}") int serverPort,
+                           @Value("${management.server.port:#{null}}") Integer managementPort,
+                           @Value("${management.server.address:#{null}}") InetAddress managementAddress) {
+        if (properties.getToken() == null || properties.getToken().isBlank()) {
+            throw new IllegalStateException("app.profiling.token must be set when profiling is enabled");
+        }
+        boolean separateManagementPort = managementPort != null && managementPort != serverPort;
+        if (separateManagementPort && (managementAddress == null || !managementAddress.isLoopbackAddress())) {
+            throw new IllegalStateException("management.server.address must be a loopback address when "
+                    + "profiling is enabled on a separate management port");
+        }
+        this.endpointPath = basePath + "/jfr";
+    }
+
+    @Bean(destroyMethod = "close")
+    public JfrRecordings jfrRecordings(ProfilingProperties properties) {
+        return new JfrRecordings(properties.getDirectory(), properties.getMaxDuration(),
+                properties.getMaxRunning(), properties.getPackagePrefix());
+    }
+
+    @Bean
+    public JfrEndpoint jfrEndpoint(JfrRecordings jfrRecordings, ProfilingProperties properties) {
+        return new JfrEndpoint(jfrRecordings, properties.getSummarySize());
+    }
+
+    @Bean
+    public FilterRegistrationBean<JfrAccessFilter> jfrAccessFilter(ProfilingProperties properties) {
+        FilterRegistrationBean<JfrAccessFilter> registration =
+                new FilterRegistrationBean<>(new JfrAccessFilter(properties.getToken()));
+        registration.addUrlPatterns(endpointPath, endpointPath + "/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
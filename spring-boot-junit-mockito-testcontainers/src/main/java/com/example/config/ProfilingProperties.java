@@ -0,0 +1,33 @@
+package com.example.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.profiling")
+public class ProfilingProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Bearer token required on every {@code /actuator/jfr} request.
+     */
+    private String token;
+
+    private Path directory = Paths.get(System.getProperty("java.io.tmpdir"), "employee-jfr");
+
+    private Duration maxDuration = Duration.ofMinutes(10);
+
+    private int maxRunning = 2;
+
+    /**
+     * Frames charged with samples and allocations in recording summaries.
+     */
+    private String packagePrefix = "com.example.";
+
+    private int summarySize = 20;
+}
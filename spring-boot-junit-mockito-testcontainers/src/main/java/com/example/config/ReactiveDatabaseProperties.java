@@ -0,0 +1,26 @@
+package com.example.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.r2dbc")
+public class ReactiveDatabaseProperties {
+
+    private String url = "r2dbc:mysql://localhost:3306/ems?sslMode=DISABLED";
+
+    private String username;
+
+    private String password;
+
+    private int initialSize = 10;
+
+    private int maxSize = 20;
+
+    /**
+     * Upper bound for waiting on a pooled connection.
+     */
+    private Duration maxAcquireTime = Duration.ofSeconds(5);
+}
@@ -0,0 +1,67 @@
+package com.example.config;
+
+import com.example.entity.Employee;
+import com.example.replica.EmployeeReplica;
+import com.example.repository.EmployeeRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+/**
+ * Serves employee reads from an in-process {@link EmployeeReplica}. The replica is loaded page by
+ * page before the warm-up and before the application reports ready, and the JPA-backed
+ * {@code EmployeeServiceImpl} keeps it current on every write.
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(ReplicaProperties.class)
+@ConditionalOnProperty(prefix = "app.replica", name = "enabled")
+public class ReplicaConfig {
+
+    @Bean
+    public EmployeeReplica employeeReplica(ObjectProvider<MeterRegistry> meterRegistry) {
+        EmployeeReplica replica = new EmployeeReplica();
+        meterRegistry.ifAvailable(registry -> {
+            Gauge.builder("app.replica.rows", replica, EmployeeReplica::size)
+                    .register(registry);
+            Gauge.builder("app.replica.footprint", replica, EmployeeReplica::footprintBytes)
+                    .baseUnit("bytes")
+                    .register(registry);
+        });
+        return replica;
+    }
+
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public ApplicationRunner employeeReplicaLoader(EmployeeReplica replica, EmployeeRepository employeeRepository,
+                                                   ReplicaProperties properties) {
+        return args -> {
+            long start = System.nanoTime();
+            replica.clear();
+            // keyset paging, every page is an index range scan instead of skipping an offset
+            long afterId = 0;
+            List<Employee> page;
+            do {
+                page = employeeRepository.findEmployeesAfter(afterId, PageRequest.of(0, properties.getLoadPageSize()));
+                replica.putAll(page);
+                if (!page.isEmpty()) {
+                    afterId = page.get(page.size() - 1).getId();
+                }
+            } while (page.size() == properties.getLoadPageSize());
+            replica.markLoaded();
+            log.info("Loaded {} employees into the replica in {} ms, {} bytes", replica.size(),
+                    (System.nanoTime() - start) / 1_000_000, replica.footprintBytes());
+        };
+    }
+}
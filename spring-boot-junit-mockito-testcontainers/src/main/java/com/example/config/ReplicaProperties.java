@@ -0,0 +1,16 @@
+package com.example.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "app.replica")
+public class ReplicaProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Rows read per page while loading the replica at startup.
+     */
+    private int loadPageSize = 10_000;
+}
@@ -0,0 +1,54 @@
+package com.example.config;
+
+import com.example.repository.EmployeeShardRepository;
+import com.example.service.ShardedEmployeeService;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the JPA-backed {@code EmployeeService} with {@link ShardedEmployeeService}. Every
+ * shard gets its own Hikari pool, named {@code employee-shard-<n>}, whose
+ * {@code hikaricp.connections.*} metrics are tagged with that pool name.
+ */
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+@ConditionalOnProperty(prefix = "app.sharding", name = "enabled")
+public class ShardingConfig {
+
+    @Bean
+    public ShardedEmployeeService shardedEmployeeService(ShardingProperties properties,
+                                                         ObjectProvider<MeterRegistry> meterRegistry) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        List<EmployeeShardRepository> shards = new ArrayList<>();
+        for (int i = 0; i < properties.getShards().size(); i++) {
+            ShardingProperties.Shard shard = properties.getShards().get(i);
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(shard.getUrl())
+                    .username(shard.getUsername())
+                    .password(shard.getPassword())
+                    .build();
+            dataSource.setPoolName("employee-shard-" + i);
+            dataSource.setMaximumPoolSize(shard.getMaximumPoolSize());
+            if (registry != null) {
+                dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            }
+            EmployeeShardRepository repository = new EmployeeShardRepository(dataSource);
+            if (properties.isInitializeSchema()) {
+                repository.createTableIfMissing();
+            }
+            shards.add(repository);
+        }
+        return new ShardedEmployeeService(shards, properties.getFanOutThreads(), registry);
+    }
+}
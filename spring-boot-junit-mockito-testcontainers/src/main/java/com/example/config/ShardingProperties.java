@@ -0,0 +1,41 @@
+package com.example.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "app.sharding")
+public class ShardingProperties {
+
+    /**
+     * Serve employees from {@link #shards} instead of the JPA repository.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Create the employee table on every shard at startup if it is missing.
+     */
+    private boolean initializeSchema = true;
+
+    /**
+     * Threads running the per-shard queries of fan-out reads.
+     */
+    private int fanOutThreads = 16;
+
+    /**
+     * Shard datasources; the list order is the shard number and must not change once data is written.
+     */
+    private List<Shard> shards = new ArrayList<>();
+
+    @Data
+    public static class Shard {
+
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+}
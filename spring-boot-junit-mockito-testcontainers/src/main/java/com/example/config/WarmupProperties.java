@@ -0,0 +1,28 @@
+package com.example.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.warmup")
+public class WarmupProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Pool connections opened before the application reports ready.
+     */
+    private int connections = 10;
+
+    /**
+     * Synthetic requests sent through the controller/service/repository path.
+     */
+    private int iterations = 200;
+
+    /**
+     * Upper bound for the whole warm-up; readiness is never held back longer than this.
+     */
+    private Duration timeout = Duration.ofSeconds(30);
+}
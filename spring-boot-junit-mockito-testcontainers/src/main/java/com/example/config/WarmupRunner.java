@@ -0,0 +1,115 @@
+package com.example.config;
+
+import com.example.entity.Employee;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs before Spring Boot publishes {@code ReadinessState.ACCEPTING_TRAFFIC}: opens pool
+ * connections up front and sends synthetic requests through Tomcat, the controller, the
+ * service, the repository and Jackson so the first real requests do not pay for lazy
+ * connection setup, class loading and interpretation.
+ * <p>
+ * The synthetic requests only read ids that cannot exist, so warm-up never changes data.
+ */
+@Slf4j
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+@EnableConfigurationProperties(WarmupProperties.class)
+@ConditionalOnProperty(prefix = "app.warmup", name = "enabled", matchIfMissing = true)
+public class WarmupRunner implements ApplicationRunner {
+
+    private final WarmupProperties properties;
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+    private final ApplicationContext applicationContext;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public WarmupRunner(WarmupProperties properties, DataSource dataSource, ObjectMapper objectMapper,
+                        ApplicationContext applicationContext, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.properties = properties;
+        this.dataSource = dataSource;
+        this.objectMapper = objectMapper;
+        this.applicationContext = applicationContext;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        long deadline = start + properties.getTimeout().toNanos();
+        try {
+            openConnections();
+            warmRequestPath(deadline);
+        } catch (Exception ex) {
+            log.warn("Warm-up did not complete, continuing startup", ex);
+        }
+        long elapsed = System.nanoTime() - start;
+        meterRegistry.ifAvailable(registry -> Timer.builder("app.warmup.duration")
+                .register(registry)
+                .record(elapsed, TimeUnit.NANOSECONDS));
+        log.info("Warm-up finished in {} ms ({} connections, {} requests)",
+                TimeUnit.NANOSECONDS.toMillis(elapsed), properties.getConnections(), properties.getIterations());
+    }
+
+    private void openConnections() throws SQLException {
+        // hold them all at once, otherwise the pool would hand out the same connection again
+        List<Connection> connections = new ArrayList<>(properties.getConnections());
+        try {
+            for (int i = 0; i < properties.getConnections(); i++) {
+                Connection connection = dataSource.getConnection();
+                connections.add(connection);
+                connection.isValid(1);
+            }
+        } finally {
+            for (Connection connection : connections) {
+                connection.close();
+            }
+        }
+    }
+
+    private void warmRequestPath(long deadline) throws Exception {
+        if (!(applicationContext instanceof WebServerApplicationContext)) {
+            // mock web environment in tests: there is no server to send requests to
+            return;
+        }
+        int port = ((WebServerApplicationContext) applicationContext).getWebServer().getPort();
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+        Employee sample = Employee.builder().id(1L).firstName("Warm").lastName("Up").email("warm.up@example.com").build();
+
+        for (int i = 0; i < properties.getIterations() && System.nanoTime() < deadline; i++) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/employees/" + (-1 - i)))
+                    .timeout(Duration.ofSeconds(5))
+                    .GET()
+                    .build();
+            client.send(request, HttpResponse.BodyHandlers.discarding());
+
+            byte[] json = objectMapper.writeValueAsBytes(sample);
+            objectMapper.readValue(json, Employee.class);
+        }
+    }
+}
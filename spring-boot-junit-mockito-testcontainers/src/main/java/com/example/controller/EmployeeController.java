@@ -2,58 +2,97 @@ package com.example.controller;
 
 import com.example.entity.Employee;
 import com.example.service.EmployeeService;
+import com.example.web.Bulkhead;
+import com.example.web.Bulkheads;
+import com.example.web.ServerTiming;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @RestController
+@Profile("!r2dbc")
 @RequestMapping("/api/employees")
 public class EmployeeController {
 
     private EmployeeService employeeService;
 
-    public EmployeeController(EmployeeService employeeService) {
+    private ObjectProvider<Bulkheads> bulkheads;
+
+    public EmployeeController(EmployeeService employeeService, ObjectProvider<Bulkheads> bulkheads) {
         this.employeeService = employeeService;
+        this.bulkheads = bulkheads;
     }
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public Employee createEmployee(@RequestBody Employee employee) {
-        return employeeService.saveEmployee(employee);
+    public CompletableFuture<Employee> createEmployee(@RequestBody Employee employee) {
+        return write(() -> employeeService.saveEmployee(employee));
     }
 
     @GetMapping
-    public List<Employee> getAllEmployees() {
-        return employeeService.getAllEmployees();
+    public CompletableFuture<List<Employee>> getAllEmployees() {
+        return read(() -> employeeService.getAllEmployees());
+    }
+
+    @GetMapping("search")
+    public CompletableFuture<List<Employee>> getEmployeesByName(@RequestParam("firstName") String firstName,
+                                                                @RequestParam("lastName") String lastName) {
+        return read(() -> employeeService.getEmployeesByName(firstName, lastName));
     }
 
     @GetMapping("{id}")
-    public ResponseEntity<Employee> getEmployeeById(@PathVariable("id") long employeeId) {
-        return employeeService.getEmployeeById(employeeId)
+    public CompletableFuture<ResponseEntity<Employee>> getEmployeeById(@PathVariable("id") long employeeId) {
+        return read(() -> employeeService.getEmployeeById(employeeId)
                 .map(ResponseEntity::ok)
-                .orElseGet(() -> ResponseEntity.notFound().build());
+                .orElseGet(() -> ResponseEntity.notFound().build()));
     }
 
     @PutMapping("{id}")
-    public ResponseEntity<Employee> updateEmployee(@PathVariable("id") long employeeId,
-                                                   @RequestBody Employee employee) {
-        return employeeService.getEmployeeById(employeeId)
+    public CompletableFuture<ResponseEntity<Employee>> updateEmployee(@PathVariable("id") long employeeId,
+                                                                      @RequestBody Employee employee) {
+        return write(() -> employeeService.getEmployeeById(employeeId)
                 .map(savedEmployee -> {
-                    savedEmployee.setFirstName(employee.getFirstName());
-                    savedEmployee.setLastName(employee.getLastName());
-                    savedEmployee.setEmail(employee.getEmail());
+                    ServerTiming.time(ServerTiming.MAP, () -> {
+                        savedEmployee.setFirstName(employee.getFirstName());
+                        savedEmployee.setLastName(employee.getLastName());
+                        savedEmployee.setEmail(employee.getEmail());
+                    });
 
                     Employee updatedEmployee = employeeService.updateEmployee(savedEmployee);
                     return new ResponseEntity<>(updatedEmployee, HttpStatus.OK);
                 })
-                .orElseGet(() -> ResponseEntity.notFound().build());
+                .orElseGet(() -> ResponseEntity.notFound().build()));
     }
 
     @DeleteMapping("{id}")
-    public ResponseEntity<String> deleteEmployee(@PathVariable("id") long employeeId) {
-        employeeService.deleteEmployee(employeeId);
-        return new ResponseEntity<>("Employee deleted successfully!.", HttpStatus.OK);
+    public CompletableFuture<ResponseEntity<String>> deleteEmployee(@PathVariable("id") long employeeId) {
+        return write(() -> {
+            employeeService.deleteEmployee(employeeId);
+            return new ResponseEntity<>("Employee deleted successfully!.", HttpStatus.OK);
+        });
+    }
+
+    private <T> CompletableFuture<T> read(Supplier<T> work) {
+        return submit(Bulkheads::read, work);
+    }
+
+    private <T> CompletableFuture<T> write(Supplier<T> work) {
+        return submit(Bulkheads::write, work);
+    }
+
+    private <T> CompletableFuture<T> submit(Function<Bulkheads, Bulkhead> bulkhead, Supplier<T> work) {
+        Bulkheads available = bulkheads.getIfAvailable();
+        if (available == null) {
+            // bulkheads disabled, run on the request thread
+            return CompletableFuture.completedFuture(work.get());
+        }
+        return bulkhead.apply(available).submit(work);
     }
 }
\ No newline at end of file
@@ -0,0 +1,71 @@
+package com.example.controller;
+
+import com.example.entity.Employee;
+import com.example.service.ReactiveEmployeeService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Same REST contract as {@link EmployeeController}, served by {@link ReactiveEmployeeService}.
+ * Spring MVC subscribes to the returned publishers and completes the request through servlet
+ * async processing, so the Tomcat thread goes back to the pool while the database works.
+ */
+@RestController
+@Profile("r2dbc")
+@RequestMapping("/api/employees")
+public class ReactiveEmployeeController {
+
+    private ReactiveEmployeeService employeeService;
+
+    public ReactiveEmployeeController(ReactiveEmployeeService employeeService) {
+        this.employeeService = employeeService;
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<Employee> createEmployee(@RequestBody Employee employee) {
+        return employeeService.saveEmployee(employee);
+    }
+
+    @GetMapping
+    public Flux<Employee> getAllEmployees() {
+        return employeeService.getAllEmployees();
+    }
+
+    @GetMapping("search")
+    public Flux<Employee> getEmployeesByName(@RequestParam("firstName") String firstName,
+                                             @RequestParam("lastName") String lastName) {
+        return employeeService.getEmployeesByName(firstName, lastName);
+    }
+
+    @GetMapping("{id}")
+    public Mono<ResponseEntity<Employee>> getEmployeeById(@PathVariable("id") long employeeId) {
+        return employeeService.getEmployeeById(employeeId)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @PutMapping("{id}")
+    public Mono<ResponseEntity<Employee>> updateEmployee(@PathVariable("id") long employeeId,
+                                                         @RequestBody Employee employee) {
+        return employeeService.getEmployeeById(employeeId)
+                .flatMap(savedEmployee -> {
+                    savedEmployee.setFirstName(employee.getFirstName());
+                    savedEmployee.setLastName(employee.getLastName());
+                    savedEmployee.setEmail(employee.getEmail());
+                    return employeeService.updateEmployee(savedEmployee);
+                })
+                .map(updatedEmployee -> new ResponseEntity<>(updatedEmployee, HttpStatus.OK))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("{id}")
+    public Mono<ResponseEntity<String>> deleteEmployee(@PathVariable("id") long employeeId) {
+        return employeeService.deleteEmployee(employeeId)
+                .thenReturn(new ResponseEntity<>("Employee deleted successfully!.", HttpStatus.OK));
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Work that started in a bulkhead but did not finish in time. Unlike {@link BulkheadFullException}
+ * the work may already have taken effect, so the client cannot treat it as not applied.
+ */
+@ResponseStatus(HttpStatus.GATEWAY_TIMEOUT)
+public class BulkheadTimeoutException extends RuntimeException {
+
+    public BulkheadTimeoutException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,262 @@
+package com.example.profiling;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+/**
+ * Java Flight Recorder recordings started on demand. Each recording runs with one of the JDK's
+ * settings profiles ({@code default}, about 1% overhead, or {@code profile}, which adds
+ * allocation and lock events) for a bounded duration and is written to {@code directory} when it
+ * stops. A running recording can be dumped at any time.
+ * <p>
+ * Summaries attribute execution samples and allocation samples to the innermost frame inside
+ * {@code packagePrefix}, so library and JDK frames are charged to the application code that
+ * called them.
+ */
+@Slf4j
+public class JfrRecordings implements Closeable {
+
+    private final Path directory;
+    private final Duration maxDuration;
+    private final int maxRunning;
+    private final String packagePrefix;
+    private final ConcurrentMap<Long, Recording> recordings = new ConcurrentHashMap<>();
+
+    public JfrRecordings(Path directory, Duration maxDuration, int maxRunning, String packagePrefix) {
+        this.directory = directory;
+        this.maxDuration = maxDuration;
+        this.maxRunning = maxRunning;
+        this.packagePrefix = packagePrefix;
+    }
+
+    /**
+     * @throws IllegalArgumentException for an unknown profile or a duration above the maximum
+     * @throws IllegalStateException    when {@code maxRunning} recordings are already running
+     */
+    public synchronized RecordingInfo start(String profile, Duration duration) {
+        if (duration.isNegative() || duration.isZero() || duration.compareTo(maxDuration) > 0) {
+            throw new IllegalArgumentException("Duration must be positive and at most " + maxDuration);
+        }
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(profile);
+        } catch (IOException | ParseException ex) {
+            throw new IllegalArgumentException("Unknown JFR profile '" + profile + "', available: "
+                    + Configuration.getConfigurations().stream().map(Configuration::getName).collect(Collectors.toList()));
+        }
+        long running = recordings.values().stream().filter(r -> r.getState() == RecordingState.RUNNING).count();
+        if (running >= maxRunning) {
+            throw new IllegalStateException(running + " recordings are already running");
+        }
+
+        Recording recording = new Recording(configuration);
+        try {
+            Files.createDirectories(directory);
+            recording.setName("employee-" + profile);
+            recording.setToDisk(true);
+            recording.setDuration(duration);
+            recording.setDestination(file(recording.getId()));
+        } catch (IOException ex) {
+            recording.close();
+            throw new UncheckedIOException(ex);
+        }
+        recording.start();
+        recordings.put(recording.getId(), recording);
+        log.info("Started JFR recording {} with profile '{}' for {}", recording.getId(), profile, duration);
+        return info(recording);
+    }
+
+    public List<RecordingInfo> list() {
+        return recordings.values().stream()
+                .sorted(Comparator.comparingLong(Recording::getId))
+                .map(this::info)
+                .collect(Collectors.toList());
+    }
+
+    public Optional<RecordingInfo> stop(long id) {
+        return find(id).map(recording -> {
+            if (recording.getState() == RecordingState.RUNNING) {
+                recording.stop();
+                log.info("Stopped JFR recording {}", id);
+            }
+            return info(recording);
+        });
+    }
+
+    /**
+     * The recording as a {@code .jfr} file: what has been recorded so far for a running
+     * recording, the complete recording once it stopped.
+     */
+    public Optional<Path> dump(long id) {
+        return find(id).map(recording -> {
+            Path file = file(id);
+            try {
+                if (recording.getState() == RecordingState.RUNNING) {
+                    // stopping later overwrites the snapshot with the full recording
+                    recording.dump(file);
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            return Files.exists(file) ? file : null;
+        });
+    }
+
+    public Optional<RecordingSummary> summarize(long id, int top) {
+        return dump(id).map(file -> summarize(id, file, top));
+    }
+
+    public boolean delete(long id) {
+        Recording recording = recordings.remove(id);
+        if (recording == null) {
+            return false;
+        }
+        recording.close();
+        try {
+            Files.deleteIfExists(file(id));
+        } catch (IOException ex) {
+            log.warn("Could not delete {}", file(id), ex);
+        }
+        return true;
+    }
+
+    @Override
+    public void close() {
+        recordings.keySet().forEach(this::delete);
+    }
+
+    RecordingSummary summarize(long id, Path file, int top) {
+        Map<String, Long> executionSamples = new HashMap<>();
+        long totalSamples = 0;
+        // JDK 16+ samples allocations with a weight, older JDKs report TLAB refills; never add up both
+        Allocations sampled = new Allocations();
+        Allocations tlab = new Allocations();
+        try (RecordingFile recordingFile = new RecordingFile(file)) {
+            while (recordingFile.hasMoreEvents()) {
+                RecordedEvent event = recordingFile.readEvent();
+                switch (event.getEventType().getName()) {
+                    case "jdk.ExecutionSample":
+                        totalSamples++;
+                        site(event.getStackTrace()).ifPresent(site -> executionSamples.merge(site, 1L, Long::sum));
+                        break;
+                    case "jdk.ObjectAllocationSample":
+                        sampled.add(site(event.getStackTrace()), event.getLong("weight"));
+                        break;
+                    case "jdk.ObjectAllocationInNewTLAB":
+                        tlab.add(site(event.getStackTrace()), event.getLong("tlabSize"));
+                        break;
+                    case "jdk.ObjectAllocationOutsideTLAB":
+                        tlab.add(site(event.getStackTrace()), event.getLong("allocationSize"));
+                        break;
+                    default:
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        Allocations allocations = sampled.total > 0 ? sampled : tlab;
+        return new RecordingSummary(id, packagePrefix, totalSamples, allocations.total,
+                top(executionSamples, totalSamples, top), top(allocations.bySite, allocations.total, top));
+    }
+
+    private Optional<String> site(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return Optional.empty();
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            String typeName = frame.getMethod().getType().getName();
+            // frames are ordered innermost first
+            if (typeName.startsWith(packagePrefix) && !typeName.startsWith(JfrRecordings.class.getPackageName())) {
+                return Optional.of(typeName + "." + frame.getMethod().getName());
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static List<Site> top(Map<String, Long> counts, long total, int top) {
+        return counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(top)
+                .map(entry -> new Site(entry.getKey(), entry.getValue(),
+                        total == 0 ? 0 : Math.round(1000.0 * entry.getValue() / total) / 10.0))
+                .collect(Collectors.toList());
+    }
+
+    private Optional<Recording> find(long id) {
+        return Optional.ofNullable(recordings.get(id));
+    }
+
+    private Path file(long id) {
+        return directory.resolve("employee-" + id + ".jfr");
+    }
+
+    private RecordingInfo info(Recording recording) {
+        return new RecordingInfo(recording.getId(), recording.getName(), recording.getState().name(),
+                recording.getStartTime(), recording.getDuration(), recording.getSize());
+    }
+
+    private static final class Allocations {
+
+        private final Map<String, Long> bySite = new HashMap<>();
+        private long total;
+
+        private void add(Optional<String> site, long bytes) {
+            total += bytes;
+            site.ifPresent(method -> bySite.merge(method, bytes, Long::sum));
+        }
+    }
+
+    @Value
+    public static class RecordingInfo {
+        long id;
+        String name;
+        String state;
+        Instant startTime;
+        Duration duration;
+        long size;
+    }
+
+    @Value
+    public static class RecordingSummary {
+        long id;
+        String packagePrefix;
+        long executionSamples;
+        long allocatedBytes;
+        List<Site> hotMethods;
+        List<Site> allocationSites;
+    }
+
+    /**
+     * A method with its execution samples or allocated bytes, and its share of the total.
+     */
+    @Value
+    public static class Site {
+        String method;
+        long value;
+        double percent;
+    }
+}
@@ -0,0 +1,264 @@
+package com.example.replica;
+
+import com.example.entity.Employee;
+
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory copy of the employee table in a columnar layout: one primitive array per column,
+ * rows kept sorted by id so the id column doubles as the index (binary search, no boxing).
+ * First and last names go through a shared dictionary and are stored as {@code int} codes,
+ * emails are unique and kept as UTF-8 bytes. The dictionary only grows, {@link #clear()} and a
+ * reload compact it.
+ * <p>
+ * Name searches follow the column's case- and accent-insensitive collation: every spelling in
+ * the dictionary also maps to the code of its folded form, lower-cased without diacritics, and
+ * the search compares those. Materialized rows keep the spelling that was stored.
+ * <p>
+ * Reads materialize fresh {@link Employee} instances. Until {@link #markLoaded()} is called the
+ * replica is incomplete and callers read from the database instead.
+ */
+public class EmployeeReplica {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private int[] firstNames = new int[INITIAL_CAPACITY];
+    private int[] lastNames = new int[INITIAL_CAPACITY];
+    private byte[][] emails = new byte[INITIAL_CAPACITY][];
+    private int size;
+
+    private final Map<String, Integer> nameCodes = new HashMap<>();
+    private final List<String> names = new ArrayList<>();
+    // the folded form's code of each name code
+    private int[] foldedCodes = new int[INITIAL_CAPACITY];
+    private final Map<String, Integer> foldedNameCodes = new HashMap<>();
+    // email arrays and name dictionary entries, kept current on every write
+    private long valueBytes;
+
+    private volatile boolean loaded;
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public void markLoaded() {
+        loaded = true;
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            loaded = false;
+            size = 0;
+            Arrays.fill(emails, null);
+            nameCodes.clear();
+            names.clear();
+            foldedNameCodes.clear();
+            valueBytes = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void putAll(Iterable<Employee> employees) {
+        lock.writeLock().lock();
+        try {
+            employees.forEach(this::putLocked);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void put(Employee employee) {
+        lock.writeLock().lock();
+        try {
+            putLocked(employee);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            int row = Arrays.binarySearch(ids, 0, size, id);
+            if (row < 0) {
+                return;
+            }
+            valueBytes -= arrayBytes(emails[row].length, 1);
+            int tail = size - row - 1;
+            System.arraycopy(ids, row + 1, ids, row, tail);
+            System.arraycopy(firstNames, row + 1, firstNames, row, tail);
+            System.arraycopy(lastNames, row + 1, lastNames, row, tail);
+            System.arraycopy(emails, row + 1, emails, row, tail);
+            emails[--size] = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Optional<Employee> findById(long id) {
+        lock.readLock().lock();
+        try {
+            int row = Arrays.binarySearch(ids, 0, size, id);
+            return row < 0 ? Optional.empty() : Optional.of(materialize(row));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Employee> findAll() {
+        lock.readLock().lock();
+        try {
+            List<Employee> employees = new ArrayList<>(size);
+            for (int row = 0; row < size; row++) {
+                employees.add(materialize(row));
+            }
+            return employees;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Employee> findAllByFirstNameAndLastName(String firstName, String lastName) {
+        lock.readLock().lock();
+        try {
+            Integer firstNameCode = foldedNameCodes.get(fold(firstName));
+            Integer lastNameCode = foldedNameCodes.get(fold(lastName));
+            if (firstNameCode == null || lastNameCode == null) {
+                return new ArrayList<>();
+            }
+            // names are compared as the codes of their folded forms, two int column scans
+            List<Employee> employees = new ArrayList<>();
+            for (int row = 0; row < size; row++) {
+                if (foldedCodes[firstNames[row]] == firstNameCode && foldedCodes[lastNames[row]] == lastNameCode) {
+                    employees.add(materialize(row));
+                }
+            }
+            return employees;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Approximate retained heap in bytes, assuming compressed oops: the column arrays at their
+     * current capacity, one byte array per email and the name dictionaries. The values are summed
+     * as they are written, so this is cheap enough for a gauge.
+     */
+    public long footprintBytes() {
+        lock.readLock().lock();
+        try {
+            return arrayBytes(ids.length, Long.BYTES)
+                    + 2 * arrayBytes(firstNames.length, Integer.BYTES)
+                    + arrayBytes(emails.length, Integer.BYTES)
+                    + arrayBytes(foldedCodes.length, Integer.BYTES)
+                    + valueBytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void putLocked(Employee employee) {
+        long id = employee.getId();
+        int row = Arrays.binarySearch(ids, 0, size, id);
+        if (row < 0) {
+            row = -row - 1;
+            ensureCapacity(size + 1);
+            // generated ids mostly arrive in increasing order, so this is usually an append
+            int tail = size - row;
+            System.arraycopy(ids, row, ids, row + 1, tail);
+            System.arraycopy(firstNames, row, firstNames, row + 1, tail);
+            System.arraycopy(lastNames, row, lastNames, row + 1, tail);
+            System.arraycopy(emails, row, emails, row + 1, tail);
+            emails[row] = null;
+            size++;
+        }
+        ids[row] = id;
+        firstNames[row] = nameCode(employee.getFirstName());
+        lastNames[row] = nameCode(employee.getLastName());
+        if (emails[row] != null) {
+            valueBytes -= arrayBytes(emails[row].length, 1);
+        }
+        emails[row] = employee.getEmail().getBytes(StandardCharsets.UTF_8);
+        valueBytes += arrayBytes(emails[row].length, 1);
+    }
+
+    private int nameCode(String name) {
+        return nameCodes.computeIfAbsent(name, key -> {
+            names.add(key);
+            int code = names.size() - 1;
+            if (code == foldedCodes.length) {
+                foldedCodes = Arrays.copyOf(foldedCodes, code + (code >> 1));
+            }
+            foldedCodes[code] = foldedNameCodes.computeIfAbsent(fold(key), folded -> {
+                valueBytes += dictionaryEntryBytes(folded);
+                return foldedNameCodes.size();
+            });
+            valueBytes += dictionaryEntryBytes(key);
+            return code;
+        });
+    }
+
+    /**
+     * Lower-cases the name and drops its diacritics, approximating MySQL's default
+     * {@code utf8mb4_0900_ai_ci} collation.
+     */
+    private static String fold(String name) {
+        String decomposed = Normalizer.normalize(name, Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    private static long dictionaryEntryBytes(String key) {
+        // String object, its Latin-1 value array, a boxed code and a hash map node
+        return 24 + arrayBytes(key.length(), 1) + 16 + 32;
+    }
+
+    private Employee materialize(int row) {
+        return Employee.builder()
+                .id(ids[row])
+                .firstName(names.get(firstNames[row]))
+                .lastName(names.get(lastNames[row]))
+                .email(new String(emails[row], StandardCharsets.UTF_8))
+                .build();
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= ids.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, ids.length + (ids.length >> 1));
+        ids = Arrays.copyOf(ids, newCapacity);
+        firstNames = Arrays.copyOf(firstNames, newCapacity);
+        lastNames = Arrays.copyOf(lastNames, newCapacity);
+        emails = Arrays.copyOf(emails, newCapacity);
+    }
+
+    private static long arrayBytes(int length, int elementBytes) {
+        return (16 + (long) length * elementBytes + 7) & ~7L;
+    }
+}
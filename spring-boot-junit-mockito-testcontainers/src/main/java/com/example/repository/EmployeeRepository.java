@@ -1,15 +1,40 @@
 package com.example.repository;
 
 import com.example.entity.Employee;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     Optional<Employee> findByEmail(String email);
 
+    List<Employee> findAllByFirstNameAndLastName(String firstName, String lastName);
+
+    /**
+     * Keyset page of ids and emails after the given id, without loading whole entities.
+     */
+    @Query("select e.id as id, e.email as email from Employee e where e.id > :afterId order by e.id")
+    List<EmployeeEmail> findEmailsAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * Keyset page of employees after the given id.
+     */
+    @Query("select e from Employee e where e.id > :afterId order by e.id")
+    List<Employee> findEmployeesAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    @Query("select e.email from Employee e where e.id = :id")
+    Optional<String> findEmailById(@Param("id") long id);
+
+    interface EmployeeEmail {
+        long getId();
+
+        String getEmail();
+    }
+
     @Query("select e from Employee e where e.firstName = ?1 and e.lastName = ?2")
     Employee findByFirstNameAndLastName(String firstName, String lastName);
 
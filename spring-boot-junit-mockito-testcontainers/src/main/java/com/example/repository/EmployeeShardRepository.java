@@ -0,0 +1,87 @@
+package com.example.repository;
+
+import com.example.entity.Employee;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.simple.SimpleJdbcInsert;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Plain JDBC access to the {@code employee} table of one shard. Ids are the shard-local
+ * auto-increment values; {@code ShardedEmployeeService} maps them to global ids.
+ */
+public class EmployeeShardRepository {
+
+    private static final RowMapper<Employee> ROW_MAPPER = (resultSet, rowNum) -> new Employee(
+            resultSet.getLong("id"),
+            resultSet.getString("first_name"),
+            resultSet.getString("last_name"),
+            resultSet.getString("email"));
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final SimpleJdbcInsert insert;
+
+    public EmployeeShardRepository(DataSource dataSource) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.insert = new SimpleJdbcInsert(jdbcTemplate)
+                .withTableName("employee")
+                .usingColumns("first_name", "last_name", "email")
+                .usingGeneratedKeyColumns("id");
+    }
+
+    /**
+     * Same columns and unique email as the JPA mapping of {@link Employee}, in SQL both MySQL and
+     * H2 accept.
+     */
+    public void createTableIfMissing() {
+        jdbcTemplate.execute("create table if not exists employee ("
+                + "id bigint not null auto_increment primary key, "
+                + "first_name varchar(255) not null, "
+                + "last_name varchar(255) not null, "
+                + "email varchar(255) not null, "
+                + "constraint uk_employee_email unique (email))");
+    }
+
+    public long insert(Employee employee) {
+        return insert.executeAndReturnKey(Map.of(
+                "first_name", employee.getFirstName(),
+                "last_name", employee.getLastName(),
+                "email", employee.getEmail())).longValue();
+    }
+
+    public Optional<Employee> findById(long id) {
+        return jdbcTemplate.query("select * from employee where id = ?", ROW_MAPPER, id).stream().findFirst();
+    }
+
+    public boolean existsByEmail(String email) {
+        return !jdbcTemplate.queryForList("select id from employee where email = ? limit 1", Long.class, email).isEmpty();
+    }
+
+    public List<Employee> findAll() {
+        return jdbcTemplate.query("select * from employee order by id", ROW_MAPPER);
+    }
+
+    public List<Employee> findByFirstNameAndLastName(String firstName, String lastName) {
+        return jdbcTemplate.query("select * from employee where first_name = ? and last_name = ? order by id",
+                ROW_MAPPER, firstName, lastName);
+    }
+
+    public int update(long id, Employee employee) {
+        return jdbcTemplate.update("update employee set first_name = ?, last_name = ?, email = ? where id = ?",
+                employee.getFirstName(), employee.getLastName(), employee.getEmail(), id);
+    }
+
+    public int deleteById(long id) {
+        return jdbcTemplate.update("delete from employee where id = ?", id);
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+}
@@ -8,6 +8,7 @@ import java.util.Optional;
 public interface EmployeeService {
     Employee saveEmployee(Employee employee);
     List<Employee> getAllEmployees();
+    List<Employee> getEmployeesByName(String firstName, String lastName);
     Optional<Employee> getEmployeeById(long id);
     Employee updateEmployee(Employee updatedEmployee);
     void deleteEmployee(long id);
@@ -1,49 +1,138 @@
 package com.example.service;
 
+import com.example.bloom.EmailBloomFilter;
 import com.example.entity.Employee;
 import com.example.exception.ResourceNotFoundException;
+import com.example.replica.EmployeeReplica;
 import com.example.repository.EmployeeRepository;
+import com.example.web.ServerTiming;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Optional;
 
 @Service
+@ConditionalOnProperty(prefix = "app.sharding", name = "enabled", havingValue = "false", matchIfMissing = true)
 public class EmployeeServiceImpl implements EmployeeService {
 
     private EmployeeRepository employeeRepository;
 
+    private EmployeeReplica employeeReplica;
+
+    private EmailBloomFilter emailBloomFilter;
+
     public EmployeeServiceImpl(EmployeeRepository employeeRepository) {
         this.employeeRepository = employeeRepository;
     }
 
+    @Autowired(required = false)
+    public void setEmployeeReplica(EmployeeReplica employeeReplica) {
+        this.employeeReplica = employeeReplica;
+    }
+
+    @Autowired(required = false)
+    public void setEmailBloomFilter(EmailBloomFilter emailBloomFilter) {
+        this.emailBloomFilter = emailBloomFilter;
+    }
+
     @Override
     public Employee saveEmployee(Employee employee) {
-        Optional<Employee> savedEmployee = employeeRepository.findByEmail(employee.getEmail());
-        if(savedEmployee.isPresent()){
-            throw new ResourceNotFoundException("Employee already exist with given email:" + employee.getEmail());
+        // a definite miss in the filter skips the lookup, the unique constraint still catches duplicates
+        boolean lookup = emailBloomFilter == null || emailBloomFilter.mightContain(employee.getEmail());
+        if (lookup) {
+            Optional<Employee> savedEmployee = ServerTiming.time(ServerTiming.DB, () -> employeeRepository.findByEmail(employee.getEmail()));
+            if (emailBloomFilter != null) {
+                emailBloomFilter.recordLookup(savedEmployee.isPresent());
+            }
+            if(savedEmployee.isPresent()){
+                throw new ResourceNotFoundException("Employee already exist with given email:" + employee.getEmail());
+            }
         }
-        return employeeRepository.save(employee);
+        Employee saved;
+        try {
+            saved = ServerTiming.time(ServerTiming.DB, () -> employeeRepository.save(employee));
+        } catch (DataIntegrityViolationException ex) {
+            if (!employeeRepository.findByEmail(employee.getEmail()).isPresent()) {
+                throw ex;
+            }
+            if (!lookup) {
+                emailBloomFilter.recordMissedDuplicate(employee.getEmail());
+            }
+            throw new ResourceNotFoundException("Employee already exist with given email:" + employee.getEmail(), ex);
+        }
+        if (employeeReplica != null) {
+            employeeReplica.put(saved);
+        }
+        if (emailBloomFilter != null) {
+            emailBloomFilter.put(saved.getEmail());
+        }
+        return saved;
     }
 
     @Override
     public List<Employee> getAllEmployees() {
-        return employeeRepository.findAll();
+        if (replicaLoaded()) {
+            return employeeReplica.findAll();
+        }
+        return ServerTiming.time(ServerTiming.DB, () -> employeeRepository.findAll());
+    }
+
+    @Override
+    public List<Employee> getEmployeesByName(String firstName, String lastName) {
+        if (replicaLoaded()) {
+            return employeeReplica.findAllByFirstNameAndLastName(firstName, lastName);
+        }
+        return ServerTiming.time(ServerTiming.DB, () -> employeeRepository.findAllByFirstNameAndLastName(firstName, lastName));
     }
 
     @Override
     public Optional<Employee> getEmployeeById(long id) {
-        return employeeRepository.findById(id);
+        if (replicaLoaded()) {
+            return employeeReplica.findById(id);
+        }
+        return ServerTiming.time(ServerTiming.DB, () -> employeeRepository.findById(id));
     }
 
     @Override
     public Employee updateEmployee(Employee updatedEmployee) {
-        return employeeRepository.save(updatedEmployee);
+        // the stored email has to be read before the save replaces it
+        Optional<String> previousEmail = emailBloomFilter == null ? Optional.empty() : storedEmail(updatedEmployee.getId());
+        Employee saved = ServerTiming.time(ServerTiming.DB, () -> employeeRepository.save(updatedEmployee));
+        if (employeeReplica != null) {
+            employeeReplica.put(saved);
+        }
+        if (emailBloomFilter != null) {
+            emailBloomFilter.put(saved.getEmail());
+            if (previousEmail.isPresent() && !previousEmail.get().equalsIgnoreCase(saved.getEmail())) {
+                // the old email stays in the filter as a stale entry
+                emailBloomFilter.recordRemoved();
+            }
+        }
+        return saved;
     }
 
     @Override
     public void deleteEmployee(long id) {
-        employeeRepository.deleteById(id);
+        ServerTiming.time(ServerTiming.DB, () -> employeeRepository.deleteById(id));
+        if (employeeReplica != null) {
+            employeeReplica.remove(id);
+        }
+        if (emailBloomFilter != null) {
+            emailBloomFilter.recordRemoved();
+        }
+    }
+
+    private Optional<String> storedEmail(long id) {
+        if (replicaLoaded()) {
+            return employeeReplica.findById(id).map(Employee::getEmail);
+        }
+        return ServerTiming.time(ServerTiming.DB, () -> employeeRepository.findEmailById(id));
+    }
+
+    private boolean replicaLoaded() {
+        return employeeReplica != null && employeeReplica.isLoaded();
     }
 }
\ No newline at end of file
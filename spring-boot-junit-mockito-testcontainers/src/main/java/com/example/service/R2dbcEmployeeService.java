@@ -0,0 +1,116 @@
+package com.example.service;
+
+import com.example.entity.Employee;
+import com.example.exception.ResourceNotFoundException;
+import io.r2dbc.spi.Row;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link ReactiveEmployeeService} on R2DBC: no thread is held while a statement is in flight.
+ * Reads and writes go to the same {@code employee} table as the JPA entity, with the same
+ * duplicate-email check before an insert and the same error for deleting a missing id.
+ */
+@Service
+@Profile("r2dbc")
+public class R2dbcEmployeeService implements ReactiveEmployeeService {
+
+    private static final String COLUMNS = "select id, first_name, last_name, email from employee";
+
+    private DatabaseClient databaseClient;
+
+    public R2dbcEmployeeService(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    @Override
+    public Mono<Employee> saveEmployee(Employee employee) {
+        Mono<Employee> insert = databaseClient
+                .sql("insert into employee (first_name, last_name, email) values (:firstName, :lastName, :email)")
+                .bind("firstName", employee.getFirstName())
+                .bind("lastName", employee.getLastName())
+                .bind("email", employee.getEmail())
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .map(row -> row.get("id", Long.class))
+                .one()
+                .map(id -> Employee.builder()
+                        .id(id)
+                        .firstName(employee.getFirstName())
+                        .lastName(employee.getLastName())
+                        .email(employee.getEmail())
+                        .build());
+        return findByEmail(employee.getEmail())
+                .flatMap(existing -> Mono.<Employee>error(new ResourceNotFoundException(
+                        "Employee already exist with given email:" + employee.getEmail())))
+                .switchIfEmpty(insert);
+    }
+
+    @Override
+    public Flux<Employee> getAllEmployees() {
+        return databaseClient.sql(COLUMNS)
+                .map(R2dbcEmployeeService::mapRow)
+                .all();
+    }
+
+    @Override
+    public Flux<Employee> getEmployeesByName(String firstName, String lastName) {
+        return databaseClient.sql(COLUMNS + " where first_name = :firstName and last_name = :lastName")
+                .bind("firstName", firstName)
+                .bind("lastName", lastName)
+                .map(R2dbcEmployeeService::mapRow)
+                .all();
+    }
+
+    @Override
+    public Mono<Employee> getEmployeeById(long id) {
+        return databaseClient.sql(COLUMNS + " where id = :id")
+                .bind("id", id)
+                .map(R2dbcEmployeeService::mapRow)
+                .one();
+    }
+
+    @Override
+    public Mono<Employee> updateEmployee(Employee updatedEmployee) {
+        return databaseClient
+                .sql("update employee set first_name = :firstName, last_name = :lastName, email = :email where id = :id")
+                .bind("firstName", updatedEmployee.getFirstName())
+                .bind("lastName", updatedEmployee.getLastName())
+                .bind("email", updatedEmployee.getEmail())
+                .bind("id", updatedEmployee.getId())
+                .fetch()
+                .rowsUpdated()
+                .thenReturn(updatedEmployee);
+    }
+
+    @Override
+    public Mono<Void> deleteEmployee(long id) {
+        return databaseClient.sql("delete from employee where id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated()
+                .flatMap(deleted -> deleted == 0
+                        ? Mono.error(new EmptyResultDataAccessException(
+                                "No class com.example.entity.Employee entity with id " + id + " exists!", 1))
+                        : Mono.empty());
+    }
+
+    private Mono<Employee> findByEmail(String email) {
+        return databaseClient.sql(COLUMNS + " where email = :email")
+                .bind("email", email)
+                .map(R2dbcEmployeeService::mapRow)
+                .first();
+    }
+
+    private static Employee mapRow(Row row) {
+        return Employee.builder()
+                .id(row.get("id", Long.class))
+                .firstName(row.get("first_name", String.class))
+                .lastName(row.get("last_name", String.class))
+                .email(row.get("email", String.class))
+                .build();
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.service;
+
+import com.example.entity.Employee;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveEmployeeService {
+    Mono<Employee> saveEmployee(Employee employee);
+    Flux<Employee> getAllEmployees();
+    Flux<Employee> getEmployeesByName(String firstName, String lastName);
+    Mono<Employee> getEmployeeById(long id);
+    Mono<Employee> updateEmployee(Employee updatedEmployee);
+    Mono<Void> deleteEmployee(long id);
+}
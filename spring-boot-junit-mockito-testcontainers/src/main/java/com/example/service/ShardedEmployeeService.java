@@ -0,0 +1,200 @@
+package com.example.service;
+
+import com.example.entity.Employee;
+import com.example.exception.ResourceNotFoundException;
+import com.example.repository.EmployeeShardRepository;
+import com.example.web.ServerTiming;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.EmptyResultDataAccessException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * {@link EmployeeService} over N hash-sharded databases.
+ * <p>
+ * A new employee is placed on the shard chosen by the hash of its email, and its global id
+ * is {@code localId * N + shard}. Operations by id therefore go straight to one shard.
+ * Because an update may change the email, email uniqueness and name searches are checked on
+ * all shards in parallel, and {@link #getAllEmployees()} merges every shard's rows in global
+ * id order. Two concurrent creates with the same email land on the same shard, where its
+ * unique key rejects the second one. Changing the shard count requires moving existing rows.
+ */
+public class ShardedEmployeeService implements EmployeeService, Closeable {
+
+    private final List<EmployeeShardRepository> shards;
+    private final ExecutorService fanOutExecutor;
+    private final MeterRegistry meterRegistry;
+
+    public ShardedEmployeeService(List<EmployeeShardRepository> shards, int fanOutThreads, MeterRegistry meterRegistry) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+        this.shards = List.copyOf(shards);
+        this.meterRegistry = meterRegistry;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.fanOutExecutor = Executors.newFixedThreadPool(fanOutThreads, runnable -> {
+            Thread thread = new Thread(runnable, "employee-shard-fan-out-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public Employee saveEmployee(Employee employee) {
+        boolean exists = ServerTiming.time(ServerTiming.DB, () -> fanOut("existsByEmail",
+                shard -> shard.existsByEmail(employee.getEmail())).contains(true));
+        if (exists) {
+            throw new ResourceNotFoundException("Employee already exist with given email:" + employee.getEmail());
+        }
+        int shard = shardForEmail(employee.getEmail());
+        long localId;
+        try {
+            localId = ServerTiming.time(ServerTiming.DB, () -> timed(shard, "insert",
+                    () -> shards.get(shard).insert(employee)));
+        } catch (DuplicateKeyException ex) {
+            throw new ResourceNotFoundException("Employee already exist with given email:" + employee.getEmail(), ex);
+        }
+        return Employee.builder()
+                .id(globalId(shard, localId))
+                .firstName(employee.getFirstName())
+                .lastName(employee.getLastName())
+                .email(employee.getEmail())
+                .build();
+    }
+
+    @Override
+    public List<Employee> getAllEmployees() {
+        return ServerTiming.time(ServerTiming.DB, () -> merge(fanOutWithIds("findAll", EmployeeShardRepository::findAll)));
+    }
+
+    @Override
+    public List<Employee> getEmployeesByName(String firstName, String lastName) {
+        return ServerTiming.time(ServerTiming.DB, () -> merge(fanOutWithIds("findByName",
+                shard -> shard.findByFirstNameAndLastName(firstName, lastName))));
+    }
+
+    @Override
+    public Optional<Employee> getEmployeeById(long id) {
+        int shard = shardOf(id);
+        return ServerTiming.time(ServerTiming.DB, () -> timed(shard, "findById",
+                () -> shards.get(shard).findById(localId(id))))
+                .map(employee -> withId(employee, id));
+    }
+
+    @Override
+    public Employee updateEmployee(Employee updatedEmployee) {
+        int shard = shardOf(updatedEmployee.getId());
+        ServerTiming.time(ServerTiming.DB, () -> timed(shard, "update",
+                () -> shards.get(shard).update(localId(updatedEmployee.getId()), updatedEmployee)));
+        return updatedEmployee;
+    }
+
+    @Override
+    public void deleteEmployee(long id) {
+        int shard = shardOf(id);
+        int deleted = ServerTiming.time(ServerTiming.DB, () -> timed(shard, "delete",
+                () -> shards.get(shard).deleteById(localId(id))));
+        if (deleted == 0) {
+            // same as JpaRepository.deleteById
+            throw new EmptyResultDataAccessException(
+                    "No class com.example.entity.Employee entity with id " + id + " exists!", 1);
+        }
+    }
+
+    int shardForEmail(String email) {
+        return Math.floorMod(email.hashCode(), shards.size());
+    }
+
+    private int shardOf(long id) {
+        return (int) Math.floorMod(id, (long) shards.size());
+    }
+
+    private long localId(long id) {
+        return Math.floorDiv(id, shards.size());
+    }
+
+    private long globalId(int shard, long localId) {
+        return localId * shards.size() + shard;
+    }
+
+    private Employee withId(Employee employee, long id) {
+        employee.setId(id);
+        return employee;
+    }
+
+    private List<List<Employee>> fanOutWithIds(String operation, Function<EmployeeShardRepository, List<Employee>> query) {
+        List<List<Employee>> results = fanOut(operation, query);
+        for (int shard = 0; shard < results.size(); shard++) {
+            for (Employee employee : results.get(shard)) {
+                employee.setId(globalId(shard, employee.getId()));
+            }
+        }
+        return results;
+    }
+
+    private static List<Employee> merge(List<List<Employee>> results) {
+        List<Employee> merged = new ArrayList<>();
+        results.forEach(merged::addAll);
+        merged.sort(Comparator.comparingLong(Employee::getId));
+        return merged;
+    }
+
+    /**
+     * Runs the query on every shard in parallel and returns the results in shard order.
+     */
+    private <T> List<T> fanOut(String operation, Function<EmployeeShardRepository, T> query) {
+        List<CompletableFuture<T>> futures = new ArrayList<>(shards.size());
+        for (int shard = 0; shard < shards.size(); shard++) {
+            int index = shard;
+            futures.add(CompletableFuture.supplyAsync(
+                    () -> timed(index, operation, () -> query.apply(shards.get(index))), fanOutExecutor));
+        }
+        List<T> results = new ArrayList<>(futures.size());
+        try {
+            for (CompletableFuture<T> future : futures) {
+                results.add(future.join());
+            }
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw ex;
+        }
+        return results;
+    }
+
+    private <T> T timed(int shard, String operation, Supplier<T> query) {
+        if (meterRegistry == null) {
+            return query.get();
+        }
+        return Timer.builder("app.sharding.query")
+                .tag("shard", Integer.toString(shard))
+                .tag("operation", operation)
+                .register(meterRegistry)
+                .record(query);
+    }
+
+    @Override
+    public void close() throws IOException {
+        fanOutExecutor.shutdown();
+        for (EmployeeShardRepository shard : shards) {
+            if (shard.getDataSource() instanceof Closeable) {
+                ((Closeable) shard.getDataSource()).close();
+            }
+        }
+    }
+}
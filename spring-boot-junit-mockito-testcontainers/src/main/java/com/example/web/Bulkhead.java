@@ -0,0 +1,156 @@
+package com.example.web;
+
+import com.example.exception.BulkheadFullException;
+import com.example.exception.BulkheadTimeoutException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Bounded thread pool and queue that a class of controller work runs on, so a burst in one class
+ * cannot take the threads another class needs. Work is rejected with
+ * {@link BulkheadFullException} (503) when the queue is full or when it is still queued once the
+ * timeout passes; such work never runs. Work that already started when the timeout passes is
+ * interrupted and fails with {@link BulkheadTimeoutException} (504), since it may have taken
+ * effect.
+ * <p>
+ * Publishes {@code app.bulkhead.*} meters tagged with the bulkhead name.
+ */
+public class Bulkhead {
+
+    private final String name;
+    private final ThreadPoolTaskExecutor executor;
+    private final Duration timeout;
+
+    private static final int QUEUED = 0;
+    private static final int RUNNING = 1;
+    private static final int ABANDONED = 2;
+
+    private Counter rejectedFull;
+    private Counter rejectedTimeout;
+    private Counter timedOut;
+    private Timer queueWait;
+
+    public Bulkhead(String name, int threads, int queueCapacity, Duration timeout) {
+        this.name = name;
+        this.timeout = timeout;
+        this.executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("bulkhead-" + name + "-");
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        // request-scoped state is thread-bound, carry it over to the worker
+        executor.setTaskDecorator(task -> {
+            ServerTiming timing = ServerTiming.current();
+            return () -> {
+                if (timing != null) {
+                    ServerTiming.bind(timing);
+                }
+                try {
+                    task.run();
+                } finally {
+                    ServerTiming.unbind();
+                }
+            };
+        });
+        executor.initialize();
+    }
+
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("app.bulkhead.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .tag("name", name)
+                .register(registry);
+        Gauge.builder("app.bulkhead.queued", executor, e -> e.getThreadPoolExecutor().getQueue().size())
+                .tag("name", name)
+                .register(registry);
+        Gauge.builder("app.bulkhead.saturation", executor, Bulkhead::saturation)
+                .tag("name", name)
+                .description("Busy threads and queued work as a fraction of threads plus queue capacity")
+                .register(registry);
+        rejectedFull = Counter.builder("app.bulkhead.rejected")
+                .tag("name", name)
+                .tag("reason", "full")
+                .register(registry);
+        rejectedTimeout = Counter.builder("app.bulkhead.rejected")
+                .tag("name", name)
+                .tag("reason", "timeout")
+                .register(registry);
+        timedOut = Counter.builder("app.bulkhead.timed.out")
+                .tag("name", name)
+                .description("Work interrupted after it had started running")
+                .register(registry);
+        queueWait = Timer.builder("app.bulkhead.queue.wait")
+                .tag("name", name)
+                .register(registry);
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> work) {
+        long submitted = System.nanoTime();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicInteger state = new AtomicInteger(QUEUED);
+        Future<?> task;
+        try {
+            task = executor.submit(() -> {
+                if (!state.compareAndSet(QUEUED, RUNNING)) {
+                    return;
+                }
+                if (queueWait != null) {
+                    queueWait.record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+                }
+                try {
+                    result.complete(work.get());
+                } catch (Throwable ex) {
+                    result.completeExceptionally(ex);
+                }
+            });
+        } catch (TaskRejectedException ex) {
+            increment(rejectedFull);
+            result.completeExceptionally(new BulkheadFullException("The " + name + " bulkhead is full"));
+            return result;
+        }
+        return result.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .exceptionally(ex -> {
+                    Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                    if (!(cause instanceof TimeoutException)) {
+                        throw ex instanceof RuntimeException ? (RuntimeException) ex : new CompletionException(ex);
+                    }
+                    if (state.compareAndSet(QUEUED, ABANDONED)) {
+                        task.cancel(false);
+                        increment(rejectedTimeout);
+                        throw new BulkheadFullException("Timed out waiting in the " + name + " bulkhead");
+                    }
+                    // the work is running and may already have taken effect
+                    task.cancel(true);
+                    increment(timedOut);
+                    throw new BulkheadTimeoutException("Timed out running in the " + name + " bulkhead");
+                });
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private static double saturation(ThreadPoolTaskExecutor executor) {
+        int capacity = executor.getMaxPoolSize() + executor.getThreadPoolExecutor().getQueue().remainingCapacity()
+                + executor.getThreadPoolExecutor().getQueue().size();
+        return (double) (executor.getActiveCount() + executor.getThreadPoolExecutor().getQueue().size()) / capacity;
+    }
+
+    private static void increment(Counter counter) {
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.web;
+
+public class Bulkheads {
+
+    private final Bulkhead read;
+    private final Bulkhead write;
+
+    public Bulkheads(Bulkhead read, Bulkhead write) {
+        this.read = read;
+        this.write = write;
+    }
+
+    public Bulkhead read() {
+        return read;
+    }
+
+    public Bulkhead write() {
+        return write;
+    }
+
+    public void shutdown() {
+        read.shutdown();
+        write.shutdown();
+    }
+}
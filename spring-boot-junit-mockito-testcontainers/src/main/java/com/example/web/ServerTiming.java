@@ -0,0 +1,73 @@
+package com.example.web;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Per-request phase durations rendered as a {@code Server-Timing} header, for example
+ * {@code db;dur=3.1, map;dur=0.2, ser;dur=1.4}. The {@link ServerTimingFilter} binds an instance
+ * to the request thread; {@link #time} is a plain call when nothing is bound.
+ */
+public final class ServerTiming {
+
+    public static final String HEADER = "Server-Timing";
+    public static final String DB = "db";
+    public static final String MAP = "map";
+    public static final String SER = "ser";
+
+    static final String REQUEST_ATTRIBUTE = ServerTiming.class.getName();
+
+    private static final ThreadLocal<ServerTiming> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, Long> phases = new LinkedHashMap<>();
+
+    public static ServerTiming current() {
+        return CURRENT.get();
+    }
+
+    public static void bind(ServerTiming timing) {
+        CURRENT.set(timing);
+    }
+
+    public static void unbind() {
+        CURRENT.remove();
+    }
+
+    public static <T> T time(String phase, Supplier<T> action) {
+        ServerTiming timing = CURRENT.get();
+        if (timing == null) {
+            return action.get();
+        }
+        long start = System.nanoTime();
+        try {
+            return action.get();
+        } finally {
+            timing.record(phase, System.nanoTime() - start);
+        }
+    }
+
+    public static void time(String phase, Runnable action) {
+        time(phase, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public synchronized void record(String phase, long nanos) {
+        phases.merge(phase, nanos, Long::sum);
+    }
+
+    public synchronized String toHeaderValue() {
+        StringBuilder header = new StringBuilder(48);
+        for (Map.Entry<String, Long> phase : phases.entrySet()) {
+            if (header.length() > 0) {
+                header.append(", ");
+            }
+            long tenthsOfMillis = phase.getValue() / 100_000;
+            header.append(phase.getKey()).append(";dur=")
+                    .append(tenthsOfMillis / 10).append('.').append(tenthsOfMillis % 10);
+        }
+        return header.toString();
+    }
+}
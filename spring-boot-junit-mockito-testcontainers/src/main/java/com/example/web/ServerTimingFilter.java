@@ -0,0 +1,45 @@
+package com.example.web;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Binds a {@link ServerTiming} to the request thread. JSON bodies get their header from
+ * {@link ServerTimingJackson2HttpMessageConverter}, which can include the serialization phase;
+ * any other response that is still uncommitted gets it here.
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        ServerTiming timing = (ServerTiming) request.getAttribute(ServerTiming.REQUEST_ATTRIBUTE);
+        if (timing == null) {
+            timing = new ServerTiming();
+            request.setAttribute(ServerTiming.REQUEST_ATTRIBUTE, timing);
+        }
+        ServerTiming.bind(timing);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ServerTiming.unbind();
+        }
+        if (!response.isCommitted() && !request.isAsyncStarted() && !response.containsHeader(ServerTiming.HEADER)) {
+            String value = timing.toHeaderValue();
+            if (!value.isEmpty()) {
+                response.setHeader(ServerTiming.HEADER, value);
+            }
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        // rebind the timing on the thread that writes an asynchronous result
+        return false;
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpResponse;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+/**
+ * Reports the time spent in Jackson as the {@link ServerTiming#SER} phase. The body is written
+ * straight to the response; the header is set before serialization with the phases so far and
+ * completed with {@code ser} afterwards, which works as long as the body fits the servlet
+ * response buffer. Larger bodies are committed while Jackson is still writing and keep the
+ * header without {@code ser}.
+ */
+public class ServerTimingJackson2HttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    public ServerTimingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        ServerTiming timing = ServerTiming.current();
+        if (timing == null || !(outputMessage instanceof ServletServerHttpResponse)) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+        HttpServletResponse response = ((ServletServerHttpResponse) outputMessage).getServletResponse();
+        setHeader(outputMessage, timing);
+        // the headers are copied to the servlet response when the body is opened, later updates go there directly
+        UnflushedOutputMessage unflushed = new UnflushedOutputMessage(outputMessage);
+        long start = System.nanoTime();
+        super.writeInternal(object, type, unflushed);
+        timing.record(ServerTiming.SER, System.nanoTime() - start);
+
+        if (!response.isCommitted()) {
+            response.setHeader(ServerTiming.HEADER, timing.toHeaderValue());
+        }
+    }
+
+    private static void setHeader(HttpOutputMessage outputMessage, ServerTiming timing) {
+        String value = timing.toHeaderValue();
+        if (!value.isEmpty()) {
+            outputMessage.getHeaders().set(ServerTiming.HEADER, value);
+        }
+    }
+
+    /**
+     * Holds back the flush Jackson issues when it is done, which would commit the response
+     * before the header is complete; the converter flushes the response right after.
+     */
+    private static final class UnflushedOutputMessage implements HttpOutputMessage {
+
+        private final HttpOutputMessage outputMessage;
+
+        private UnflushedOutputMessage(HttpOutputMessage outputMessage) {
+            this.outputMessage = outputMessage;
+        }
+
+        @Override
+        public OutputStream getBody() throws IOException {
+            return new FilterOutputStream(outputMessage.getBody()) {
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    out.write(b, off, len);
+                }
+
+                @Override
+                public void flush() {
+                }
+
+                @Override
+                public void close() {
+                }
+            };
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return outputMessage.getHeaders();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.benchmark;
+
+import com.example.SpringBootJunitMockitoTestcontainersApplication;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Measures the latency of the first requests after the application reports ready, with and
+ * without the startup warm-up. Every run starts a fresh JVM so JIT and pool state never carry
+ * over between runs; the harness waits for {@code /actuator/health/readiness} to report UP
+ * and then sends sequential {@code GET /api/employees} requests.
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec \
+ *     -Dbenchmark.main=com.example.benchmark.FirstRequestLatencyBenchmark \
+ *     -Dbenchmark.args="100 3"
+ * </pre>
+ * Requires MySQL on the configured {@code spring.datasource.url}.
+ */
+public class FirstRequestLatencyBenchmark {
+
+    private static final int PORT = 18080;
+
+    public static void main(String[] args) throws Exception {
+        int requests = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+
+        for (boolean warmup : new boolean[]{false, true}) {
+            for (int run = 0; run < runs; run++) {
+                long[] latencies = measure(warmup, requests);
+                System.out.println("warmup=" + warmup + " run=" + run + ": " + summary(latencies));
+            }
+        }
+    }
+
+    private static long[] measure(boolean warmup, int requests) throws Exception {
+        Process process = start(warmup);
+        try {
+            HttpClient client = HttpClient.newHttpClient();
+            awaitReady(client);
+            long[] latencies = new long[requests];
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + PORT + "/api/employees"))
+                    .GET()
+                    .build();
+            for (int i = 0; i < requests; i++) {
+                long start = System.nanoTime();
+                client.send(request, HttpResponse.BodyHandlers.discarding());
+                latencies[i] = System.nanoTime() - start;
+            }
+            return latencies;
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private static Process start(boolean warmup) throws Exception {
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        List<String> command = new ArrayList<>(Arrays.asList(java,
+                "-cp", System.getProperty("java.class.path"),
+                SpringBootJunitMockitoTestcontainersApplication.class.getName(),
+                "--server.port=" + PORT,
+                "--app.warmup.enabled=" + warmup,
+                "--logging.level.root=WARN"));
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(new File(System.getProperty("java.io.tmpdir"), "first-request-latency.log"))
+                .start();
+    }
+
+    private static void awaitReady(HttpClient client) throws Exception {
+        HttpRequest readiness = HttpRequest.newBuilder(URI.create("http://localhost:" + PORT + "/actuator/health/readiness"))
+                .timeout(Duration.ofSeconds(1))
+                .GET()
+                .build();
+        long deadline = System.nanoTime() + Duration.ofMinutes(2).toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                if (client.send(readiness, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException ex) {
+                // not listening yet
+            }
+            Thread.sleep(20);
+        }
+        throw new IllegalStateException("application did not become ready");
+    }
+
+    private static String summary(long[] latencies) {
+        long first = latencies[0];
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        return String.format("first=%.1fms p50=%.1fms p99=%.1fms max=%.1fms",
+                first / 1e6, percentile(sorted, 0.50) / 1e6, percentile(sorted, 0.99) / 1e6,
+                sorted[sorted.length - 1] / 1e6);
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(percentile * sorted.length) - 1)];
+    }
+}
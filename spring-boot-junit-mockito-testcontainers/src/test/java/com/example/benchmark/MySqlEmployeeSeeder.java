@@ -0,0 +1,137 @@
+package com.example.benchmark;
+
+import com.example.entity.Employee;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Replaces the contents of the {@code employee} table with {@code rows} employees from
+ * {@link EmployeeDataGenerator} and reports rows/second.
+ * <p>
+ * Uses the fastest path plain JDBC offers on MySQL: batched inserts that Connector/J rewrites
+ * into multi-row {@code INSERT}s ({@code rewriteBatchedStatements}), one transaction per batch,
+ * uniqueness checks off for the session (the generator never repeats an email, and the table is
+ * truncated first), and several writer connections fed by a single generator thread. Row contents
+ * depend only on the seed; generated ids follow the generator order only with one writer.
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec \
+ *     -Dbenchmark.main=com.example.benchmark.MySqlEmployeeSeeder \
+ *     -Dbenchmark.args="5000000 42 4"
+ * </pre>
+ * Further arguments override the JDBC url, user and password of {@code application.properties}.
+ */
+public class MySqlEmployeeSeeder {
+
+    private static final int BATCH_SIZE = 2000;
+    private static final List<Employee> END = new ArrayList<>();
+
+    public static void main(String[] args) throws Exception {
+        long rows = args.length > 0 ? Long.parseLong(args[0]) : 1_000_000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 42;
+        int writers = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+        String url = args.length > 3 ? args[3] : "jdbc:mysql://localhost:3306/ems?useSSL=false&createDatabaseIfNotExist=true";
+        String user = args.length > 4 ? args[4] : "root";
+        String password = args.length > 5 ? args[5] : "Password";
+        String batchUrl = url + (url.contains("?") ? "&" : "?") + "rewriteBatchedStatements=true";
+
+        try (Connection connection = DriverManager.getConnection(batchUrl, user, password);
+             Statement statement = connection.createStatement()) {
+            // same shape as the schema Hibernate generates for Employee
+            statement.execute("CREATE TABLE IF NOT EXISTS employee (id BIGINT NOT NULL AUTO_INCREMENT, "
+                    + "email VARCHAR(255) NOT NULL, first_name VARCHAR(255) NOT NULL, last_name VARCHAR(255) NOT NULL, "
+                    + "PRIMARY KEY (id), UNIQUE KEY uk_employee_email (email))");
+            statement.execute("TRUNCATE TABLE employee");
+        }
+
+        BlockingQueue<List<Employee>> batches = new ArrayBlockingQueue<>(writers * 2);
+        AtomicLong inserted = new AtomicLong();
+        ExecutorService pool = Executors.newFixedThreadPool(writers);
+        List<Future<?>> writerTasks = new ArrayList<>();
+        for (int i = 0; i < writers; i++) {
+            writerTasks.add(pool.submit(() -> write(batchUrl, user, password, batches, inserted)));
+        }
+
+        long start = System.nanoTime();
+        ScheduledExecutorService progress = Executors.newSingleThreadScheduledExecutor();
+        progress.scheduleAtFixedRate(() -> report("progress", inserted.get(), start), 5, 5, TimeUnit.SECONDS);
+        try {
+            EmployeeDataGenerator generator = new EmployeeDataGenerator(seed);
+            while (generator.generated() < rows) {
+                List<Employee> batch = new ArrayList<>(BATCH_SIZE);
+                while (batch.size() < BATCH_SIZE && generator.generated() < rows) {
+                    batch.add(generator.next());
+                }
+                put(batches, batch, writerTasks);
+            }
+            for (int i = 0; i < writers; i++) {
+                put(batches, END, writerTasks);
+            }
+            for (Future<?> writerTask : writerTasks) {
+                writerTask.get();
+            }
+        } finally {
+            progress.shutdownNow();
+            pool.shutdownNow();
+        }
+        report("done", inserted.get(), start);
+    }
+
+    private static Void write(String url, String user, String password, BlockingQueue<List<Employee>> batches,
+                              AtomicLong inserted) throws SQLException, InterruptedException {
+        try (Connection connection = DriverManager.getConnection(url, user, password)) {
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET unique_checks = 0");
+            }
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO employee (first_name, last_name, email) VALUES (?, ?, ?)")) {
+                for (List<Employee> batch = batches.take(); batch != END; batch = batches.take()) {
+                    for (Employee employee : batch) {
+                        insert.setString(1, employee.getFirstName());
+                        insert.setString(2, employee.getLastName());
+                        insert.setString(3, employee.getEmail());
+                        insert.addBatch();
+                    }
+                    insert.executeBatch();
+                    connection.commit();
+                    inserted.addAndGet(batch.size());
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Hands a batch to the writers, giving up as soon as one of them has failed.
+     */
+    private static void put(BlockingQueue<List<Employee>> batches, List<Employee> batch, List<Future<?>> writerTasks)
+            throws Exception {
+        while (!batches.offer(batch, 100, TimeUnit.MILLISECONDS)) {
+            for (Future<?> writerTask : writerTasks) {
+                if (writerTask.isDone()) {
+                    writerTask.get();
+                    throw new IllegalStateException("A writer stopped early");
+                }
+            }
+        }
+    }
+
+    private static void report(String label, long rows, long start) {
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%-8s rows=%d elapsed=%.1fs rate=%.0f rows/s%n", label, rows, seconds, rows / seconds);
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.benchmark;
+
+import com.example.SpringBootJunitMockitoTestcontainersApplication;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compares the JPA {@code EmployeeService} with the R2DBC one on the same database: each
+ * implementation runs in a fresh JVM (the second with the {@code r2dbc} profile) with a pool of
+ * the same size, and receives the same concurrent mix of {@code GET /api/employees/{id}} and
+ * name searches. Reports throughput, latency percentiles and the live/peak JVM thread count
+ * read from the actuator.
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec \
+ *     -Dbenchmark.main=com.example.benchmark.R2dbcVsJpaBenchmark \
+ *     -Dbenchmark.args="512 50000 20"
+ * </pre>
+ * Requires MySQL on the configured {@code spring.datasource.url} and {@code app.r2dbc.url}.
+ */
+public class R2dbcVsJpaBenchmark {
+
+    private static final int PORT = 18080;
+    private static final int EMPLOYEES = 1000;
+    private static final Pattern VALUE = Pattern.compile("\"value\"\\s*:\\s*([0-9.Ee+]+)");
+
+    public static void main(String[] args) throws Exception {
+        int concurrency = args.length > 0 ? Integer.parseInt(args[0]) : 512;
+        int requests = args.length > 1 ? Integer.parseInt(args[1]) : 50_000;
+        int poolSize = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+
+        for (String profile : new String[]{"default", "r2dbc"}) {
+            Process process = start(profile, poolSize);
+            try {
+                HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+                awaitReady(client);
+                List<Long> ids = seed(client);
+                run(client, ids, concurrency, requests / 10);
+                long start = System.nanoTime();
+                long[] latencies = run(client, ids, concurrency, requests);
+                double seconds = (System.nanoTime() - start) / 1e9;
+                Arrays.sort(latencies);
+                System.out.printf("%-7s throughput=%.0f req/s p50=%.1fms p99=%.1fms max=%.1fms threads=%.0f peak=%.0f%n",
+                        profile, requests / seconds, percentile(latencies, 0.50) / 1e6,
+                        percentile(latencies, 0.99) / 1e6, latencies[latencies.length - 1] / 1e6,
+                        metric(client, "jvm.threads.live"), metric(client, "jvm.threads.peak"));
+            } finally {
+                process.destroy();
+                process.waitFor();
+            }
+        }
+    }
+
+    private static long[] run(HttpClient client, List<Long> ids, int concurrency, int requests) throws Exception {
+        long[] latencies = new long[requests];
+        AtomicInteger errors = new AtomicInteger();
+        Semaphore inFlight = new Semaphore(concurrency);
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[requests];
+        for (int i = 0; i < requests; i++) {
+            long id = ids.get(i % ids.size());
+            String path = i % 4 == 0
+                    ? "/api/employees/search?firstName=First" + (id % 100) + "&lastName=Last" + (id % 100)
+                    : "/api/employees/" + id;
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + PORT + path)).GET().build();
+            inFlight.acquire();
+            int index = i;
+            long requestStart = System.nanoTime();
+            futures[i] = client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, ex) -> {
+                        latencies[index] = System.nanoTime() - requestStart;
+                        if (ex != null || response.statusCode() >= 500) {
+                            errors.incrementAndGet();
+                        }
+                        inFlight.release();
+                    });
+        }
+        CompletableFuture.allOf(futures).exceptionally(ex -> null).join();
+        if (errors.get() > 0) {
+            System.out.println(errors.get() + " failed requests");
+        }
+        return latencies;
+    }
+
+    private static List<Long> seed(HttpClient client) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        Pattern id = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+        for (int i = 0; i < EMPLOYEES; i++) {
+            String body = "{\"firstName\":\"First" + (i % 100) + "\",\"lastName\":\"Last" + (i % 100)
+                    + "\",\"email\":\"bench-" + System.nanoTime() + "@example.com\"}";
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + PORT + "/api/employees"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+            Matcher matcher = id.matcher(client.send(request, HttpResponse.BodyHandlers.ofString()).body());
+            if (matcher.find()) {
+                ids.add(Long.parseLong(matcher.group(1)));
+            }
+        }
+        return ids;
+    }
+
+    private static double metric(HttpClient client, String name) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + PORT + "/actuator/metrics/" + name))
+                .GET()
+                .build();
+        Matcher matcher = VALUE.matcher(client.send(request, HttpResponse.BodyHandlers.ofString()).body());
+        return matcher.find() ? Double.parseDouble(matcher.group(1)) : Double.NaN;
+    }
+
+    private static Process start(String profile, int poolSize) throws Exception {
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        List<String> command = new ArrayList<>(Arrays.asList(java,
+                "-cp", System.getProperty("java.class.path"),
+                SpringBootJunitMockitoTestcontainersApplication.class.getName(),
+                "--server.port=" + PORT,
+                "--spring.profiles.active=" + profile,
+                "--spring.jpa.show-sql=false",
+                "--spring.datasource.hikari.maximum-pool-size=" + poolSize,
+                "--app.r2dbc.max-size=" + poolSize,
+                "--logging.level.root=WARN"));
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(new File(System.getProperty("java.io.tmpdir"), "r2dbc-vs-jpa-" + profile + ".log"))
+                .start();
+    }
+
+    private static void awaitReady(HttpClient client) throws Exception {
+        HttpRequest readiness = HttpRequest.newBuilder(URI.create("http://localhost:" + PORT + "/actuator/health/readiness"))
+                .timeout(Duration.ofSeconds(1))
+                .GET()
+                .build();
+        long deadline = System.nanoTime() + Duration.ofMinutes(2).toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                if (client.send(readiness, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException ex) {
+                // not listening yet
+            }
+            Thread.sleep(20);
+        }
+        throw new IllegalStateException("application did not become ready");
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(percentile * sorted.length) - 1)];
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.benchmark;
+
+import com.example.entity.Employee;
+import com.example.replica.EmployeeReplica;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Heap footprint of {@link EmployeeReplica} per million rows, next to the same rows held as a
+ * plain {@code List<Employee>}. Names repeat the way real ones do: a few thousand distinct first
+ * and last names spread over all rows. Each layout is measured as the used-heap delta after GC
+ * and compared with the replica's own estimate.
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec \
+ *     -Dbenchmark.main=com.example.benchmark.ReplicaFootprintBenchmark \
+ *     -Dbenchmark.args="1000000"
+ * </pre>
+ */
+public class ReplicaFootprintBenchmark {
+
+    public static void main(String[] args) {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        double millions = rows / 1_000_000.0;
+
+        long before = usedHeap();
+        EmployeeReplica replica = new EmployeeReplica();
+        for (int i = 1; i <= rows; i++) {
+            replica.put(employee(i));
+        }
+        long replicaBytes = usedHeap() - before;
+        System.out.printf("replica        rows=%d measured=%.1f MB/M rows estimated=%.1f MB/M rows%n",
+                replica.size(), replicaBytes / millions / 1e6, replica.footprintBytes() / millions / 1e6);
+        replica.clear();
+        replica = null;
+
+        before = usedHeap();
+        List<Employee> employees = new ArrayList<>(rows);
+        for (int i = 1; i <= rows; i++) {
+            employees.add(employee(i));
+        }
+        long listBytes = usedHeap() - before;
+        System.out.printf("List<Employee> rows=%d measured=%.1f MB/M rows%n",
+                employees.size(), listBytes / millions / 1e6);
+    }
+
+    private static Employee employee(int i) {
+        // fresh String instances per row, as a JDBC result set would produce them
+        return Employee.builder()
+                .id(i)
+                .firstName("First" + (i % 3000))
+                .lastName("Last" + (i * 7 % 5000))
+                .email("employee" + i + "@example.com")
+                .build();
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
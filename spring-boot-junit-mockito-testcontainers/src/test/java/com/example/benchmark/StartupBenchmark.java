@@ -0,0 +1,134 @@
+package com.example.benchmark;
+
+import com.example.SpringBootJunitMockitoTestcontainersApplication;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compares time-to-ready and resident set size at ready for a plain start, the
+ * {@code fast-startup} Spring profile (lazy initialization plus component index) and the same
+ * profile with the AppCDS archive. Every run is a fresh JVM on the classpath the archive was
+ * built for; time-to-ready is measured from process start until
+ * {@code /actuator/health/readiness} answers 200, RSS is read from {@code /proc} (Linux only).
+ * <pre>
+ * mvn -Pfast-startup package -DskipTests
+ * mvn -Pbenchmark test-compile exec:exec \
+ *     -Dbenchmark.main=com.example.benchmark.StartupBenchmark \
+ *     -Dbenchmark.args="5 --app.warmup.enabled=false"
+ * </pre>
+ * Any arguments after the run count are passed to the application.
+ */
+public class StartupBenchmark {
+
+    private static final int PORT = 18081;
+
+    public static void main(String[] args) throws Exception {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        List<String> applicationArgs = args.length > 1 ? Arrays.asList(args).subList(1, args.length) : List.of();
+
+        Path target = Paths.get("target");
+        Path archive = target.resolve("app-cds.jsa");
+        String classpath = findPlainJar(target) + File.pathSeparator
+                + Files.readString(target.resolve("classpath.txt")).trim();
+
+        run("baseline", runs, classpath, List.of("-Dspring.index.ignore=true"), applicationArgs, false);
+        run("lazy+index", runs, classpath, List.of(), applicationArgs, true);
+        if (Files.exists(archive)) {
+            run("lazy+index+appcds", runs, classpath,
+                    List.of("-Xshare:auto", "-XX:SharedArchiveFile=" + archive), applicationArgs, true);
+        } else {
+            System.out.println("no " + archive + ", build it with mvn -Pfast-startup package");
+        }
+    }
+
+    private static void run(String name, int runs, String classpath, List<String> jvmArgs,
+                            List<String> applicationArgs, boolean fastStartupProfile) throws Exception {
+        long[] readyMillis = new long[runs];
+        long[] rssKb = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            List<String> command = new ArrayList<>();
+            command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+            command.addAll(jvmArgs);
+            command.addAll(List.of("-cp", classpath, SpringBootJunitMockitoTestcontainersApplication.class.getName(),
+                    "--server.port=" + PORT, "--logging.level.root=WARN"));
+            if (fastStartupProfile) {
+                command.add("--spring.profiles.active=fast-startup");
+            }
+            command.addAll(applicationArgs);
+
+            long start = System.nanoTime();
+            Process process = new ProcessBuilder(command)
+                    .redirectErrorStream(true)
+                    .redirectOutput(new File(System.getProperty("java.io.tmpdir"), "startup-benchmark.log"))
+                    .start();
+            try {
+                awaitReady(HttpClient.newHttpClient());
+                readyMillis[i] = (System.nanoTime() - start) / 1_000_000;
+                rssKb[i] = residentSetKb(process.pid());
+            } finally {
+                process.destroy();
+                process.waitFor();
+            }
+        }
+        System.out.printf("%-18s time-to-ready median=%dms min=%dms  rss median=%dMB%n",
+                name, median(readyMillis), Arrays.stream(readyMillis).min().orElse(0), median(rssKb) / 1024);
+    }
+
+    private static String findPlainJar(Path target) throws IOException {
+        try (var files = Files.list(target)) {
+            return files.map(Path::toString)
+                    .filter(file -> file.endsWith(".jar") && !file.endsWith("-exec.jar"))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("no plain jar in target, run mvn -Pfast-startup package"));
+        }
+    }
+
+    private static void awaitReady(HttpClient client) throws Exception {
+        HttpRequest readiness = HttpRequest.newBuilder(URI.create("http://localhost:" + PORT + "/actuator/health/readiness"))
+                .timeout(Duration.ofSeconds(1))
+                .GET()
+                .build();
+        long deadline = System.nanoTime() + Duration.ofMinutes(2).toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                if (client.send(readiness, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException ex) {
+                // not listening yet
+            }
+            Thread.sleep(10);
+        }
+        throw new IllegalStateException("application did not become ready");
+    }
+
+    private static long residentSetKb(long pid) throws IOException {
+        Path status = Paths.get("/proc", Long.toString(pid), "status");
+        if (!Files.exists(status)) {
+            return 0;
+        }
+        return Files.readAllLines(status).stream()
+                .filter(line -> line.startsWith("VmRSS:"))
+                .map(line -> Long.parseLong(line.replaceAll("\\D", "")))
+                .findFirst()
+                .orElse(0L);
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
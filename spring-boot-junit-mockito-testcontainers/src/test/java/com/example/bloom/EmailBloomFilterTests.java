@@ -0,0 +1,66 @@
+package com.example.bloom;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EmailBloomFilterTests {
+
+    private final List<String> table = new CopyOnWriteArrayList<>();
+
+    // background rebuilds run inline on the calling thread
+    private final EmailBloomFilter filter = new EmailBloomFilter(consumer -> table.forEach(consumer), 1000, 0.01, 0.03,
+            Runnable::run);
+
+    @Test
+    public void givenLoadedEmails_whenMightContain_thenNoFalseNegatives() {
+        table.addAll(emails("stored", 1000));
+        filter.rebuild();
+
+        assertThat(table).allMatch(filter::mightContain);
+        assertThat(filter.mightContain("STORED1@gmail.com")).isTrue();
+        long misses = emails("new", 10_000).stream().filter(email -> !filter.mightContain(email)).count();
+        assertThat(misses).isGreaterThan(9_500);
+        assertThat(filter.lookupsAvoided()).isEqualTo(misses);
+    }
+
+    @Test
+    public void givenFilterNotBuilt_whenMightContain_thenAlwaysLookUp() {
+        assertThat(filter.mightContain("ramesh@gmail.com")).isTrue();
+        assertThat(filter.lookupsAvoided()).isZero();
+    }
+
+    @Test
+    public void givenInsertedEmail_whenMightContain_thenReturnTrue() {
+        filter.rebuild();
+
+        filter.put("ramesh@gmail.com");
+
+        assertThat(filter.mightContain("ramesh@gmail.com")).isTrue();
+    }
+
+    @Test
+    public void givenManyRemovals_whenRecordRemoved_thenRebuild() {
+        table.addAll(emails("stored", 1000));
+        filter.rebuild();
+        table.clear();
+
+        IntStream.range(0, 250).forEach(i -> filter.recordRemoved());
+        assertThat(filter.rebuilds()).isEqualTo(1);
+        // the 251st removal passes a quarter of the 1000 insertions
+        filter.recordRemoved();
+
+        assertThat(filter.rebuilds()).isEqualTo(2);
+        assertThat(filter.staleEntries()).isZero();
+        assertThat(filter.mightContain("stored1@gmail.com")).isFalse();
+    }
+
+    private static List<String> emails(String prefix, int count) {
+        return IntStream.range(0, count).mapToObj(i -> prefix + i + "@gmail.com").collect(Collectors.toList());
+    }
+}
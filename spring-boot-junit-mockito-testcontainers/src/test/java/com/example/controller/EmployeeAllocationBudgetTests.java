@@ -0,0 +1,205 @@
+package com.example.controller;
+
+import com.example.entity.Employee;
+import com.example.repository.EmployeeRepository;
+import com.example.service.EmployeeService;
+import com.example.service.EmployeeServiceImpl;
+import com.example.web.AllocationBudgets;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcPrint;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Allocation budgets of the {@link EmployeeController} endpoints, through the real
+ * {@link EmployeeServiceImpl} and Jackson, over an in-memory repository of 100 employees. Without
+ * the bulkheads every request completes on the calling thread, where {@link AllocationBudgets}
+ * counts its allocations.
+ */
+@WebMvcTest(EmployeeController.class)
+// printing every exchange would dominate the measurement
+@AutoConfigureMockMvc(print = MockMvcPrint.NONE)
+public class EmployeeAllocationBudgetTests {
+
+    private static final int EMPLOYEES = 100;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private InMemoryEmployees employees;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final AllocationBudgets budgets = new AllocationBudgets();
+
+    @BeforeEach
+    public void setup() {
+        employees.reset();
+    }
+
+    @DisplayName("Allocation budget of POST /api/employees")
+    @Test
+    public void givenNewEmployee_whenCreateEmployee_thenWithinAllocationBudget() throws Exception {
+        String body = objectMapper.writeValueAsString(
+                Employee.builder().firstName("Mike").lastName("Doe").email("mike.doe@gmail.com").build());
+
+        budgets.assertWithinBudget("employee.create", employees::reset, () -> perform(post("/api/employees")
+                .contentType(MediaType.APPLICATION_JSON).content(body), 201));
+    }
+
+    @DisplayName("Allocation budget of GET /api/employees")
+    @Test
+    public void givenEmployees_whenGetAllEmployees_thenWithinAllocationBudget() throws Exception {
+        budgets.assertWithinBudget("employee.getAll", () -> { }, () -> perform(get("/api/employees"), 200));
+    }
+
+    @DisplayName("Allocation budget of GET /api/employees/search")
+    @Test
+    public void givenEmployees_whenGetEmployeesByName_thenWithinAllocationBudget() throws Exception {
+        budgets.assertWithinBudget("employee.search", () -> { }, () -> perform(get("/api/employees/search")
+                .param("firstName", "First1").param("lastName", "Last1"), 200));
+    }
+
+    @DisplayName("Allocation budget of GET /api/employees/{id}")
+    @Test
+    public void givenEmployee_whenGetEmployeeById_thenWithinAllocationBudget() throws Exception {
+        budgets.assertWithinBudget("employee.getById", () -> { }, () -> perform(get("/api/employees/{id}", 1L), 200));
+    }
+
+    @DisplayName("Allocation budget of PUT /api/employees/{id}")
+    @Test
+    public void givenEmployee_whenUpdateEmployee_thenWithinAllocationBudget() throws Exception {
+        String body = objectMapper.writeValueAsString(
+                Employee.builder().firstName("Jane").lastName("Doe").email("jane.doe@gmail.com").build());
+
+        budgets.assertWithinBudget("employee.update", () -> { }, () -> perform(put("/api/employees/{id}", 1L)
+                .contentType(MediaType.APPLICATION_JSON).content(body), 200));
+    }
+
+    @DisplayName("Allocation budget of DELETE /api/employees/{id}")
+    @Test
+    public void givenEmployee_whenDeleteEmployee_thenWithinAllocationBudget() throws Exception {
+        budgets.assertWithinBudget("employee.delete", employees::reset,
+                () -> perform(delete("/api/employees/{id}", 1L), 200));
+    }
+
+    private void perform(RequestBuilder request, int expectedStatus) throws Exception {
+        MvcResult result = mockMvc.perform(request).andReturn();
+        if (result.getRequest().isAsyncStarted()) {
+            result = mockMvc.perform(asyncDispatch(result)).andReturn();
+        }
+        assertThat(result.getResponse().getStatus()).isEqualTo(expectedStatus);
+    }
+
+    @TestConfiguration
+    static class InMemoryServiceConfig {
+
+        @Bean
+        public InMemoryEmployees inMemoryEmployees() {
+            return new InMemoryEmployees();
+        }
+
+        @Bean
+        public EmployeeService employeeService(InMemoryEmployees employees) {
+            return new EmployeeServiceImpl(employees.repository());
+        }
+    }
+
+    /**
+     * Employees in a map behind the {@link EmployeeRepository} methods {@link EmployeeServiceImpl}
+     * calls; anything else fails the request.
+     */
+    static class InMemoryEmployees {
+
+        private final Map<Long, Employee> employees = new LinkedHashMap<>();
+        private long nextId;
+
+        void reset() {
+            employees.clear();
+            for (long id = 1; id <= EMPLOYEES; id++) {
+                employees.put(id, employee(id));
+            }
+            nextId = EMPLOYEES + 1;
+        }
+
+        EmployeeRepository repository() {
+            return (EmployeeRepository) Proxy.newProxyInstance(EmployeeRepository.class.getClassLoader(),
+                    new Class<?>[]{EmployeeRepository.class}, (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "findAll":
+                                return new ArrayList<>(employees.values());
+                            case "findById":
+                                return Optional.ofNullable(employees.get((Long) args[0]));
+                            case "findByEmail":
+                                return employees.values().stream()
+                                        .filter(employee -> employee.getEmail().equals(args[0]))
+                                        .findFirst();
+                            case "findAllByFirstNameAndLastName":
+                                return employees.values().stream()
+                                        .filter(employee -> employee.getFirstName().equals(args[0])
+                                                && employee.getLastName().equals(args[1]))
+                                        .collect(Collectors.toList());
+                            case "save":
+                                return save((Employee) args[0]);
+                            case "deleteById":
+                                employees.remove((Long) args[0]);
+                                return null;
+                            case "hashCode":
+                                return System.identityHashCode(proxy);
+                            case "equals":
+                                return proxy == args[0];
+                            case "toString":
+                                return "InMemoryEmployeeRepository";
+                            default:
+                                throw new UnsupportedOperationException(method.getName());
+                        }
+                    });
+        }
+
+        private Employee save(Employee employee) {
+            if (employee.getId() == 0) {
+                employee.setId(nextId++);
+            }
+            employees.put(employee.getId(), employee);
+            return employee;
+        }
+
+        private static Employee employee(long id) {
+            // ten employees share each name, so a search returns a page of matches
+            return Employee.builder()
+                    .id(id)
+                    .firstName("First" + id % 10)
+                    .lastName("Last" + id % 10)
+                    .email("employee" + id + "@example.com")
+                    .build();
+        }
+    }
+}
@@ -1,33 +1,46 @@
 package com.example.controller;
 
+import com.example.config.BinaryCodecsConfig;
+import com.example.config.BulkheadConfig;
 import com.example.entity.Employee;
 import com.example.service.EmployeeService;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
 import org.springframework.test.web.servlet.ResultActions;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.CoreMatchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.willDoNothing;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest
+@Import({BulkheadConfig.class, BinaryCodecsConfig.class})
 public class EmployeeControllerTests {
 
     @Autowired
@@ -48,7 +61,7 @@ public class EmployeeControllerTests {
                 .build();
         given(employeeService.saveEmployee(any(Employee.class))).willAnswer((invocation) -> invocation.getArgument(0));
 
-        ResultActions response = mockMvc.perform(post("/api/employees")
+        ResultActions response = performAsync(post("/api/employees")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(employee)));
 
@@ -66,7 +79,7 @@ public class EmployeeControllerTests {
 
         given(employeeService.getAllEmployees()).willReturn(listOfEmployees);
 
-        ResultActions response = mockMvc.perform(get("/api/employees"));
+        ResultActions response = performAsync(get("/api/employees"));
 
         response.andExpect(status().isOk())
                 .andDo(print())
@@ -83,7 +96,7 @@ public class EmployeeControllerTests {
                 .build();
         given(employeeService.getEmployeeById(employeeId)).willReturn(Optional.of(employee));
 
-        ResultActions response = mockMvc.perform(get("/api/employees/{id}", employeeId));
+        ResultActions response = performAsync(get("/api/employees/{id}", employeeId));
 
         response.andExpect(status().isOk())
                 .andDo(print())
@@ -97,7 +110,7 @@ public class EmployeeControllerTests {
         long employeeId = 1L;
         given(employeeService.getEmployeeById(employeeId)).willReturn(Optional.empty());
 
-        ResultActions response = mockMvc.perform(get("/api/employees/{id}", employeeId));
+        ResultActions response = performAsync(get("/api/employees/{id}", employeeId));
         response.andExpect(status().isNotFound())
                 .andDo(print());
     }
@@ -120,7 +133,7 @@ public class EmployeeControllerTests {
         given(employeeService.updateEmployee(any(Employee.class)))
                 .willAnswer((invocation) -> invocation.getArgument(0));
 
-        ResultActions response = mockMvc.perform(put("/api/employees/{id}", employeeId)
+        ResultActions response = performAsync(put("/api/employees/{id}", employeeId)
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(updatedEmployee)));
 
@@ -145,7 +158,7 @@ public class EmployeeControllerTests {
         given(employeeService.updateEmployee(any(Employee.class)))
                 .willAnswer((invocation) -> invocation.getArgument(0));
 
-        ResultActions response = mockMvc.perform(put("/api/employees/{id}", employeeId)
+        ResultActions response = performAsync(put("/api/employees/{id}", employeeId)
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(updatedEmployee)));
 
@@ -158,7 +171,58 @@ public class EmployeeControllerTests {
         long employeeId = 1L;
         willDoNothing().given(employeeService).deleteEmployee(employeeId);
 
-        ResultActions response = mockMvc.perform(delete("/api/employees/{id}", employeeId));
+        ResultActions response = performAsync(delete("/api/employees/{id}", employeeId));
         response.andExpect(status().isOk()).andDo(print());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void givenCborAccept_whenGetEmployeeById_thenReturnCborEncodedEmployee() throws Exception {
+        long employeeId = 1L;
+        Employee employee = Employee.builder().firstName("Mike").lastName("Doe").email("mike.doe@gmail.com").build();
+        given(employeeService.getEmployeeById(employeeId)).willReturn(Optional.of(employee));
+
+        ResultActions response = performAsync(get("/api/employees/{id}", employeeId)
+                .accept(MediaType.APPLICATION_CBOR));
+
+        byte[] body = response.andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+        Employee decoded = new ObjectMapper(new CBORFactory()).readValue(body, Employee.class);
+        assertThat(decoded.getEmail()).isEqualTo(employee.getEmail());
+    }
+
+    @Test
+    public void givenSmileAccept_whenGetAllEmployees_thenReturnSmileEncodedList() throws Exception {
+        List<Employee> listOfEmployees = List.of(
+                Employee.builder().firstName("Mike").lastName("Doe").email("mike.doe@gmail.com").build(),
+                Employee.builder().firstName("Jane").lastName("Doe").email("jane.doe@gmail.com").build());
+        given(employeeService.getAllEmployees()).willReturn(listOfEmployees);
+
+        ResultActions response = performAsync(get("/api/employees")
+                .accept("application/x-jackson-smile"));
+
+        byte[] body = response.andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        List<Employee> decoded = new ObjectMapper(new SmileFactory())
+                .readValue(body, new TypeReference<List<Employee>>() {});
+        assertThat(decoded).extracting(Employee::getFirstName).containsExactly("Mike", "Jane");
+    }
+
+    @Test
+    public void givenNoAccept_whenGetAllEmployees_thenReturnJson() throws Exception {
+        given(employeeService.getAllEmployees()).willReturn(List.of());
+
+        ResultActions response = performAsync(get("/api/employees"));
+
+        response.andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    // controller methods complete on a bulkhead thread, the response is written on the async dispatch
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult result = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+}
@@ -10,6 +10,8 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
 import org.springframework.test.web.servlet.ResultActions;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
@@ -17,12 +19,14 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
@@ -52,7 +56,7 @@ public class EmployeeControllerIT extends AbstractContainerBaseTest {
                 .email("mike.doe@gmail.com")
                 .build();
 
-        ResultActions response = mockMvc.perform(post("/api/employees")
+        ResultActions response = performAsync(post("/api/employees")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(employee)));
 
@@ -70,7 +74,7 @@ public class EmployeeControllerIT extends AbstractContainerBaseTest {
         listOfEmployees.add(Employee.builder().firstName("Tony").lastName("Stark").email("tony@gmail.com").build());
         employeeRepository.saveAll(listOfEmployees);
 
-        ResultActions response = mockMvc.perform(get("/api/employees"));
+        ResultActions response = performAsync(get("/api/employees"));
 
         response.andExpect(status().isOk())
                 .andDo(print())
@@ -87,7 +91,7 @@ public class EmployeeControllerIT extends AbstractContainerBaseTest {
                 .build();
         employeeRepository.save(employee);
 
-        ResultActions response = mockMvc.perform(get("/api/employees/{id}", employee.getId()));
+        ResultActions response = performAsync(get("/api/employees/{id}", employee.getId()));
 
         response.andExpect(status().isOk())
                 .andDo(print())
@@ -106,7 +110,7 @@ public class EmployeeControllerIT extends AbstractContainerBaseTest {
                 .email("Mike@gmail.com")
                 .build();
         employeeRepository.save(employee);
-        ResultActions response = mockMvc.perform(get("/api/employees/{id}", employeeId));
+        ResultActions response = performAsync(get("/api/employees/{id}", employeeId));
         response.andExpect(status().isNotFound())
                 .andDo(print());
     }
@@ -126,7 +130,7 @@ public class EmployeeControllerIT extends AbstractContainerBaseTest {
                 .email("ram@gmail.com")
                 .build();
 
-        ResultActions response = mockMvc.perform(put("/api/employees/{id}", savedEmployee.getId())
+        ResultActions response = performAsync(put("/api/employees/{id}", savedEmployee.getId())
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(updatedEmployee)));
 
@@ -153,7 +157,7 @@ public class EmployeeControllerIT extends AbstractContainerBaseTest {
                 .email("ram@gmail.com")
                 .build();
 
-        ResultActions response = mockMvc.perform(put("/api/employees/{id}", employeeId)
+        ResultActions response = performAsync(put("/api/employees/{id}", employeeId)
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(updatedEmployee)));
 
@@ -170,9 +174,17 @@ public class EmployeeControllerIT extends AbstractContainerBaseTest {
                 .build();
         employeeRepository.save(savedEmployee);
 
-        ResultActions response = mockMvc.perform(delete("/api/employees/{id}", savedEmployee.getId()));
+        ResultActions response = performAsync(delete("/api/employees/{id}", savedEmployee.getId()));
 
         response.andExpect(status().isOk())
                 .andDo(print());
     }
-}
\ No newline at end of file
+
+    // controller methods complete on a bulkhead thread, the response is written on the async dispatch
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult result = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+}
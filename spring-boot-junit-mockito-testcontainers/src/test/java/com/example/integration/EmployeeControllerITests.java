@@ -10,18 +10,22 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
 import org.springframework.test.web.servlet.ResultActions;
 
 import java.util.ArrayList;
 import java.util.List;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
@@ -51,7 +55,7 @@ public class EmployeeControllerITests {
                 .email("mike.doe@gmail.com")
                 .build();
 
-        ResultActions response = mockMvc.perform(post("/api/employees")
+        ResultActions response = performAsync(post("/api/employees")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(employee)));
 
@@ -69,7 +73,7 @@ public class EmployeeControllerITests {
         listOfEmployees.add(Employee.builder().firstName("Tony").lastName("Stark").email("tony@gmail.com").build());
         employeeRepository.saveAll(listOfEmployees);
 
-        ResultActions response = mockMvc.perform(get("/api/employees"));
+        ResultActions response = performAsync(get("/api/employees"));
 
         response.andExpect(status().isOk())
                 .andDo(print())
@@ -86,7 +90,7 @@ public class EmployeeControllerITests {
                 .build();
         employeeRepository.save(employee);
 
-        ResultActions response = mockMvc.perform(get("/api/employees/{id}", employee.getId()));
+        ResultActions response = performAsync(get("/api/employees/{id}", employee.getId()));
 
         response.andExpect(status().isOk())
                 .andDo(print())
@@ -105,7 +109,7 @@ public class EmployeeControllerITests {
                 .email("Mike@gmail.com")
                 .build();
         employeeRepository.save(employee);
-        ResultActions response = mockMvc.perform(get("/api/employees/{id}", employeeId));
+        ResultActions response = performAsync(get("/api/employees/{id}", employeeId));
         response.andExpect(status().isNotFound())
                 .andDo(print());
     }
@@ -125,7 +129,7 @@ public class EmployeeControllerITests {
                 .email("ram@gmail.com")
                 .build();
 
-        ResultActions response = mockMvc.perform(put("/api/employees/{id}", savedEmployee.getId())
+        ResultActions response = performAsync(put("/api/employees/{id}", savedEmployee.getId())
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(updatedEmployee)));
 
@@ -152,7 +156,7 @@ public class EmployeeControllerITests {
                 .email("ram@gmail.com")
                 .build();
 
-        ResultActions response = mockMvc.perform(put("/api/employees/{id}", employeeId)
+        ResultActions response = performAsync(put("/api/employees/{id}", employeeId)
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(updatedEmployee)));
 
@@ -169,9 +173,17 @@ public class EmployeeControllerITests {
                 .build();
         employeeRepository.save(savedEmployee);
 
-        ResultActions response = mockMvc.perform(delete("/api/employees/{id}", savedEmployee.getId()));
+        ResultActions response = performAsync(delete("/api/employees/{id}", savedEmployee.getId()));
 
         response.andExpect(status().isOk())
                 .andDo(print());
     }
-}
\ No newline at end of file
+
+    // controller methods complete on a bulkhead thread, the response is written on the async dispatch
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult result = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.integration;
+
+import com.example.entity.Employee;
+import com.example.exception.ResourceNotFoundException;
+import com.example.repository.EmployeeRepository;
+import com.example.service.ReactiveEmployeeService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@ActiveProfiles("r2dbc")
+public class R2dbcEmployeeServiceIT extends AbstractContainerBaseTest {
+
+    @Autowired
+    private ReactiveEmployeeService employeeService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @DynamicPropertySource
+    public static void r2dbcPropertySource(DynamicPropertyRegistry registry) {
+        registry.add("app.r2dbc.url", () -> "r2dbc:mysql://" + MY_SQL_CONTAINER.getHost() + ":"
+                + MY_SQL_CONTAINER.getFirstMappedPort() + "/ems?sslMode=DISABLED");
+        registry.add("app.r2dbc.username", MY_SQL_CONTAINER::getUsername);
+        registry.add("app.r2dbc.password", MY_SQL_CONTAINER::getPassword);
+    }
+
+    @AfterEach
+    void setup() {
+        employeeRepository.deleteAll();
+    }
+
+    @Test
+    public void givenExistingEmail_whenSaveEmployee_thenThrowsException() {
+        Employee employee = Employee.builder()
+                .firstName("Mike")
+                .lastName("Doe")
+                .email("mike.doe@gmail.com")
+                .build();
+
+        Employee savedEmployee = employeeService.saveEmployee(employee).block();
+
+        assertThat(savedEmployee.getId()).isPositive();
+        assertThrows(ResourceNotFoundException.class, () -> employeeService.saveEmployee(employee).block());
+    }
+
+    @Test
+    public void givenEmployees_whenGetEmployeesByName_thenReturnMatchingEmployees() {
+        employeeRepository.save(Employee.builder().firstName("Mike").lastName("Doe").email("mike.doe@gmail.com").build());
+        employeeRepository.save(Employee.builder().firstName("Jane").lastName("Doe").email("jane.doe@gmail.com").build());
+
+        assertThat(employeeService.getEmployeesByName("Mike", "Doe").collectList().block())
+                .extracting(Employee::getEmail)
+                .containsExactly("mike.doe@gmail.com");
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.profiling;
+
+import com.example.benchmark.EmployeeDataGenerator;
+import com.example.entity.Employee;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class JfrProfilingTests {
+
+    @TempDir
+    Path directory;
+
+    private JfrRecordings recordings;
+
+    @AfterEach
+    public void tearDown() {
+        if (recordings != null) {
+            recordings.close();
+        }
+    }
+
+    @DisplayName("JUnit test for a JFR recording summary attributed to com.example frames")
+    @Test
+    public void givenWorkload_whenSummarize_thenHotMethodsAndAllocationSitesInPackage() {
+        recordings = new JfrRecordings(directory, Duration.ofMinutes(1), 1, "com.example.");
+        JfrRecordings.RecordingInfo info = recordings.start("profile", Duration.ofMinutes(1));
+
+        EmployeeDataGenerator generator = new EmployeeDataGenerator(42);
+        List<Employee> employees = new ArrayList<>();
+        long end = System.nanoTime() + Duration.ofMillis(1500).toNanos();
+        while (System.nanoTime() < end) {
+            employees.add(generator.next());
+            if (employees.size() == 100_000) {
+                employees.clear();
+            }
+        }
+        recordings.stop(info.getId());
+
+        JfrRecordings.RecordingSummary summary = recordings.summarize(info.getId(), 5).orElseThrow();
+        assertThat(summary.getExecutionSamples()).isPositive();
+        assertThat(summary.getAllocatedBytes()).isPositive();
+        assertThat(summary.getHotMethods()).isNotEmpty().hasSizeLessThanOrEqualTo(5)
+                .allSatisfy(site -> assertThat(site.getMethod()).startsWith("com.example."));
+        assertThat(summary.getHotMethods().get(0).getMethod()).startsWith(EmployeeDataGenerator.class.getName());
+        assertThat(summary.getAllocationSites()).isNotEmpty()
+                .allSatisfy(site -> assertThat(site.getMethod()).startsWith("com.example."));
+    }
+
+    @DisplayName("JUnit test for listing, stopping, dumping and deleting a JFR recording")
+    @Test
+    public void givenRecording_whenStopAndDelete_thenFileRemoved() {
+        recordings = new JfrRecordings(directory, Duration.ofMinutes(1), 1, "com.example.");
+        long id = recordings.start("default", Duration.ofMinutes(1)).getId();
+
+        assertThat(recordings.list()).extracting(JfrRecordings.RecordingInfo::getState).containsExactly("RUNNING");
+        Path file = recordings.dump(id).orElseThrow();
+        assertThat(file).exists();
+
+        assertThat(recordings.stop(id)).get().extracting(JfrRecordings.RecordingInfo::getState).isNotEqualTo("RUNNING");
+        assertThat(recordings.delete(id)).isTrue();
+        assertThat(Files.exists(file)).isFalse();
+        assertThat(recordings.list()).isEmpty();
+        assertThat(recordings.stop(id)).isEmpty();
+    }
+
+    @DisplayName("JUnit test for rejected JFR recording requests")
+    @Test
+    public void givenInvalidRequest_whenStart_thenRejected() {
+        recordings = new JfrRecordings(directory, Duration.ofMinutes(1), 1, "com.example.");
+
+        assertThatThrownBy(() -> recordings.start("nope", Duration.ofSeconds(10)))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("profile");
+        assertThatThrownBy(() -> recordings.start("default", Duration.ofMinutes(2)))
+                .isInstanceOf(IllegalArgumentException.class);
+        recordings.start("default", Duration.ofSeconds(10));
+        assertThatThrownBy(() -> recordings.start("default", Duration.ofSeconds(10)))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @DisplayName("JUnit test for the JFR endpoint bearer token")
+    @Test
+    public void givenToken_whenFilter_thenOnlyMatchingBearerPasses() throws Exception {
+        JfrAccessFilter filter = new JfrAccessFilter("s3cret");
+
+        MockHttpServletResponse missing = new MockHttpServletResponse();
+        MockFilterChain missingChain = new MockFilterChain();
+        filter.doFilter(new MockHttpServletRequest("GET", "/actuator/jfr"), missing, missingChain);
+        assertThat(missing.getStatus()).isEqualTo(401);
+        assertThat(missing.getHeader(HttpHeaders.WWW_AUTHENTICATE)).isEqualTo("Bearer");
+        assertThat(missingChain.getRequest()).isNull();
+
+        MockHttpServletRequest wrong = new MockHttpServletRequest("GET", "/actuator/jfr");
+        wrong.addHeader(HttpHeaders.AUTHORIZATION, "Bearer s3cre");
+        MockHttpServletResponse wrongResponse = new MockHttpServletResponse();
+        filter.doFilter(wrong, wrongResponse, new MockFilterChain());
+        assertThat(wrongResponse.getStatus()).isEqualTo(401);
+
+        MockHttpServletRequest valid = new MockHttpServletRequest("GET", "/actuator/jfr");
+        valid.addHeader(HttpHeaders.AUTHORIZATION, "Bearer s3cret");
+        MockFilterChain validChain = new MockFilterChain();
+        filter.doFilter(valid, new MockHttpServletResponse(), validChain);
+        assertThat(validChain.getRequest()).isSameAs(valid);
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.replica;
+
+import com.example.entity.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EmployeeReplicaTests {
+
+    private EmployeeReplica replica;
+
+    @BeforeEach
+    public void setup() {
+        replica = new EmployeeReplica();
+        replica.putAll(Arrays.asList(
+                employee(3L, "John", "Cena", "cena@gmail.com"),
+                employee(1L, "Ramesh", "Fadatare", "ramesh@gmail.com"),
+                employee(2L, "John", "Doe", "john@gmail.com")));
+        replica.markLoaded();
+    }
+
+    @Test
+    public void givenEmployees_whenFindAll_thenReturnEmployeesInIdOrder() {
+        assertThat(replica.findAll())
+                .extracting(Employee::getId)
+                .containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    public void givenUpdatedEmployee_whenPut_thenReplaceRow() {
+        replica.put(employee(2L, "Johnny", "Doe", "johnny@gmail.com"));
+
+        assertThat(replica.size()).isEqualTo(3);
+        assertThat(replica.findById(2L)).contains(employee(2L, "Johnny", "Doe", "johnny@gmail.com"));
+        assertThat(replica.findAllByFirstNameAndLastName("John", "Doe")).isEmpty();
+    }
+
+    @Test
+    public void givenRemovedEmployee_whenFindById_thenReturnEmpty() {
+        replica.remove(2L);
+
+        assertThat(replica.findById(2L)).isEmpty();
+        assertThat(replica.findAll()).extracting(Employee::getId).containsExactly(1L, 3L);
+    }
+
+    @Test
+    public void givenSharedFirstName_whenFindByName_thenMatchBothNames() {
+        assertThat(replica.findAllByFirstNameAndLastName("John", "Cena"))
+                .containsExactly(employee(3L, "John", "Cena", "cena@gmail.com"));
+        assertThat(replica.findAllByFirstNameAndLastName("John", "Unknown")).isEmpty();
+    }
+
+    @Test
+    public void givenOtherCaseOrAccents_whenFindByName_thenMatchLikeTheCollation() {
+        replica.put(employee(4L, "JOHN", "doe", "john.upper@gmail.com"));
+        replica.put(employee(5L, "Jöhn", "Döe", "john.accents@gmail.com"));
+
+        assertThat(replica.findAllByFirstNameAndLastName("john", "DOE"))
+                .containsExactly(employee(2L, "John", "Doe", "john@gmail.com"),
+                        employee(4L, "JOHN", "doe", "john.upper@gmail.com"),
+                        employee(5L, "Jöhn", "Döe", "john.accents@gmail.com"));
+        assertThat(replica.findAllByFirstNameAndLastName("JOHN", "Doe"))
+                .isEqualTo(replica.findAllByFirstNameAndLastName("John", "Döe"));
+    }
+
+    @Test
+    public void givenWrites_whenFootprintBytes_thenTrackRowsAddedAndRemoved() {
+        long before = replica.footprintBytes();
+
+        // sorts before every row, so the columns shift
+        replica.put(employee(0L, "John", "Doe", "john.doe@gmail.com"));
+        assertThat(replica.footprintBytes()).isGreaterThan(before);
+        replica.remove(0L);
+        assertThat(replica.footprintBytes()).isEqualTo(before);
+
+        // same email length, known names
+        replica.put(employee(2L, "John", "Cena", "jane@gmail.com"));
+        assertThat(replica.footprintBytes()).isEqualTo(before);
+    }
+
+    private static Employee employee(long id, String firstName, String lastName, String email) {
+        return Employee.builder().id(id).firstName(firstName).lastName(lastName).email(email).build();
+    }
+}
@@ -2,6 +2,7 @@ package com.example.repository;
 
 import com.example.entity.Employee;
 import com.example.integration.AbstractContainerBaseTest;
+import com.example.replica.EmployeeReplica;
 import org.assertj.core.groups.Tuple;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -178,4 +179,23 @@ public class EmployeeRespositoryIT extends AbstractContainerBaseTest {
                 .extracting(Employee::getFirstName, Employee::getLastName, Employee::getEmail)
                 .containsExactlyInAnyOrder("Mike", "Doe", "mike.doe@springframework.com");
     }
-}
\ No newline at end of file
+
+    @DisplayName("JUnit test for replica and repository agreeing on name searches under the column collation")
+    @Test
+    public void givenNamesInOtherCaseAndAccents_whenFindByName_thenReplicaMatchesRepository() {
+        employeeRepository.saveAll(Arrays.asList(
+                employee,
+                Employee.builder().firstName("MIKE").lastName("doe").email("mike.upper@springframework.com").build(),
+                Employee.builder().firstName("Mîke").lastName("Döe").email("mike.accents@springframework.com").build(),
+                Employee.builder().firstName("Mike").lastName("Dow").email("mike.dow@springframework.com").build()));
+        EmployeeReplica replica = new EmployeeReplica();
+        replica.putAll(employeeRepository.findAll());
+
+        for (String[] name : new String[][]{{"mike", "doe"}, {"Mike", "Doe"}, {"MIKE", "DÖE"}, {"mike", "dow"}}) {
+            assertThat(replica.findAllByFirstNameAndLastName(name[0], name[1]))
+                    .as("%s %s", name[0], name[1])
+                    .containsExactlyInAnyOrderElementsOf(employeeRepository.findAllByFirstNameAndLastName(name[0], name[1]));
+        }
+        assertThat(replica.findAllByFirstNameAndLastName("mike", "doe")).hasSize(3);
+    }
+}
@@ -1,7 +1,9 @@
 package com.example.service;
 
+import com.example.bloom.EmailBloomFilter;
 import com.example.entity.Employee;
 import com.example.exception.ResourceNotFoundException;
+import com.example.replica.EmployeeReplica;
 import com.example.repository.EmployeeRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -10,6 +12,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.util.Collections;
 import java.util.List;
@@ -132,4 +135,69 @@ public class EmployeeServiceTests {
         employeeService.deleteEmployee(employeeId);
         verify(employeeRepository, times(1)).deleteById(employeeId);
     }
-}
\ No newline at end of file
+
+    @DisplayName("JUnit test for reads served by the replica")
+    @Test
+    public void givenLoadedReplica_whenGetEmployeeById_thenSkipRepository() {
+        EmployeeReplica replica = new EmployeeReplica();
+        replica.markLoaded();
+        employeeService.setEmployeeReplica(replica);
+        given(employeeRepository.findByEmail(employee.getEmail())).willReturn(Optional.empty());
+        given(employeeRepository.save(employee)).willReturn(employee);
+
+        employeeService.saveEmployee(employee);
+
+        assertThat(employeeService.getEmployeeById(employee.getId())).contains(employee);
+        verify(employeeRepository, never()).findById(any(Long.class));
+    }
+
+    @DisplayName("JUnit test for saveEmployee method skipping the email lookup")
+    @Test
+    public void givenEmailFilterMiss_whenSaveEmployee_thenSkipEmailLookup() {
+        EmailBloomFilter filter = new EmailBloomFilter(consumer -> { }, 1000, 0.01, 0.03);
+        filter.rebuild();
+        employeeService.setEmailBloomFilter(filter);
+        given(employeeRepository.save(employee)).willReturn(employee);
+
+        employeeService.saveEmployee(employee);
+
+        verify(employeeRepository, never()).findByEmail(employee.getEmail());
+        assertThat(filter.mightContain(employee.getEmail())).isTrue();
+        filter.close();
+    }
+
+    @DisplayName("JUnit test for updateEmployee method changing the email")
+    @Test
+    public void givenEmailFilter_whenUpdateEmployeeEmail_thenRecordOldEmailRemoved() {
+        EmailBloomFilter filter = new EmailBloomFilter(consumer -> { }, 1000, 0.01, 0.03, Runnable::run);
+        filter.rebuild();
+        employeeService.setEmailBloomFilter(filter);
+        given(employeeRepository.findEmailById(employee.getId())).willReturn(Optional.of(employee.getEmail()));
+        given(employeeRepository.save(employee)).willReturn(employee);
+
+        // the same email in another case is not a change
+        employee.setEmail("Mike.Doe@gmail.com");
+        employeeService.updateEmployee(employee);
+        assertThat(filter.staleEntries()).isZero();
+
+        employee.setEmail("ram@gmail.com");
+        employeeService.updateEmployee(employee);
+
+        assertThat(filter.staleEntries()).isEqualTo(1);
+        assertThat(filter.mightContain("ram@gmail.com")).isTrue();
+    }
+
+    @DisplayName("JUnit test for saveEmployee method when the unique constraint rejects the email")
+    @Test
+    public void givenEmailFilterMissForExistingEmail_whenSaveEmployee_thenThrowsException() {
+        EmailBloomFilter filter = new EmailBloomFilter(consumer -> { }, 1000, 0.01, 0.03);
+        filter.rebuild();
+        employeeService.setEmailBloomFilter(filter);
+        given(employeeRepository.save(employee)).willThrow(new DataIntegrityViolationException("uk_email"));
+        given(employeeRepository.findByEmail(employee.getEmail())).willReturn(Optional.of(employee));
+
+        assertThrows(ResourceNotFoundException.class, () -> employeeService.saveEmployee(employee));
+        assertThat(filter.missedDuplicates()).isEqualTo(1);
+        filter.close();
+    }
+}
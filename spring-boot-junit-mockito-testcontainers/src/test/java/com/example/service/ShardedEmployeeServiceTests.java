@@ -0,0 +1,121 @@
+package com.example.service;
+
+import com.example.entity.Employee;
+import com.example.exception.ResourceNotFoundException;
+import com.example.repository.EmployeeShardRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.EmptyResultDataAccessException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ShardedEmployeeServiceTests {
+
+    private static final int SHARDS = 3;
+
+    private final List<EmployeeShardRepository> shards = new ArrayList<>();
+
+    private ShardedEmployeeService employeeService;
+
+    @BeforeEach
+    public void setup() {
+        String database = UUID.randomUUID().toString();
+        for (int i = 0; i < SHARDS; i++) {
+            EmployeeShardRepository shard = new EmployeeShardRepository(DataSourceBuilder.create()
+                    .url("jdbc:h2:mem:" + database + "-" + i + ";DB_CLOSE_DELAY=-1")
+                    .username("sa")
+                    .build());
+            shard.createTableIfMissing();
+            shards.add(shard);
+        }
+        employeeService = new ShardedEmployeeService(shards, 4, null);
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        employeeService.close();
+    }
+
+    @DisplayName("JUnit test for saveEmployee method placing employees by email hash")
+    @Test
+    public void givenEmployees_whenSaveEmployee_thenPlaceByEmailHashAndRouteById() {
+        for (int i = 0; i < 12; i++) {
+            Employee savedEmployee = employeeService.saveEmployee(employee("Mike", "Doe", "mike" + i + "@gmail.com"));
+
+            int shard = employeeService.shardForEmail(savedEmployee.getEmail());
+            assertThat(savedEmployee.getId() % SHARDS).isEqualTo(shard);
+            assertThat(shards.get(shard).findById(savedEmployee.getId() / SHARDS)).isPresent();
+            assertThat(employeeService.getEmployeeById(savedEmployee.getId()))
+                    .hasValueSatisfying(found -> assertThat(found.getEmail()).isEqualTo(savedEmployee.getEmail()));
+        }
+        assertThat(shards).allSatisfy(shard -> assertThat(shard.findAll()).isNotEmpty());
+    }
+
+    @DisplayName("JUnit test for getAllEmployees and getEmployeesByName merging all shards")
+    @Test
+    public void givenEmployeesOnAllShards_whenGetAllEmployees_thenMergeInIdOrder() {
+        for (int i = 0; i < 12; i++) {
+            employeeService.saveEmployee(employee("Mike", i % 2 == 0 ? "Doe" : "Smith", "mike" + i + "@gmail.com"));
+        }
+
+        List<Employee> employees = employeeService.getAllEmployees();
+        List<Employee> does = employeeService.getEmployeesByName("Mike", "Doe");
+
+        assertThat(employees).hasSize(12).isSortedAccordingTo((a, b) -> Long.compare(a.getId(), b.getId()));
+        assertThat(does).hasSize(6).allSatisfy(employee -> assertThat(employee.getLastName()).isEqualTo("Doe"));
+        assertThat(does).allSatisfy(employee -> assertThat(employees).contains(employee));
+    }
+
+    @DisplayName("JUnit test for saveEmployee method rejecting an email stored on another shard")
+    @Test
+    public void givenEmailMovedToAnotherShard_whenSaveEmployee_thenThrowsException() {
+        Employee savedEmployee = employeeService.saveEmployee(employee("Mike", "Doe", "mike@gmail.com"));
+        String email = "john@gmail.com";
+        for (int i = 0; employeeService.shardForEmail(email) == savedEmployee.getId() % SHARDS; i++) {
+            email = "john" + i + "@gmail.com";
+        }
+        savedEmployee.setEmail(email);
+        employeeService.updateEmployee(savedEmployee);
+
+        Employee duplicate = employee("John", "Cena", email);
+        assertThrows(ResourceNotFoundException.class, () -> employeeService.saveEmployee(duplicate));
+    }
+
+    @DisplayName("JUnit test for deleteEmployee method")
+    @Test
+    public void givenEmployeeId_whenDeleteEmployee_thenRemovedFromItsShard() {
+        Employee savedEmployee = employeeService.saveEmployee(employee("Mike", "Doe", "mike@gmail.com"));
+
+        employeeService.deleteEmployee(savedEmployee.getId());
+
+        assertThat(employeeService.getEmployeeById(savedEmployee.getId())).isEmpty();
+    }
+
+    @DisplayName("JUnit test for deleteEmployee method with an unknown id")
+    @Test
+    public void givenUnknownEmployeeId_whenDeleteEmployee_thenThrowsException() {
+        assertThrows(EmptyResultDataAccessException.class, () -> employeeService.deleteEmployee(42L));
+    }
+
+    @DisplayName("JUnit test for the unique email key of a shard")
+    @Test
+    public void givenExistingEmail_whenInsertIntoShard_thenRejected() {
+        Employee employee = employee("Mike", "Doe", "mike@gmail.com");
+        shards.get(0).insert(employee);
+
+        assertThrows(DuplicateKeyException.class, () -> shards.get(0).insert(employee));
+    }
+
+    private static Employee employee(String firstName, String lastName, String email) {
+        return Employee.builder().firstName(firstName).lastName(lastName).email(email).build();
+    }
+}
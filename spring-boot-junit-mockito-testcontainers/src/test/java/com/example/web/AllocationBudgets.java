@@ -0,0 +1,152 @@
+package com.example.web;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Bytes allocated per request, counted by the JVM's per-thread allocation counter, checked
+ * against the budgets in {@code allocation-budgets.properties}. A request may allocate up to
+ * {@code tolerance} more than its budget; beyond that the test fails.
+ * <p>
+ * Requests are measured one at a time on the calling thread, so everything the request does
+ * must run on that thread. Each request is first repeated until the JIT has compiled the hot
+ * path, then measured in several rounds; the cheapest round counts, which keeps one-off costs
+ * such as a deoptimization or a resized map out of the result.
+ * <p>
+ * Allocation sizes depend on the JDK and the collector, so the budgets are only checked on the
+ * {@code jdk} feature release they were measured on, elsewhere the tests are skipped. The
+ * {@code gc} they were measured with names the HotSpot {@code Use<gc>GC} flag; the surefire
+ * {@code argLine} selects it, so running under any other collector fails.
+ * <p>
+ * Run with {@code -Dallocation.budgets.print=true} to print every measurement as a budget line,
+ * along with the runtime's {@code jdk} and {@code gc}; this also measures on other runtimes.
+ */
+public class AllocationBudgets {
+
+    private static final String RESOURCE = "/allocation-budgets.properties";
+    private static final int WARMUP_ITERATIONS = 3000;
+    private static final int ROUNDS = 5;
+    private static final int ITERATIONS = 200;
+    private static final List<String> COLLECTORS = List.of("G1", "Parallel", "Serial", "Z", "Shenandoah", "Epsilon");
+
+    private final Properties budgets = new Properties();
+    private final double tolerance;
+    private final boolean print = Boolean.getBoolean("allocation.budgets.print");
+
+    public AllocationBudgets() {
+        try (InputStream in = AllocationBudgets.class.getResourceAsStream(RESOURCE)) {
+            if (in == null) {
+                throw new IllegalStateException(RESOURCE + " not found on the test classpath");
+            }
+            budgets.load(in);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        this.tolerance = Double.parseDouble(budgets.getProperty("tolerance", "0.2"));
+    }
+
+    public interface Request {
+        void perform() throws Exception;
+    }
+
+    /**
+     * Measures {@code request}, calling {@code setup} unmeasured before every repetition, and fails
+     * when the bytes per request exceed the budget of {@code endpoint} plus the tolerance.
+     */
+    public void assertWithinBudget(String endpoint, Request setup, Request request) throws Exception {
+        if (print) {
+            System.out.println("jdk=" + Runtime.version().feature());
+            System.out.println("gc=" + COLLECTORS.stream().filter(AllocationBudgets::usesCollector).findFirst().orElse("?"));
+        } else {
+            assumeMeasuredRuntime();
+        }
+        long measured = measure(setup, request);
+        String budgetValue = budgets.getProperty(endpoint);
+        if (print) {
+            System.out.println(endpoint + "=" + measured);
+        }
+        if (budgetValue == null) {
+            fail("No allocation budget for " + endpoint + ", add " + endpoint + "=" + measured + " to " + RESOURCE);
+        }
+        long budget = Long.parseLong(budgetValue.trim());
+        long limit = Math.round(budget * (1 + tolerance));
+        assertThat(measured)
+                .as("%s allocates %d bytes per request, budget %d + %.0f%%; if the increase is intended, set %s=%d in %s",
+                        endpoint, measured, budget, tolerance * 100, endpoint, measured, RESOURCE)
+                .isLessThanOrEqualTo(limit);
+        if (measured < budget * (1 - tolerance)) {
+            System.out.printf("%s allocates %d bytes per request, well under its budget of %d; consider lowering it%n",
+                    endpoint, measured, budget);
+        }
+    }
+
+    private void assumeMeasuredRuntime() {
+        String jdk = budgets.getProperty("jdk");
+        String gc = budgets.getProperty("gc");
+        if (jdk == null || gc == null) {
+            fail("Add the jdk and gc the budgets were measured with to " + RESOURCE);
+        }
+        assumeTrue(Integer.parseInt(jdk.trim()) == Runtime.version().feature(),
+                () -> "budgets were measured on JDK " + jdk + ", running on " + Runtime.version());
+        if (!usesCollector(gc.trim())) {
+            fail("Budgets were measured with the " + gc + " collector, running with "
+                    + ManagementFactory.getGarbageCollectorMXBeans().stream()
+                    .map(GarbageCollectorMXBean::getName).collect(Collectors.joining(", "))
+                    + "; run with -XX:+Use" + gc.trim() + "GC as the surefire argLine does");
+        }
+    }
+
+    private static boolean usesCollector(String gc) {
+        HotSpotDiagnosticMXBean hotSpot = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+        try {
+            return hotSpot != null && Boolean.parseBoolean(hotSpot.getVMOption("Use" + gc + "GC").getValue());
+        } catch (IllegalArgumentException ex) {
+            // no such collector on this JVM
+            return false;
+        }
+    }
+
+    private static long measure(Request setup, Request request) throws Exception {
+        com.sun.management.ThreadMXBean threads = threads();
+        long threadId = Thread.currentThread().getId();
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            setup.perform();
+            request.perform();
+        }
+        long cheapest = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long allocated = 0;
+            for (int i = 0; i < ITERATIONS; i++) {
+                setup.perform();
+                long before = threads.getThreadAllocatedBytes(threadId);
+                request.perform();
+                allocated += threads.getThreadAllocatedBytes(threadId) - before;
+            }
+            cheapest = Math.min(cheapest, allocated / ITERATIONS);
+        }
+        return cheapest;
+    }
+
+    private static com.sun.management.ThreadMXBean threads() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        assumeTrue(threads instanceof com.sun.management.ThreadMXBean,
+                "per-thread allocation counters are not available on this JVM");
+        com.sun.management.ThreadMXBean allocationCounters = (com.sun.management.ThreadMXBean) threads;
+        assumeTrue(allocationCounters.isThreadAllocatedMemorySupported(),
+                "per-thread allocation counters are not supported on this JVM");
+        allocationCounters.setThreadAllocatedMemoryEnabled(true);
+        return allocationCounters;
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.web;
+
+import com.example.exception.BulkheadFullException;
+import com.example.exception.BulkheadTimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BulkheadTests {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch interrupted = new CountDownLatch(1);
+
+    private Bulkhead bulkhead;
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        bulkhead.shutdown();
+    }
+
+    @Test
+    public void givenFullQueue_whenSubmit_thenRejectImmediately() {
+        bulkhead = new Bulkhead("test", 1, 1, Duration.ofSeconds(5));
+        bulkhead.submit(this::block);
+        bulkhead.submit(this::block);
+
+        CompletableFuture<String> rejected = bulkhead.submit(() -> "never");
+
+        assertThat(rejected).isCompletedExceptionally();
+        ExecutionException ex = assertThrows(ExecutionException.class, rejected::get);
+        assertThat(ex.getCause()).isInstanceOf(BulkheadFullException.class);
+    }
+
+    @Test
+    public void givenSlowWork_whenTimeoutPasses_thenInterruptAndFailWithTimeout() throws Exception {
+        bulkhead = new Bulkhead("test", 1, 1, Duration.ofMillis(100));
+
+        CompletableFuture<String> slow = bulkhead.submit(this::block);
+
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> slow.get(5, TimeUnit.SECONDS));
+        assertThat(ex.getCause()).isInstanceOf(BulkheadTimeoutException.class);
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    public void givenQueuedWork_whenTimeoutPasses_thenRejectWithoutRunning() throws Exception {
+        bulkhead = new Bulkhead("test", 1, 2, Duration.ofMillis(100));
+        AtomicBoolean ran = new AtomicBoolean();
+        bulkhead.submit(this::block);
+
+        CompletableFuture<String> queued = bulkhead.submit(() -> {
+            ran.set(true);
+            return "never";
+        });
+
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> queued.get(5, TimeUnit.SECONDS));
+        assertThat(ex.getCause()).isInstanceOf(BulkheadFullException.class);
+        release.countDown();
+        // runs after the abandoned work has been taken off the queue
+        assertThat(bulkhead.submit(() -> "after").get(5, TimeUnit.SECONDS)).isEqualTo("after");
+        assertThat(ran).isFalse();
+    }
+
+    @Test
+    public void givenBoundTiming_whenSubmit_thenRecordOnWorkerThread() throws Exception {
+        bulkhead = new Bulkhead("test", 1, 1, Duration.ofSeconds(5));
+        ServerTiming timing = new ServerTiming();
+        ServerTiming.bind(timing);
+        try {
+            bulkhead.submit(() -> ServerTiming.time(ServerTiming.DB, () -> "done")).get(5, TimeUnit.SECONDS);
+        } finally {
+            ServerTiming.unbind();
+        }
+
+        assertThat(timing.toHeaderValue()).startsWith("db;dur=");
+    }
+
+    private String block() {
+        try {
+            release.await();
+        } catch (InterruptedException ex) {
+            interrupted.countDown();
+            Thread.currentThread().interrupt();
+        }
+        return "done";
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.web;
+
+import com.example.entity.Employee;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ServerTimingFilterTests {
+
+    private final ServerTimingFilter filter = new ServerTimingFilter();
+
+    private final ServerTimingJackson2HttpMessageConverter converter =
+            new ServerTimingJackson2HttpMessageConverter(new ObjectMapper());
+
+    @DisplayName("JUnit test for Server-Timing header on a JSON body")
+    @Test
+    public void givenJsonBody_whenFilter_thenHeaderContainsAllPhases() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        HttpServlet servlet = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                Employee employee = ServerTiming.time(ServerTiming.DB, () -> Employee.builder()
+                        .id(1L).firstName("Mike").lastName("Doe").email("mike.doe@gmail.com").build());
+                ServerTiming.time(ServerTiming.MAP, () -> employee.setFirstName("Jane"));
+                converter.write(employee, MediaType.APPLICATION_JSON, new ServletServerHttpResponse(resp));
+            }
+        };
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/employees/1"), response, new MockFilterChain(servlet));
+
+        assertThat(response.getHeader(ServerTiming.HEADER))
+                .matches("db;dur=\\d+\\.\\d, map;dur=\\d+\\.\\d, ser;dur=\\d+\\.\\d");
+        assertThat(response.getContentAsString()).contains("\"firstName\":\"Jane\"");
+        assertThat(ServerTiming.current()).isNull();
+    }
+
+    @DisplayName("JUnit test for Server-Timing header without a body")
+    @Test
+    public void givenNoBody_whenFilter_thenHeaderWrittenByFilter() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        HttpServlet servlet = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                ServerTiming.time(ServerTiming.DB, () -> { });
+                resp.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            }
+        };
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/employees/1"), response, new MockFilterChain(servlet));
+
+        assertThat(response.getHeader(ServerTiming.HEADER)).matches("db;dur=\\d+\\.\\d");
+    }
+
+    @DisplayName("JUnit test for Server-Timing header on a JSON body larger than the response buffer")
+    @Test
+    public void givenLargeJsonBody_whenFilter_thenBodyStreamedAndHeaderWithoutSer() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        List<Employee> employees = new ArrayList<>();
+        for (long id = 1; id <= 1000; id++) {
+            employees.add(Employee.builder().id(id).firstName("Mike").lastName("Doe").email("mike" + id + "@gmail.com").build());
+        }
+        HttpServlet servlet = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                List<Employee> loaded = ServerTiming.time(ServerTiming.DB, () -> employees);
+                converter.write(loaded, MediaType.APPLICATION_JSON, new ServletServerHttpResponse(resp));
+            }
+        };
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/employees"), response, new MockFilterChain(servlet));
+
+        // committed while Jackson was writing, after the header was set with the phases before it
+        assertThat(response.getContentAsByteArray().length).isGreaterThan(response.getBufferSize());
+        assertThat(response.getHeader(ServerTiming.HEADER)).matches("db;dur=\\d+\\.\\d");
+        assertThat(response.getContentAsString()).endsWith("\"email\":\"mike1000@gmail.com\"}]");
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.config;
+
+import com.example.web.BinaryMediaTypes;
+import com.example.web.CborListEncoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.reactive.accept.RequestedContentTypeResolverBuilder;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+/**
+ * Lets clients ask for CBOR or Smile instead of JSON, for single employees, lists and (Smile
+ * only) the streamed export. JSON stays the default when {@code Accept} is missing or a
+ * wildcard. Both mappers come from Spring Boot's
+ * {@link Jackson2ObjectMapperBuilder} and share the {@code spring.jackson.*} settings.
+ */
+@Configuration
+public class BinaryCodecsConfig implements WebFluxConfigurer {
+
+    private final ObjectMapper cborMapper;
+    private final ObjectMapper smileMapper;
+
+    public BinaryCodecsConfig(Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        this.cborMapper = objectMapperBuilder.factory(new CBORFactory()).build();
+        this.smileMapper = objectMapperBuilder.factory(new SmileFactory()).build();
+    }
+
+    @Override
+    public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+        // without explicit mime types the Jackson codecs would claim application/json
+        configurer.defaultCodecs().jackson2SmileEncoder(new Jackson2SmileEncoder(smileMapper,
+                BinaryMediaTypes.APPLICATION_SMILE, BinaryMediaTypes.APPLICATION_STREAM_SMILE));
+        configurer.defaultCodecs().jackson2SmileDecoder(new Jackson2SmileDecoder(smileMapper,
+                BinaryMediaTypes.APPLICATION_SMILE, BinaryMediaTypes.APPLICATION_STREAM_SMILE));
+        configurer.customCodecs().register(new CborListEncoder(cborMapper));
+        configurer.customCodecs().register(new Jackson2CborDecoder(cborMapper, MediaType.APPLICATION_CBOR));
+    }
+
+    @Override
+    public void configureContentTypeResolver(RequestedContentTypeResolverBuilder builder) {
+        // custom codecs are listed before the default JSON codec, so a missing or wildcard Accept
+        // would otherwise select CBOR; the wildcard keeps endpoints that cannot produce JSON reachable
+        builder.headerResolver();
+        builder.fixedResolver(MediaType.APPLICATION_JSON, MediaType.ALL);
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.config;
+
+import com.example.web.AdaptiveConcurrencyLimit;
+import com.example.web.AdaptiveConcurrencyLimitFilter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+@Configuration
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+@ConditionalOnProperty(prefix = "app.concurrency-limit", name = "enabled", matchIfMissing = true)
+public class ConcurrencyLimitConfig {
+
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public AdaptiveConcurrencyLimitFilter adaptiveConcurrencyLimitFilter(ConcurrencyLimitProperties properties,
+                                                                         ObjectProvider<MeterRegistry> meterRegistry) {
+        AdaptiveConcurrencyLimitFilter filter = new AdaptiveConcurrencyLimitFilter(properties);
+        meterRegistry.ifAvailable(registry -> filter.getLimits().forEach(limit -> bindMetrics(limit, registry)));
+        return filter;
+    }
+
+    private static void bindMetrics(AdaptiveConcurrencyLimit limit, MeterRegistry registry) {
+        Gauge.builder("app.concurrency.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                .tag("route", limit.getName())
+                .register(registry);
+        Gauge.builder("app.concurrency.in.flight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                .tag("route", limit.getName())
+                .register(registry);
+        FunctionCounter.builder("app.concurrency.rejected", limit, AdaptiveConcurrencyLimit::getRejected)
+                .tag("route", limit.getName())
+                .register(registry);
+    }
+}
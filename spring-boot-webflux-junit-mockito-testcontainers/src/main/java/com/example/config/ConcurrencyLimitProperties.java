@@ -0,0 +1,59 @@
+package com.example.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Budget for {@code GET} requests on a single employee under {@code /api/employees}.
+     */
+    private Route read = new Route(Duration.ofMillis(50));
+
+    /**
+     * Budget for {@code GET} requests that scan employees: the list, search and stats.
+     */
+    private Route scan = new Route(Duration.ofSeconds(2));
+
+    /**
+     * Budget for the streamed export. Its target latency applies to the first element, the
+     * export itself runs for as long as the collection takes.
+     */
+    private Route export = new Route(Duration.ofSeconds(2));
+
+    /**
+     * Budget for every other method on {@code /api/employees}.
+     */
+    private Route write = new Route(Duration.ofMillis(200));
+
+    @Data
+    public static class Route {
+
+        private int initialLimit = 20;
+        private int minLimit = 2;
+        private int maxLimit = 1000;
+
+        /**
+         * Requests slower than this are treated as an overload signal and shrink the limit.
+         */
+        private Duration targetLatency;
+
+        /**
+         * Multiplicative decrease applied on an overload signal.
+         */
+        private double backoffRatio = 0.9;
+
+        public Route() {
+        }
+
+        public Route(Duration targetLatency) {
+            this.targetLatency = targetLatency;
+        }
+    }
+}
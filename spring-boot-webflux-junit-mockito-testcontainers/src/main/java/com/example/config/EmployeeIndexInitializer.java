@@ -0,0 +1,141 @@
+package com.example.config;
+
+import com.example.entity.Employee;
+import com.example.repository.EmployeeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mapping.context.MappingContext;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Creates the indexes declared on {@link Employee} before the application reports ready and
+ * asks Mongo for the query plan of every derived {@link EmployeeRepository} finder, logging a
+ * warning for any finder that would fall back to a collection scan.
+ * <p>
+ * Index creation uses {@code createIndexes}, which is a no-op for indexes that already exist,
+ * so it is safe to run on every start.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class EmployeeIndexInitializer implements ApplicationRunner {
+
+    private static final String PLACEHOLDER = "__plan_check__";
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final boolean planCheckEnabled;
+    private final Duration timeout;
+
+    public EmployeeIndexInitializer(ReactiveMongoTemplate mongoTemplate,
+                                    @Value("${app.mongo.index-check.enabled:true}") boolean planCheckEnabled,
+                                    @Value("${app.mongo.index-init-timeout:30s}") Duration timeout) {
+        this.mongoTemplate = mongoTemplate;
+        this.planCheckEnabled = planCheckEnabled;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Mono<Void> initialization = ensureIndexes()
+                .then(planCheckEnabled ? checkRepositoryQueryPlans() : Mono.empty());
+        try {
+            initialization.block(timeout);
+        } catch (RuntimeException ex) {
+            log.warn("Could not initialize indexes for collection '{}'", collectionName(), ex);
+        }
+    }
+
+    public Mono<Void> ensureIndexes() {
+        MappingContext<? extends MongoPersistentEntity<?>, MongoPersistentProperty> mappingContext =
+                mongoTemplate.getConverter().getMappingContext();
+        IndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+
+        return Flux.fromIterable(resolver.resolveIndexFor(Employee.class))
+                .concatMap(index -> mongoTemplate.indexOps(Employee.class).ensureIndex(index))
+                .doOnNext(name -> log.info("Ensured index '{}' on collection '{}'", name, collectionName()))
+                .then();
+    }
+
+    public Mono<Void> checkRepositoryQueryPlans() {
+        return Flux.fromArray(EmployeeRepository.class.getDeclaredMethods())
+                .filter(method -> !method.isAnnotationPresent(Query.class))
+                .concatMap(this::checkQueryPlan)
+                .then();
+    }
+
+    private Mono<Void> checkQueryPlan(Method method) {
+        Document filter = sampleFilter(method);
+        Document explain = new Document("explain", new Document("find", collectionName()).append("filter", filter))
+                .append("verbosity", "queryPlanner");
+
+        return mongoTemplate.executeCommand(explain)
+                .doOnNext(result -> {
+                    Object queryPlanner = result.get("queryPlanner");
+                    if (containsCollectionScan(queryPlanner)) {
+                        log.warn("Repository query {}.{} resolves to a COLLSCAN for filter {}",
+                                EmployeeRepository.class.getSimpleName(), method.getName(), filter.toJson());
+                    }
+                })
+                .then();
+    }
+
+    private Document sampleFilter(Method method) {
+        PartTree tree = new PartTree(method.getName(), Employee.class);
+        List<Document> branches = new ArrayList<>();
+        for (PartTree.OrPart orPart : tree) {
+            Document branch = new Document();
+            for (Part part : orPart) {
+                branch.append(part.getProperty().toDotPath(), PLACEHOLDER);
+            }
+            branches.add(branch);
+        }
+        Document filter = branches.size() == 1 ? branches.get(0) : new Document("$or", branches);
+
+        MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext()
+                .getRequiredPersistentEntity(Employee.class);
+        return new QueryMapper(mongoTemplate.getConverter()).getMappedObject(filter, entity);
+    }
+
+    private static boolean containsCollectionScan(Object node) {
+        if (node instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) node;
+            if ("COLLSCAN".equals(map.get("stage"))) {
+                return true;
+            }
+            // rejectedPlans may legitimately contain a COLLSCAN alternative
+            return map.entrySet().stream()
+                    .filter(entry -> !"rejectedPlans".equals(entry.getKey()))
+                    .anyMatch(entry -> containsCollectionScan(entry.getValue()));
+        }
+        if (node instanceof List) {
+            return ((List<?>) node).stream().anyMatch(EmployeeIndexInitializer::containsCollectionScan);
+        }
+        return false;
+    }
+
+    private String collectionName() {
+        return mongoTemplate.getCollectionName(Employee.class);
+    }
+}
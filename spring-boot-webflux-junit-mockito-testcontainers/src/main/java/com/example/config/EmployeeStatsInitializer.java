@@ -0,0 +1,47 @@
+package com.example.config;
+
+import com.example.service.EmployeeStatsService;
+import com.example.service.EmployeeStatsServiceImpl;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Rebuilds the employee stats summary from the employee collection before the application
+ * reports ready, so counts that drifted while the application was down are corrected.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class EmployeeStatsInitializer implements ApplicationRunner {
+
+    private final EmployeeStatsService employeeStatsService;
+    private final boolean rebuildOnStartup;
+    private final Duration timeout;
+
+    public EmployeeStatsInitializer(EmployeeStatsService employeeStatsService,
+                                    @Value("${app.stats.rebuild-on-startup:true}") boolean rebuildOnStartup,
+                                    @Value("${app.stats.rebuild-timeout:30s}") Duration timeout) {
+        this.employeeStatsService = employeeStatsService;
+        this.rebuildOnStartup = rebuildOnStartup;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!rebuildOnStartup) {
+            return;
+        }
+        try {
+            employeeStatsService.rebuild().block(timeout);
+        } catch (RuntimeException ex) {
+            log.warn("Could not rebuild collection '{}'", EmployeeStatsServiceImpl.COLLECTION, ex);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.config;
+
+import com.example.entity.Employee;
+import com.mongodb.client.result.UpdateResult;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Sets {@code version} to 0 on employees written before the field existed. Spring Data treats
+ * a versioned entity without a version as new, so updating such a document would try to insert
+ * it again. Matches nothing once every document has a version, so it is safe to run on every start.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class EmployeeVersionInitializer implements ApplicationRunner {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final Duration timeout;
+
+    public EmployeeVersionInitializer(ReactiveMongoTemplate mongoTemplate,
+                                      @Value("${app.mongo.version-init-timeout:30s}") Duration timeout) {
+        this.mongoTemplate = mongoTemplate;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            Long modified = mongoTemplate
+                    .updateMulti(Query.query(Criteria.where("version").exists(false)),
+                            Update.update("version", 0L), Employee.class)
+                    .map(UpdateResult::getModifiedCount)
+                    .block(timeout);
+            if (modified != null && modified > 0) {
+                log.info("Initialized version on {} employees", modified);
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Could not initialize versions in collection '{}'",
+                    mongoTemplate.getCollectionName(Employee.class), ex);
+        }
+    }
+}
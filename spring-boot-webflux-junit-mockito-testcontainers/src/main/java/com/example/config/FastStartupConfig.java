@@ -0,0 +1,40 @@
+package com.example.config;
+
+import com.mongodb.reactivestreams.client.MongoClient;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.server.WebFilter;
+
+/**
+ * Settings for the {@code fast-startup} profile, which turns on lazy initialization in
+ * {@code application-fast-startup.properties}.
+ * <p>
+ * The Mongo client and the web filters stay eager so connection setup and filter wiring never
+ * land on the first request; everything else off the request path is created on first use.
+ */
+@Configuration(proxyBeanMethods = false)
+@Profile("fast-startup")
+public class FastStartupConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerRequestPath() {
+        return LazyInitializationExcludeFilter.forBeanTypes(MongoClient.class, WebFilter.class);
+    }
+
+    /**
+     * Used by the AppCDS training run of the {@code fast-startup} Maven profile: the JVM
+     * writes its loaded class list on exit, so exiting once ready captures exactly the
+     * classes needed to start.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "app.startup", name = "exit-after-ready")
+    ApplicationListener<ApplicationReadyEvent> exitAfterReady() {
+        return event -> System.exit(SpringApplication.exit(event.getApplicationContext()));
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.config;
+
+import com.example.web.IdempotencyStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+
+@Configuration
+@EnableConfigurationProperties(IdempotencyProperties.class)
+@ConditionalOnProperty(prefix = "app.idempotency", name = "enabled", matchIfMissing = true)
+public class IdempotencyConfig {
+
+    @Bean
+    public IdempotencyStore idempotencyStore(IdempotencyProperties properties, ObjectMapper objectMapper,
+                                             ObjectProvider<ReactiveMongoTemplate> mongoTemplate,
+                                             ObjectProvider<MeterRegistry> meterRegistry) {
+        IdempotencyStore store = new IdempotencyStore(properties.getMaxEntries(), properties.getTtl(), objectMapper,
+                properties.isMongoEnabled() ? mongoTemplate.getObject() : null);
+        meterRegistry.ifAvailable(registry -> {
+            Gauge.builder("app.idempotency.entries", store, IdempotencyStore::getSize)
+                    .register(registry);
+            FunctionCounter.builder("app.idempotency.replayed", store, IdempotencyStore::getReplayed)
+                    .register(registry);
+        });
+        return store;
+    }
+}
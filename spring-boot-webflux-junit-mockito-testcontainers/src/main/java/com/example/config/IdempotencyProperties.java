@@ -0,0 +1,28 @@
+package com.example.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.idempotency")
+public class IdempotencyProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Keys kept in memory; the least recently used ones are dropped first.
+     */
+    private int maxEntries = 10_000;
+
+    /**
+     * How long a response is replayed for its key.
+     */
+    private Duration ttl = Duration.ofHours(24);
+
+    /**
+     * Also keep responses in a Mongo collection with a TTL index, shared across instances and restarts.
+     */
+    private boolean mongoEnabled = false;
+}
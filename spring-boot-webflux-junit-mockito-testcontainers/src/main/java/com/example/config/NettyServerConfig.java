@@ -0,0 +1,59 @@
+package com.example.config;
+
+import com.mongodb.connection.netty.NettyStreamFactoryFactory;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.netty.NettyServerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.resources.LoopResources;
+
+@Configuration
+@EnableConfigurationProperties(NettyServerProperties.class)
+public class NettyServerConfig {
+
+    @Bean(destroyMethod = "dispose")
+    @ConditionalOnProperty(prefix = "app.netty", name = "event-loop-threads")
+    public LoopResources serverLoopResources(NettyServerProperties properties) {
+        return LoopResources.create("employee-http", properties.getSelectorThreads(),
+                properties.getEventLoopThreads(), true);
+    }
+
+    @Bean
+    public NettyServerCustomizer employeeNettyServerCustomizer(NettyServerProperties properties,
+                                                              ObjectProvider<LoopResources> serverLoopResources) {
+        return httpServer -> {
+            LoopResources loopResources = serverLoopResources.getIfAvailable();
+            if (loopResources != null) {
+                httpServer = httpServer.runOn(loopResources);
+            }
+            if (properties.getHttp2MaxConcurrentStreams() != null) {
+                httpServer = httpServer.http2Settings(settings ->
+                        settings.maxConcurrentStreams(properties.getHttp2MaxConcurrentStreams()));
+            }
+            return httpServer
+                    .childOption(ChannelOption.SO_KEEPALIVE, properties.isTcpKeepAlive())
+                    .childOption(ChannelOption.TCP_NODELAY, true);
+        };
+    }
+
+    @Bean(destroyMethod = "shutdownGracefully")
+    @ConditionalOnProperty(prefix = "app.netty", name = "mongo-event-loop-threads")
+    public EventLoopGroup mongoEventLoopGroup(NettyServerProperties properties) {
+        return new NioEventLoopGroup(properties.getMongoEventLoopThreads(), new DefaultThreadFactory("mongo-io", true));
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.netty", name = "mongo-event-loop-threads")
+    public MongoClientSettingsBuilderCustomizer mongoTransportCustomizer(EventLoopGroup mongoEventLoopGroup) {
+        return settings -> settings.streamFactoryFactory(NettyStreamFactoryFactory.builder()
+                .eventLoopGroup(mongoEventLoopGroup)
+                .build());
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Reactor Netty settings that Spring Boot does not bind itself. Idle timeout, keep-alive
+ * request limits and h2c are configured through the standard {@code server.netty.*} and
+ * {@code server.http2.enabled} properties.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.netty")
+public class NettyServerProperties {
+
+    /**
+     * Event-loop (worker) threads dedicated to the HTTP server. When unset the server shares
+     * Reactor Netty's global loop resources with WebClient.
+     */
+    private Integer eventLoopThreads;
+
+    /**
+     * Threads accepting new connections when {@link #eventLoopThreads} is set.
+     */
+    private int selectorThreads = 1;
+
+    /**
+     * Enables SO_KEEPALIVE on accepted connections so dead peers are detected by the OS.
+     */
+    private boolean tcpKeepAlive = true;
+
+    /**
+     * Maximum concurrent HTTP/2 streams a single client connection may open.
+     */
+    private Long http2MaxConcurrentStreams;
+
+    /**
+     * Event-loop threads of the Mongo driver's Netty transport. When unset the driver uses
+     * its default asynchronous socket channels.
+     */
+    private Integer mongoEventLoopThreads;
+}
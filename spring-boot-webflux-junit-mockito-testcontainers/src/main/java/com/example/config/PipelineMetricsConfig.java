@@ -0,0 +1,23 @@
+package com.example.config;
+
+import com.example.service.PipelineMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Times the employee service pipelines as {@code employee.service.*} in the application's
+ * {@link MeterRegistry}, or leaves them untimed when there is none.
+ */
+@Configuration
+public class PipelineMetricsConfig {
+
+    @Bean
+    public PipelineMetrics employeePipelineMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        return registry == null
+                ? PipelineMetrics.disabled("employee.service")
+                : new PipelineMetrics("employee.service", registry);
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.config;
+
+import com.example.web.ServerTimingFilter;
+import com.example.web.ServerTimingJackson2JsonEncoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+/**
+ * Adds a {@code Server-Timing} header with db/map/ser phase durations to every response.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.server-timing", name = "enabled")
+public class ServerTimingConfig implements WebFluxConfigurer {
+
+    private final ObjectMapper objectMapper;
+
+    public ServerTimingConfig(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    public ServerTimingFilter serverTimingFilter() {
+        return new ServerTimingFilter();
+    }
+
+    @Override
+    public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+        configurer.defaultCodecs().jackson2JsonEncoder(new ServerTimingJackson2JsonEncoder(objectMapper));
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.config;
+
+import com.example.dto.EmployeeDto;
+import com.example.entity.Employee;
+import com.example.mapper.EmployeeMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs after {@link EmployeeIndexInitializer} and before Spring Boot publishes
+ * {@code ReadinessState.ACCEPTING_TRAFFIC}: opens Mongo pool connections up front and sends
+ * synthetic requests through Netty, the controller, the service, the mapper and the Jackson
+ * codecs so the first real requests do not pay for lazy connection setup, class loading and
+ * interpretation.
+ * <p>
+ * The synthetic requests only read an id that cannot exist, so warm-up never changes data.
+ * They carry {@link #WARMUP_HEADER} so the adaptive concurrency limit does not learn from
+ * their cold-start latencies.
+ */
+@Slf4j
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+@EnableConfigurationProperties(WarmupProperties.class)
+@ConditionalOnProperty(prefix = "app.warmup", name = "enabled", matchIfMissing = true)
+public class WarmupRunner implements ApplicationRunner {
+
+    /**
+     * Marks synthetic warm-up requests.
+     */
+    public static final String WARMUP_HEADER = "X-Warmup";
+
+    private static final String MISSING_ID = "000000000000000000000000";
+    private static final int REQUEST_CONCURRENCY = 4;
+
+    private final WarmupProperties properties;
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final ApplicationContext applicationContext;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public WarmupRunner(WarmupProperties properties, ReactiveMongoTemplate mongoTemplate, ObjectMapper objectMapper,
+                        ApplicationContext applicationContext, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.properties = properties;
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+        this.applicationContext = applicationContext;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        try {
+            openConnections()
+                    .then(warmRequestPath())
+                    .block(properties.getTimeout());
+        } catch (RuntimeException ex) {
+            log.warn("Warm-up did not complete, continuing startup", ex);
+        }
+        long elapsed = System.nanoTime() - start;
+        meterRegistry.ifAvailable(registry -> Timer.builder("app.warmup.duration")
+                .register(registry)
+                .record(elapsed, TimeUnit.NANOSECONDS));
+        log.info("Warm-up finished in {} ms ({} connections, {} requests)",
+                TimeUnit.NANOSECONDS.toMillis(elapsed), properties.getConnections(), properties.getIterations());
+    }
+
+    private Mono<Void> openConnections() {
+        // concurrent commands each check out their own connection, sequential ones would reuse one
+        int connections = properties.getConnections();
+        return Flux.range(0, connections)
+                .flatMap(i -> mongoTemplate.executeCommand(new Document("ping", 1)), Math.max(connections, 1))
+                .then();
+    }
+
+    private Mono<Void> warmRequestPath() {
+        if (!(applicationContext instanceof WebServerApplicationContext)) {
+            // mock web environment in tests: there is no server to send requests to
+            return Mono.empty();
+        }
+        int port = ((WebServerApplicationContext) applicationContext).getWebServer().getPort();
+        WebClient client = WebClient.create("http://localhost:" + port);
+        Employee sample = new Employee(MISSING_ID, "Warm", "Up", "warm.up@example.com", null);
+
+        return Flux.range(0, properties.getIterations())
+                .flatMap(i -> client.get()
+                        .uri("/api/employees/{id}", MISSING_ID)
+                        .header(WARMUP_HEADER, "true")
+                        .exchangeToMono(response -> response.releaseBody())
+                        .then(Mono.fromCallable(() -> roundTrip(sample))), REQUEST_CONCURRENCY)
+                .then();
+    }
+
+    private EmployeeDto roundTrip(Employee employee) throws Exception {
+        byte[] json = objectMapper.writeValueAsBytes(EmployeeMapper.mapToEmployeeDto(employee));
+        return objectMapper.readValue(json, EmployeeDto.class);
+    }
+}
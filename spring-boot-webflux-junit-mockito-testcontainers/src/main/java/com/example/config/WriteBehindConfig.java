@@ -0,0 +1,47 @@
+package com.example.config;
+
+import com.example.service.EmployeeStatsService;
+import com.example.writebehind.EmployeeJournal;
+import com.example.writebehind.EmployeeWriteBehind;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+
+import java.io.IOException;
+
+@Configuration
+@EnableConfigurationProperties(WriteBehindProperties.class)
+@ConditionalOnProperty(prefix = "app.write-behind", name = "enabled")
+public class WriteBehindConfig {
+
+    @Bean
+    public EmployeeWriteBehind employeeWriteBehind(WriteBehindProperties properties, ReactiveMongoTemplate mongoTemplate,
+                                                   EmployeeStatsService employeeStatsService,
+                                                   ObjectProvider<MeterRegistry> meterRegistry) throws IOException {
+        EmployeeJournal journal = new EmployeeJournal(properties.getJournalPath(),
+                Math.toIntExact(properties.getJournalSize().toBytes()), properties.isFsync());
+        EmployeeWriteBehind writeBehind = new EmployeeWriteBehind(journal, mongoTemplate, employeeStatsService,
+                properties.getBatchSize(), properties.getWriteTimeout());
+        writeBehind.start(properties.getFlushInterval());
+        meterRegistry.ifAvailable(registry -> bindMetrics(writeBehind, registry));
+        return writeBehind;
+    }
+
+    private static void bindMetrics(EmployeeWriteBehind writeBehind, MeterRegistry registry) {
+        Gauge.builder("app.write.behind.pending", writeBehind, EmployeeWriteBehind::getPending)
+                .register(registry);
+        Gauge.builder("app.write.behind.journal.used", writeBehind, EmployeeWriteBehind::getJournalUsedBytes)
+                .baseUnit("bytes")
+                .register(registry);
+        FunctionCounter.builder("app.write.behind.committed", writeBehind, EmployeeWriteBehind::getCommitted)
+                .register(registry);
+        FunctionCounter.builder("app.write.behind.failed", writeBehind, EmployeeWriteBehind::getFailed)
+                .register(registry);
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.write-behind")
+public class WriteBehindProperties {
+
+    /**
+     * Acknowledge creates with 202 once journaled instead of waiting for Mongo.
+     */
+    private boolean enabled = false;
+
+    private Path journalPath = Paths.get("data", "employee-write-behind.journal");
+
+    /**
+     * Size of the mapped journal file; creates are refused with 503 while it is full.
+     */
+    private DataSize journalSize = DataSize.ofMegabytes(64);
+
+    /**
+     * Force every append to disk, which also survives an OS crash but costs a sync per create.
+     */
+    private boolean fsync = false;
+
+    private int batchSize = 1000;
+
+    private Duration flushInterval = Duration.ofMillis(20);
+
+    private Duration writeTimeout = Duration.ofSeconds(30);
+}
@@ -1,53 +1,210 @@
 package com.example.controller;
 
+import com.example.dto.EmployeeDeleteRequest;
+import com.example.dto.EmployeeDeleteResult;
 import com.example.dto.EmployeeDto;
+import com.example.dto.EmployeeView;
 import com.example.service.EmployeeService;
+import com.example.web.BinaryMediaTypes;
+import com.example.web.ETags;
+import com.example.web.IdempotencyStore;
+import com.example.writebehind.EmployeeWriteBehind;
 import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebInputException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.net.URI;
+import java.util.Locale;
+import java.util.Set;
+
 @RestController
 @RequestMapping("/api/employees")
 @AllArgsConstructor
 public class EmployeeController {
 
+    private static final int MAX_SEARCH_LIMIT = 100;
+    private static final int MAX_EXPORT_PARTITIONS = 64;
+
     private EmployeeService employeeService;
 
+    private ObjectProvider<EmployeeWriteBehind> employeeWriteBehind;
+
+    private ObjectProvider<IdempotencyStore> idempotencyStore;
+
     @PostMapping
-    @ResponseStatus(value = HttpStatus.CREATED)
-    public Mono<EmployeeDto> saveEmployee(@RequestBody EmployeeDto employeeDto){
-        return employeeService.saveEmployee(employeeDto);
+    public Mono<ResponseEntity<EmployeeDto>> saveEmployee(@RequestBody EmployeeDto employeeDto,
+                                                          @RequestHeader(value = IdempotencyStore.HEADER, required = false)
+                                                          String idempotencyKey){
+        IdempotencyStore store = idempotencyStore.getIfAvailable();
+        if (idempotencyKey == null || store == null) {
+            return createEmployee(employeeDto);
+        }
+        return store.execute("POST /api/employees", idempotencyKey, employeeDto, EmployeeDto.class,
+                () -> createEmployee(employeeDto));
     }
 
+    /**
+     * Tagged with the employee's version; a matching {@code If-None-Match} is answered with
+     * {@code 304} after the one read.
+     */
     @GetMapping("{id}")
-    public Mono<EmployeeDto> getEmployee(@PathVariable("id") String employeeId){
-        return employeeService.getEmployee(employeeId);
+    public Mono<ResponseEntity<EmployeeDto>> getEmployee(@PathVariable("id") String employeeId){
+        return employeeService.getEmployee(employeeId)
+                .map(employee -> tagged(ResponseEntity.ok(), employee.getVersion()).body(employee))
+                .defaultIfEmpty(ResponseEntity.ok().build());
     }
 
+    /**
+     * Tagged with a weak ETag over the ids and versions of the listed employees. A plain request
+     * tags the list it read, which is collected anyway to be written as one array; a revalidation
+     * ({@code If-None-Match}) first scans only ids and versions and reads the list itself only
+     * when the tag changed. Lists projected without {@code id} are not tagged.
+     */
     @GetMapping
-    public Flux<EmployeeDto> getAllEmployees(){
-        return employeeService.getAllEmployees();
+    public Mono<ResponseEntity<Flux<EmployeeDto>>> getAllEmployees(@RequestParam(value = "view", required = false) String view,
+                                                                   @RequestParam(value = "fields", required = false) Set<String> fields,
+                                                                   @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+                                                                   String ifNoneMatch){
+        Set<String> projection = view == null && fields == null ? null : resolveFields(view, fields);
+        Flux<EmployeeDto> employees = projection == null
+                ? employeeService.getAllEmployees()
+                : employeeService.getAllEmployees(projection);
+        if (projection != null && !projection.contains("id")) {
+            return Mono.just(ResponseEntity.ok().body(employees));
+        }
+        if (ifNoneMatch == null) {
+            return employees.collectList()
+                    .map(list -> ResponseEntity.ok().eTag(ETags.forList(list)).body(Flux.fromIterable(list)));
+        }
+        // a 304 is written without subscribing to the body
+        return ETags.forList(employeeService.getEmployeeVersions())
+                .map(eTag -> ResponseEntity.ok().eTag(eTag).body(employees));
+    }
+
+    @GetMapping("search")
+    public Flux<EmployeeDto> searchEmployees(@RequestParam("q") String text,
+                                             @RequestParam(value = "limit", defaultValue = "20") int limit){
+        if (text.isBlank()) {
+            throw new ServerWebInputException("Search text must not be blank");
+        }
+        if (limit < 1 || limit > MAX_SEARCH_LIMIT) {
+            throw new ServerWebInputException("Limit must be between 1 and " + MAX_SEARCH_LIMIT);
+        }
+        return employeeService.searchEmployees(text, limit);
+    }
+
+    @GetMapping(value = "export", produces = {MediaType.APPLICATION_NDJSON_VALUE, BinaryMediaTypes.APPLICATION_STREAM_SMILE_VALUE})
+    public Flux<EmployeeDto> exportEmployees(@RequestParam(value = "partitions", defaultValue = "1") int partitions,
+                                             @RequestParam(value = "ordered", defaultValue = "false") boolean ordered){
+        if (partitions < 1 || partitions > MAX_EXPORT_PARTITIONS) {
+            throw new ServerWebInputException("Partitions must be between 1 and " + MAX_EXPORT_PARTITIONS);
+        }
+        return employeeService.exportEmployees(partitions, ordered);
     }
 
     @PutMapping("{id}")
-    public Mono<EmployeeDto> updateEmployee(@RequestBody EmployeeDto employeeDto,
-                                            @PathVariable("id") String employeeId){
-        return employeeService.updateEmployee(employeeDto, employeeId);
+    public Mono<ResponseEntity<EmployeeDto>> updateEmployee(@RequestBody EmployeeDto employeeDto,
+                                                            @PathVariable("id") String employeeId,
+                                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                                            String ifMatch){
+        Mono<EmployeeDto> updatedEmployee = ifMatch == null
+                ? employeeService.updateEmployee(employeeDto, employeeId)
+                : employeeService.updateEmployee(employeeDto, employeeId, ETags.parseIfMatch(ifMatch));
+        return updatedEmployee
+                .map(updated -> tagged(ResponseEntity.ok(), updated.getVersion()).body(updated))
+                .onErrorMap(OptimisticLockingFailureException.class, EmployeeController::preconditionFailed)
+                .onErrorMap(DuplicateKeyException.class, EmployeeController::conflict);
     }
 
     @DeleteMapping("{id}")
-    @ResponseStatus(value = HttpStatus.NO_CONTENT)
-    public Mono<Void> deleteEmployee(@PathVariable("id") String employeeId){
-        return employeeService.deleteEmployee(employeeId);
+    public Mono<ResponseEntity<Void>> deleteEmployee(@PathVariable("id") String employeeId,
+                                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                                     String ifMatch){
+        Mono<Long> deletedCount = ifMatch == null
+                ? employeeService.deleteEmployee(employeeId)
+                : employeeService.deleteEmployee(employeeId, ETags.parseIfMatch(ifMatch));
+        return deletedCount
+                .map(deleted -> deleted > 0
+                        ? ResponseEntity.noContent().<Void>build()
+                        : ResponseEntity.notFound().<Void>build())
+                .onErrorMap(OptimisticLockingFailureException.class, EmployeeController::preconditionFailed);
+    }
+
+    @DeleteMapping
+    public Mono<EmployeeDeleteResult> deleteEmployees(@RequestBody EmployeeDeleteRequest deleteRequest){
+        boolean byIds = deleteRequest.getIds() != null;
+        boolean byEmailDomain = deleteRequest.getEmailDomain() != null && !deleteRequest.getEmailDomain().isBlank();
+        if (byIds == byEmailDomain) {
+            return Mono.error(new ServerWebInputException("Specify either 'ids' or 'emailDomain'"));
+        }
+        Mono<Long> deletedCount = byIds
+                ? employeeService.deleteEmployees(deleteRequest.getIds())
+                : employeeService.deleteEmployeesByEmailDomain(deleteRequest.getEmailDomain());
+        return deletedCount.map(EmployeeDeleteResult::new);
+    }
+
+    private Mono<ResponseEntity<EmployeeDto>> createEmployee(EmployeeDto employeeDto){
+        EmployeeWriteBehind writeBehind = employeeWriteBehind.getIfAvailable();
+        if (writeBehind == null) {
+            return employeeService.saveEmployee(employeeDto)
+                    .map(saved -> tagged(ResponseEntity.status(HttpStatus.CREATED), saved.getVersion()).body(saved))
+                    .onErrorMap(DuplicateKeyException.class, EmployeeController::conflict);
+        }
+        return writeBehind.accept(employeeDto)
+                .map(accepted -> ResponseEntity.accepted()
+                        .location(URI.create("/api/employees/write-behind/" + accepted.getId()))
+                        .body(accepted))
+                .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                        "Write-behind journal is full")));
+    }
+
+    private static ResponseEntity.BodyBuilder tagged(ResponseEntity.BodyBuilder response, Long version) {
+        String eTag = ETags.forVersion(version);
+        return eTag == null ? response : response.eTag(eTag);
+    }
+
+    private static ResponseStatusException preconditionFailed(Throwable ex) {
+        return new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, ex.getMessage(), ex);
+    }
+
+    private static ResponseStatusException conflict(Throwable ex) {
+        // the unique index on email is the only one a client can collide with
+        return new ResponseStatusException(HttpStatus.CONFLICT, "An employee with this email already exists", ex);
+    }
+
+    private static Set<String> resolveFields(String view, Set<String> fields) {
+        if (view != null && fields != null) {
+            throw new ServerWebInputException("Use either 'view' or 'fields', not both");
+        }
+        if (view != null) {
+            try {
+                return EmployeeView.valueOf(view.toUpperCase(Locale.ROOT)).getFields();
+            } catch (IllegalArgumentException ex) {
+                throw new ServerWebInputException("Unknown view: " + view);
+            }
+        }
+        if (fields.isEmpty() || !EmployeeView.FIELDS.containsAll(fields)) {
+            throw new ServerWebInputException("Fields must be a subset of " + EmployeeView.FIELDS);
+        }
+        return fields;
     }
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.example.controller;
+
+import com.example.dto.EmployeeCount;
+import com.example.service.EmployeeStatsService;
+import lombok.AllArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+@RestController
+@RequestMapping("/api/employees/stats")
+@AllArgsConstructor
+public class EmployeeStatsController {
+
+    private EmployeeStatsService employeeStatsService;
+
+    @GetMapping("email-domains")
+    public Flux<EmployeeCount> getEmailDomainCounts(){
+        return employeeStatsService.getEmailDomainCounts();
+    }
+
+    @GetMapping("last-name-initials")
+    public Flux<EmployeeCount> getLastNameInitialCounts(){
+        return employeeStatsService.getLastNameInitialCounts();
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.controller;
+
+import com.example.dto.WriteBehindEntryStatus;
+import com.example.dto.WriteBehindStatus;
+import com.example.writebehind.EmployeeWriteBehind;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+
+@RestController
+@RequestMapping("/api/employees/write-behind")
+@AllArgsConstructor
+@ConditionalOnProperty(prefix = "app.write-behind", name = "enabled")
+public class EmployeeWriteBehindController {
+
+    private EmployeeWriteBehind employeeWriteBehind;
+
+    @GetMapping
+    public WriteBehindStatus getStatus(){
+        return employeeWriteBehind.getStatus();
+    }
+
+    /**
+     * Target of the {@code Location} header of an accepted create: reports a pending or failed
+     * write, and redirects to the employee once the write is no longer tracked.
+     */
+    @GetMapping("{id}")
+    public ResponseEntity<WriteBehindEntryStatus> getState(@PathVariable("id") String employeeId){
+        WriteBehindEntryStatus state = employeeWriteBehind.getState(employeeId);
+        if (state == null) {
+            return ResponseEntity.status(HttpStatus.SEE_OTHER)
+                    .location(URI.create("/api/employees/" + employeeId))
+                    .build();
+        }
+        return ResponseEntity.ok(state);
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Body of {@code DELETE /api/employees}. Exactly one of {@code ids} or {@code emailDomain}
+ * selects the employees to purge.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeDeleteRequest {
+    private List<String> ids;
+    private String emailDomain;
+}
@@ -0,0 +1,28 @@
+package com.example.dto;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Named projections of {@link EmployeeDto} for list endpoints. The fields of a view are pushed
+ * down to Mongo, so anything outside the view is neither sent over the wire nor decoded.
+ */
+public enum EmployeeView {
+
+    DIRECTORY("id", "firstName", "lastName"),
+    FULL("id", "firstName", "lastName", "email");
+
+    public static final Set<String> FIELDS = FULL.getFields();
+
+    private final Set<String> fields;
+
+    EmployeeView(String... fields) {
+        this.fields = Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(fields)));
+    }
+
+    public Set<String> getFields() {
+        return fields;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class WriteBehindEntryStatus {
+    private String id;
+    private State state;
+    private String error;
+
+    public enum State {
+        PENDING, FAILED
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class WriteBehindStatus {
+    private long pending;
+    private long committed;
+    private long failed;
+    private long journalUsedBytes;
+    private long journalCapacityBytes;
+    private String lastError;
+}
@@ -5,18 +5,31 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.index.TextIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Document
+// names are not natural-language text, so the text index neither stems nor drops stop words
+@Document(language = "none")
+@CompoundIndex(name = "lastName_firstName", def = "{'lastName': 1, 'firstName': 1}")
 public class Employee {
 
     @Id
     private String id;
+    @TextIndexed
     private String firstName;
+    @TextIndexed
     private String lastName;
+    @TextIndexed
+    @Indexed(name = "email", unique = true)
     private String email;
-}
\ No newline at end of file
+    // optimistic lock on save, and the ETag of the employee resource
+    @Version
+    private Long version;
+}
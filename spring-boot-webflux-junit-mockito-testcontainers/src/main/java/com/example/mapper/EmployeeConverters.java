@@ -0,0 +1,105 @@
+package com.example.mapper;
+
+import com.example.dto.EmployeeDto;
+import com.example.entity.Employee;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+
+import java.util.List;
+
+/**
+ * Hand-written {@link Document} converters for the employee collection. They replace the
+ * reflective entity instantiation and property access of {@code MappingMongoConverter} with
+ * plain field reads, and {@link DocumentToEmployeeDtoConverter} lets read paths skip the
+ * intermediate {@link Employee} copy made by {@link EmployeeMapper#mapToEmployeeDto}.
+ * <p>
+ * Only the reading converters are registered as custom conversions: registering a writing
+ * converter for {@link Employee} would turn it into a store simple type, and Spring Data would
+ * then drop its persistent entity (id handling, index resolution, versioning).
+ * {@link EmployeeToDocumentConverter} is used directly by bulk write paths instead.
+ * <p>
+ * Both paths still start from the {@link Document} the driver decodes from BSON, so that
+ * decode, and its per-field allocations, is the same with or without these converters.
+ */
+public final class EmployeeConverters {
+
+    private EmployeeConverters() {
+    }
+
+    public static List<Converter<?, ?>> readingConverters() {
+        return List.of(new DocumentToEmployeeConverter(), new DocumentToEmployeeDtoConverter());
+    }
+
+    static String readId(Document document) {
+        Object id = document.get("_id");
+        if (id instanceof ObjectId) {
+            return ((ObjectId) id).toHexString();
+        }
+        return id == null ? null : id.toString();
+    }
+
+    static Object writeId(String id) {
+        return ObjectId.isValid(id) ? new ObjectId(id) : id;
+    }
+
+    static Long readVersion(Document document) {
+        Object version = document.get("version");
+        return version instanceof Number ? ((Number) version).longValue() : null;
+    }
+
+    @ReadingConverter
+    public static class DocumentToEmployeeConverter implements Converter<Document, Employee> {
+
+        @Override
+        public Employee convert(Document source) {
+            return new Employee(
+                    readId(source),
+                    source.getString("firstName"),
+                    source.getString("lastName"),
+                    source.getString("email"),
+                    readVersion(source)
+            );
+        }
+    }
+
+    @ReadingConverter
+    public static class DocumentToEmployeeDtoConverter implements Converter<Document, EmployeeDto> {
+
+        @Override
+        public EmployeeDto convert(Document source) {
+            return new EmployeeDto(
+                    readId(source),
+                    source.getString("firstName"),
+                    source.getString("lastName"),
+                    source.getString("email"),
+                    readVersion(source)
+            );
+        }
+    }
+
+    @WritingConverter
+    public static class EmployeeToDocumentConverter implements Converter<Employee, Document> {
+
+        @Override
+        public Document convert(Employee source) {
+            Document document = new Document();
+            if (source.getId() != null) {
+                document.put("_id", writeId(source.getId()));
+            }
+            putIfNotNull(document, "firstName", source.getFirstName());
+            putIfNotNull(document, "lastName", source.getLastName());
+            putIfNotNull(document, "email", source.getEmail());
+            putIfNotNull(document, "version", source.getVersion());
+            return document;
+        }
+
+        private static void putIfNotNull(Document document, String key, Object value) {
+            if (value != null) {
+                document.put(key, value);
+            }
+        }
+    }
+}
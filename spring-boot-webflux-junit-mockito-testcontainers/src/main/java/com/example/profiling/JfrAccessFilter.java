@@ -0,0 +1,50 @@
+package com.example.profiling;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Rejects requests to the JFR endpoint under {@code endpointPath} that do not carry
+ * {@code Authorization: Bearer <token>}. Paths are matched the way the endpoint's handler mapping
+ * matches them, decoded and without {@code ;matrix} parameters, so no spelling of the path that
+ * reaches the endpoint gets past the check.
+ */
+public class JfrAccessFilter implements WebFilter {
+
+    private static final String BEARER = "Bearer ";
+
+    private final PathPattern endpointPattern;
+    private final byte[] token;
+
+    public JfrAccessFilter(String endpointPath, String token) {
+        this.endpointPattern = PathPatternParser.defaultInstance.parse(endpointPath + "/**");
+        this.token = token.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!endpointPattern.matches(exchange.getRequest().getPath().pathWithinApplication())) {
+            return chain.filter(exchange);
+        }
+        String authorization = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        // constant-time comparison, the token must not leak through response timing
+        if (authorization == null || !authorization.startsWith(BEARER) || !MessageDigest.isEqual(token,
+                authorization.substring(BEARER.length()).getBytes(StandardCharsets.UTF_8))) {
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.UNAUTHORIZED);
+            response.getHeaders().set(HttpHeaders.WWW_AUTHENTICATE, "Bearer");
+            return response.setComplete();
+        }
+        return chain.filter(exchange);
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.profiling;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * {@code /actuator/jfr}: start ({@code POST}, optional {@code profile} and {@code duration}),
+ * list ({@code GET}), stop ({@code POST /{id}}), download ({@code GET /{id}}), summarize
+ * ({@code GET /{id}/summary}) and delete ({@code DELETE /{id}}) flight recordings.
+ */
+@WebEndpoint(id = "jfr")
+public class JfrEndpoint {
+
+    private static final String DEFAULT_PROFILE = "default";
+    private static final Duration DEFAULT_DURATION = Duration.ofMinutes(1);
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    private final JfrRecordings recordings;
+    private final int summarySize;
+
+    public JfrEndpoint(JfrRecordings recordings, int summarySize) {
+        this.recordings = recordings;
+        this.summarySize = summarySize;
+    }
+
+    @ReadOperation
+    public List<JfrRecordings.RecordingInfo> recordings() {
+        return recordings.list();
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<Object> start(@Nullable String profile, @Nullable Duration duration) {
+        try {
+            return new WebEndpointResponse<>(recordings.start(profile == null ? DEFAULT_PROFILE : profile,
+                    duration == null ? DEFAULT_DURATION : duration));
+        } catch (IllegalArgumentException ex) {
+            return new WebEndpointResponse<>(ex.getMessage(), WebEndpointResponse.STATUS_BAD_REQUEST);
+        } catch (IllegalStateException ex) {
+            return new WebEndpointResponse<>(ex.getMessage(), TOO_MANY_REQUESTS);
+        }
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<JfrRecordings.RecordingInfo> stop(@Selector long id) {
+        return recordings.stop(id)
+                .map(WebEndpointResponse::new)
+                .orElseGet(() -> new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND));
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> download(@Selector long id) {
+        return recordings.dump(id)
+                .<WebEndpointResponse<Resource>>map(file -> new WebEndpointResponse<>(new FileSystemResource(file)))
+                .orElseGet(() -> new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND));
+    }
+
+    @ReadOperation
+    public WebEndpointResponse<JfrRecordings.RecordingSummary> summary(@Selector long id, @Selector String view) {
+        if (!"summary".equals(view)) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        return recordings.summarize(id, summarySize)
+                .map(WebEndpointResponse::new)
+                .orElseGet(() -> new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND));
+    }
+
+    @DeleteOperation
+    public WebEndpointResponse<Void> delete(@Selector long id) {
+        return new WebEndpointResponse<>(recordings.delete(id)
+                ? WebEndpointResponse.STATUS_NO_CONTENT : WebEndpointResponse.STATUS_NOT_FOUND);
+    }
+}
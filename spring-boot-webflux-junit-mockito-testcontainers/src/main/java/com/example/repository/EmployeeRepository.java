@@ -3,6 +3,14 @@ package com.example.repository;
 import com.example.entity.Employee;
 import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
 import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 public interface EmployeeRepository extends ReactiveMongoRepository<Employee, String> {
-}
\ No newline at end of file
+
+    // backed by the unique "email" index
+    Mono<Employee> findByEmail(String email);
+
+    // backed by the "lastName_firstName" compound index
+    Flux<Employee> findByLastNameAndFirstName(String lastName, String firstName);
+}
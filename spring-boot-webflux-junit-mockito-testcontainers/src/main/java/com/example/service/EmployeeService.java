@@ -4,10 +4,21 @@ import com.example.dto.EmployeeDto;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+import java.util.Set;
+
 public interface EmployeeService {
     Mono<EmployeeDto> saveEmployee(EmployeeDto employeeDto);
     Mono<EmployeeDto> getEmployee(String employeeId);
     Flux<EmployeeDto> getAllEmployees();
+    Flux<EmployeeDto> getAllEmployees(Set<String> fields);
+    Flux<EmployeeDto> getEmployeeVersions();
+    Flux<EmployeeDto> searchEmployees(String text, int limit);
+    Flux<EmployeeDto> exportEmployees(int partitions, boolean ordered);
     Mono<EmployeeDto> updateEmployee(EmployeeDto employeeDto, String employeeId);
-    Mono<Void> deleteEmployee(String employeeId);
+    Mono<EmployeeDto> updateEmployee(EmployeeDto employeeDto, String employeeId, Set<Long> expectedVersions);
+    Mono<Long> deleteEmployee(String employeeId);
+    Mono<Long> deleteEmployee(String employeeId, Set<Long> expectedVersions);
+    Mono<Long> deleteEmployees(Collection<String> employeeIds);
+    Mono<Long> deleteEmployeesByEmailDomain(String emailDomain);
 }
\ No newline at end of file
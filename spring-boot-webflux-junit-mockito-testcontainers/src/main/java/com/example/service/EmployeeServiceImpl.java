@@ -4,56 +4,260 @@ import com.example.dto.EmployeeDto;
 import com.example.entity.Employee;
 import com.example.mapper.EmployeeMapper;
 import com.example.repository.EmployeeRepository;
+import com.example.web.ServerTiming;
+import com.mongodb.client.result.DeleteResult;
 import lombok.AllArgsConstructor;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
 
 @Service
 @AllArgsConstructor
 public class EmployeeServiceImpl implements EmployeeService {
 
+    private static final int SAMPLES_PER_PARTITION = 32;
+    private static final int ORDERED_PREFETCH = 1024;
+    private static final int OBJECT_ID_TYPE = 7;
+    private static final int MAX_UPDATE_RETRIES = 3;
+
     private EmployeeRepository employeeRepository;
 
+    private ReactiveMongoTemplate mongoTemplate;
+
+    private EmployeeStatsService employeeStatsService;
+
+    private PipelineMetrics pipelineMetrics;
+
     @Override
     public Mono<EmployeeDto> saveEmployee(EmployeeDto employeeDto) {
         Employee employee = EmployeeMapper.mapToEmployee(employeeDto);
-        Mono<Employee> savedEmployee = employeeRepository.save(employee);
-        return savedEmployee
-                .map(EmployeeMapper::mapToEmployeeDto);
+        Mono<Employee> savedEmployee = ServerTiming.time(ServerTiming.DB, employeeRepository.save(employee))
+                .flatMap(saved -> employeeStatsService.recordSaved(saved).thenReturn(saved));
+        return instrument(savedEmployee
+                .transformDeferredContextual(ServerTiming.map(EmployeeMapper::mapToEmployeeDto)), "save");
     }
 
     @Override
     public Mono<EmployeeDto> getEmployee(String employeeId) {
-        Mono<Employee> savedEmployee = employeeRepository.findById(employeeId);
-        return savedEmployee
-                .map(EmployeeMapper::mapToEmployeeDto);
+        return instrument(ServerTiming.time(ServerTiming.DB,
+                mongoTemplate.findById(employeeId, EmployeeDto.class, collectionName())), "get");
     }
 
     @Override
     public Flux<EmployeeDto> getAllEmployees() {
-        Flux<Employee> employeeFlux = employeeRepository.findAll();
-        return employeeFlux
-                .map(EmployeeMapper::mapToEmployeeDto)
-                .switchIfEmpty(Flux.empty());
+        return instrument(ServerTiming.time(ServerTiming.DB,
+                mongoTemplate.findAll(EmployeeDto.class, collectionName())), "getAll");
+    }
+
+    @Override
+    public Flux<EmployeeDto> getAllEmployees(Set<String> fields) {
+        Query query = new Query();
+        fields.forEach(field -> query.fields().include(field));
+        // the version is not serialized, it only feeds the list's ETag
+        query.fields().include("version");
+        if (!fields.contains("id")) {
+            query.fields().exclude("id");
+        }
+        // decode straight into the DTO, only the projected fields are read from the wire
+        return instrument(ServerTiming.time(ServerTiming.DB,
+                mongoTemplate.find(query, EmployeeDto.class, collectionName())), "getAllProjected");
+    }
+
+    @Override
+    public Flux<EmployeeDto> getEmployeeVersions() {
+        Query query = new Query();
+        query.fields().include("id", "version");
+        return instrument(ServerTiming.time(ServerTiming.DB,
+                mongoTemplate.find(query, EmployeeDto.class, collectionName())), "getVersions");
+    }
+
+    @Override
+    public Flux<EmployeeDto> searchEmployees(String text, int limit) {
+        // matched and ranked by the text index on firstName, lastName and email
+        Query query = TextQuery.queryText(TextCriteria.forDefaultLanguage().matching(text))
+                .sortByScore()
+                .limit(limit);
+        return instrument(ServerTiming.time(ServerTiming.DB,
+                mongoTemplate.find(query, EmployeeDto.class, collectionName())), "search");
+    }
+
+    @Override
+    public Flux<EmployeeDto> exportEmployees(int partitions, boolean ordered) {
+        if (partitions <= 1) {
+            return instrument(ServerTiming.time(ServerTiming.DB, findRange(new Criteria(), ordered)), "export");
+        }
+        Flux<EmployeeDto> export = sampleSplitPoints(partitions).flatMapMany(splitPoints -> {
+            // range queries on ObjectIds never match other _id types, those get a partition of their own
+            List<Flux<EmployeeDto>> ranges = new ArrayList<>(splitPoints.size() + 2);
+            ranges.add(findRange(Criteria.where("_id").not().type(OBJECT_ID_TYPE), ordered));
+            for (int i = 0; i <= splitPoints.size(); i++) {
+                Criteria range = Criteria.where("_id");
+                if (i > 0) {
+                    range = range.gte(splitPoints.get(i - 1));
+                }
+                range = i < splitPoints.size() ? range.lt(splitPoints.get(i)) : range.type(OBJECT_ID_TYPE);
+                ranges.add(findRange(range, ordered));
+            }
+            // every range cursor runs concurrently; in ordered mode later ranges can only run ahead by the prefetch
+            return ordered
+                    ? Flux.mergeSequential(ranges, ranges.size(), ORDERED_PREFETCH)
+                    : Flux.fromIterable(ranges).flatMap(range -> range, ranges.size());
+        });
+        return instrument(ServerTiming.time(ServerTiming.DB, export), ordered ? "exportOrdered" : "export");
     }
 
     @Override
     public Mono<EmployeeDto> updateEmployee(EmployeeDto employeeDto, String employeeId) {
+        // last writer wins: a concurrent update between our read and save is retried on the fresh document
+        Mono<Employee> updatedEmployee = update(employeeDto, employeeId, null)
+                .retryWhen(Retry.max(MAX_UPDATE_RETRIES).filter(OptimisticLockingFailureException.class::isInstance));
+        return instrument(updatedEmployee
+                .transformDeferredContextual(ServerTiming.map(EmployeeMapper::mapToEmployeeDto)), "update");
+    }
+
+    @Override
+    public Mono<EmployeeDto> updateEmployee(EmployeeDto employeeDto, String employeeId, Set<Long> expectedVersions) {
+        return instrument(update(employeeDto, employeeId, expectedVersions)
+                .transformDeferredContextual(ServerTiming.map(EmployeeMapper::mapToEmployeeDto)), "updateConditional");
+    }
+
+    @Override
+    public Mono<Long> deleteEmployee(String employeeId) {
+        return instrument(findAndRemove(Query.query(Criteria.where("id").is(employeeId))), "delete");
+    }
+
+    @Override
+    public Mono<Long> deleteEmployee(String employeeId, Set<Long> expectedVersions) {
+        if (expectedVersions == null) {
+            // any current version matches, the employee only has to exist
+            return deleteEmployee(employeeId);
+        }
+        Query query = Query.query(Criteria.where("id").is(employeeId).and("version").in(expectedVersions));
+        // nothing removed: either the employee is gone or its version moved on, one exists() tells them apart
+        Mono<Long> deletedCount = findAndRemove(query)
+                .flatMap(deleted -> deleted > 0 ? Mono.just(deleted) : mongoTemplate
+                        .exists(Query.query(Criteria.where("id").is(employeeId)), Employee.class)
+                        .flatMap(exists -> exists
+                                ? Mono.error(new OptimisticLockingFailureException(
+                                        "Employee " + employeeId + " does not match the expected versions"))
+                                : Mono.just(0L)));
+        return instrument(deletedCount, "deleteConditional");
+    }
+
+    /**
+     * Applies the update to the stored employee. The save is guarded by the {@code version} read
+     * with it and fails with {@link OptimisticLockingFailureException} if another write got in
+     * between; {@code expectedVersions}, unless {@code null}, must also contain the stored version.
+     */
+    private Mono<Employee> update(EmployeeDto employeeDto, String employeeId, Set<Long> expectedVersions) {
         Mono<Employee> employeeMono = employeeRepository.findById(employeeId);
 
-        Mono<Employee> updatedEmployee = employeeMono.flatMap((existingEmployee) -> {
+        return ServerTiming.time(ServerTiming.DB, employeeMono.flatMap((existingEmployee) -> {
+            if (expectedVersions != null && !expectedVersions.contains(existingEmployee.getVersion())) {
+                return Mono.error(new OptimisticLockingFailureException(
+                        "Employee " + employeeId + " is at version " + existingEmployee.getVersion()));
+            }
+            Employee before = Employee.builder()
+                    .lastName(existingEmployee.getLastName())
+                    .email(existingEmployee.getEmail())
+                    .build();
             existingEmployee.setFirstName(employeeDto.getFirstName());
             existingEmployee.setLastName(employeeDto.getLastName());
             existingEmployee.setEmail(employeeDto.getEmail());
-            return employeeRepository.save(existingEmployee);
-        });
-        return updatedEmployee
-                .map(EmployeeMapper::mapToEmployeeDto);
+            return employeeRepository.save(existingEmployee)
+                    .flatMap(saved -> employeeStatsService.recordUpdated(before, saved).thenReturn(saved));
+        }));
     }
 
     @Override
-    public Mono<Void> deleteEmployee(String employeeId) {
-        return employeeRepository.deleteById(employeeId);
+    public Mono<Long> deleteEmployees(Collection<String> employeeIds) {
+        if (employeeIds.isEmpty()) {
+            return Mono.just(0L);
+        }
+        return instrument(delete(Criteria.where("id").in(employeeIds)), "deleteMany");
+    }
+
+    @Override
+    public Mono<Long> deleteEmployeesByEmailDomain(String emailDomain) {
+        Pattern domain = Pattern.compile("@" + Pattern.quote(emailDomain) + "$", Pattern.CASE_INSENSITIVE);
+        return instrument(delete(Criteria.where("email").regex(domain)), "deleteByEmailDomain");
+    }
+
+    private Flux<EmployeeDto> findRange(Criteria range, boolean ordered) {
+        Query query = Query.query(range);
+        if (ordered) {
+            query.with(Sort.by("_id"));
+        }
+        return mongoTemplate.find(query, EmployeeDto.class, collectionName());
+    }
+
+    /**
+     * Picks {@code partitions - 1} ObjectIds that split a random sample of the collection into
+     * equal parts, fewer if the collection has too few distinct ids.
+     */
+    private Mono<List<ObjectId>> sampleSplitPoints(int partitions) {
+        Aggregation sample = Aggregation.newAggregation(
+                Aggregation.sample((long) partitions * SAMPLES_PER_PARTITION),
+                Aggregation.project("_id"));
+        return mongoTemplate.aggregate(sample, collectionName(), Document.class)
+                .map(document -> document.get("_id"))
+                .ofType(ObjectId.class)
+                .distinct()
+                .sort()
+                .collectList()
+                .map(ids -> {
+                    List<ObjectId> splitPoints = new ArrayList<>(partitions - 1);
+                    for (int i = 1; i < partitions; i++) {
+                        ObjectId splitPoint = ids.isEmpty() ? null : ids.get(i * ids.size() / partitions);
+                        if (splitPoint != null && (splitPoints.isEmpty()
+                                || splitPoints.get(splitPoints.size() - 1).compareTo(splitPoint) < 0)) {
+                            splitPoints.add(splitPoint);
+                        }
+                    }
+                    return splitPoints;
+                });
+    }
+
+    private Mono<Long> findAndRemove(Query query) {
+        // findAndModify removes and returns the document in one round trip, the stats need its fields
+        return ServerTiming.time(ServerTiming.DB, mongoTemplate.findAndRemove(query, Employee.class))
+                .flatMap(deleted -> employeeStatsService.recordDeleted(deleted).thenReturn(1L))
+                .defaultIfEmpty(0L);
+    }
+
+    private Mono<Long> delete(Criteria filter) {
+        // the stats count what the filter matches before the delete and are decremented after it
+        return employeeStatsService.recordBulkDelete(filter, ServerTiming.time(ServerTiming.DB,
+                        mongoTemplate.remove(Query.query(filter), Employee.class))
+                .map(DeleteResult::getDeletedCount));
+    }
+
+    private <T> Mono<T> instrument(Mono<T> pipeline, String operation) {
+        return pipelineMetrics.instrument(pipeline, operation);
+    }
+
+    private <T> Flux<T> instrument(Flux<T> pipeline, String operation) {
+        return pipelineMetrics.instrument(pipeline, operation);
+    }
+
+    private String collectionName() {
+        return mongoTemplate.getCollectionName(Employee.class);
     }
 }
\ No newline at end of file
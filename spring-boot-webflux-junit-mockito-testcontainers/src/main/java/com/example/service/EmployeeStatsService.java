@@ -0,0 +1,21 @@
+package com.example.service;
+
+import com.example.dto.EmployeeCount;
+import com.example.entity.Employee;
+import org.springframework.data.mongodb.core.query.Criteria;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface EmployeeStatsService {
+    Flux<EmployeeCount> getEmailDomainCounts();
+    Flux<EmployeeCount> getLastNameInitialCounts();
+    Mono<Void> recordSaved(Employee employee);
+    Mono<Void> recordUpdated(Employee before, Employee after);
+    Mono<Void> recordDeleted(Employee employee);
+    /**
+     * Runs {@code delete} for the employees matching {@code filter} and takes them out of the
+     * counts, without a rebuild.
+     */
+    Mono<Long> recordBulkDelete(Criteria filter, Mono<Long> delete);
+    Mono<Void> rebuild();
+}
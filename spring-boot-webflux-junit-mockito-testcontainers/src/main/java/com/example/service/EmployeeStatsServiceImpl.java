@@ -0,0 +1,236 @@
+package com.example.service;
+
+import com.example.dto.EmployeeCount;
+import com.example.entity.Employee;
+import com.example.web.ServerTiming;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.ArrayOperators;
+import org.springframework.data.mongodb.core.aggregation.StringOperators;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Headcount by email domain and by last-name initial, kept in the small
+ * {@value #COLLECTION} collection so reads never scan the employee collection.
+ * <p>
+ * Single-document writes adjust the counts with {@code $inc} upserts. Bulk deletes first count
+ * the employees their filter matches, per key, and decrement those keys once the delete went
+ * through. {@link #rebuild()} recomputes everything with aggregation pipelines over the employee
+ * collection and overwrites the counts in place, so readers never see an empty summary; it runs
+ * on startup and corrects any drift left by a failed increment or by employees written between a
+ * bulk delete's count and the delete itself. Increments racing with a rebuild can be lost until
+ * the next one.
+ */
+@Slf4j
+@Service
+@AllArgsConstructor
+public class EmployeeStatsServiceImpl implements EmployeeStatsService {
+
+    public static final String COLLECTION = "employee_stats";
+
+    static final String EMAIL_DOMAIN = "emailDomain";
+    static final String LAST_NAME_INITIAL = "lastNameInitial";
+
+    private static final int REBUILD_CONCURRENCY = 8;
+
+    private ReactiveMongoTemplate mongoTemplate;
+
+    @Override
+    public Flux<EmployeeCount> getEmailDomainCounts() {
+        return counts(EMAIL_DOMAIN);
+    }
+
+    @Override
+    public Flux<EmployeeCount> getLastNameInitialCounts() {
+        return counts(LAST_NAME_INITIAL);
+    }
+
+    @Override
+    public Mono<Void> recordSaved(Employee employee) {
+        return apply(deltas(null, employee));
+    }
+
+    @Override
+    public Mono<Void> recordUpdated(Employee before, Employee after) {
+        return apply(deltas(before, after));
+    }
+
+    @Override
+    public Mono<Void> recordDeleted(Employee employee) {
+        return apply(deltas(employee, null));
+    }
+
+    @Override
+    public Mono<Long> recordBulkDelete(Criteria filter, Mono<Long> delete) {
+        Mono<Map<StatKey, Long>> matched = count(filter)
+                .onErrorResume(ex -> {
+                    // the delete still runs, the next rebuild repairs the counts
+                    log.warn("Could not count employee stats before a bulk delete", ex);
+                    return Mono.just(Collections.emptyMap());
+                });
+        return matched.flatMap(counts -> delete.flatMap(deletedCount -> deletedCount > 0
+                ? apply(negate(counts)).thenReturn(deletedCount)
+                : Mono.just(deletedCount)));
+    }
+
+    @Override
+    public Mono<Void> rebuild() {
+        return mongoTemplate.indexOps(COLLECTION)
+                .ensureIndex(new Index().on("dimension", Sort.Direction.ASC).on("count", Sort.Direction.DESC))
+                .then(count(null))
+                .flatMap(this::replace);
+    }
+
+    private Flux<EmployeeCount> counts(String dimension) {
+        Query query = Query.query(Criteria.where("dimension").is(dimension).and("count").gt(0))
+                .with(Sort.by(Sort.Direction.DESC, "count"));
+        return ServerTiming.time(ServerTiming.DB, mongoTemplate.find(query, EmployeeCount.class, COLLECTION));
+    }
+
+    /**
+     * Counts of the employees matching {@code filter} ({@code null} for all of them) per stats key.
+     */
+    private Mono<Map<StatKey, Long>> count(Criteria filter) {
+        TypedAggregation<Employee> byEmailDomain = Aggregation.newAggregation(Employee.class, pipeline(filter,
+                Aggregation.match(Criteria.where("email").regex("@")),
+                Aggregation.project().and(ArrayOperators.ArrayElemAt
+                        .arrayOf(StringOperators.valueOf("email").split("@")).elementAt(-1)).as("key"),
+                Aggregation.group("key").count().as("count")));
+        TypedAggregation<Employee> byLastNameInitial = Aggregation.newAggregation(Employee.class, pipeline(filter,
+                // $gt "" only matches non-empty strings
+                Aggregation.match(Criteria.where("lastName").gt("")),
+                Aggregation.project().and(StringOperators.valueOf("lastName").substringCP(0, 1)).as("key"),
+                Aggregation.group("key").count().as("count")));
+
+        return groups(EMAIL_DOMAIN, byEmailDomain)
+                .concatWith(groups(LAST_NAME_INITIAL, byLastNameInitial))
+                .collect(HashMap<StatKey, Long>::new, (counts, group) -> counts.merge(group.getT1(), group.getT2(), Long::sum));
+    }
+
+    private static List<AggregationOperation> pipeline(Criteria filter, AggregationOperation... stages) {
+        List<AggregationOperation> pipeline = new ArrayList<>(stages.length + 1);
+        if (filter != null) {
+            pipeline.add(Aggregation.match(filter));
+        }
+        pipeline.addAll(Arrays.asList(stages));
+        return pipeline;
+    }
+
+    private Flux<Tuple2<StatKey, Long>> groups(String dimension, TypedAggregation<Employee> aggregation) {
+        // the pipeline groups raw values, normalization happens here so it matches the increments exactly
+        return mongoTemplate.aggregate(aggregation, Document.class)
+                .flatMap(group -> Mono.justOrEmpty(normalize(dimension, group.getString("_id")))
+                        .map(key -> Tuples.of(new StatKey(dimension, key), ((Number) group.get("count")).longValue())));
+    }
+
+    /**
+     * Overwrites every count in place and only then removes the keys no employee has any more.
+     */
+    private Mono<Void> replace(Map<StatKey, Long> counts) {
+        List<String> ids = new ArrayList<>(counts.size());
+        counts.keySet().forEach(key -> ids.add(key.id()));
+        return Flux.fromIterable(counts.entrySet())
+                .flatMap(count -> mongoTemplate.upsert(
+                        Query.query(Criteria.where("_id").is(count.getKey().id())),
+                        new Update().set("count", count.getValue())
+                                .setOnInsert("dimension", count.getKey().getDimension())
+                                .setOnInsert("key", count.getKey().getKey()),
+                        COLLECTION), REBUILD_CONCURRENCY)
+                .then(mongoTemplate.remove(Query.query(Criteria.where("dimension").in(EMAIL_DOMAIN, LAST_NAME_INITIAL)
+                        .and("_id").nin(ids)), COLLECTION))
+                .then();
+    }
+
+    private Mono<Void> apply(Map<StatKey, Long> deltas) {
+        return ServerTiming.time(ServerTiming.DB, Flux.fromIterable(deltas.entrySet())
+                        .filter(delta -> delta.getValue() != 0)
+                        .flatMap(delta -> mongoTemplate.upsert(
+                                Query.query(Criteria.where("_id").is(delta.getKey().id())),
+                                new Update().inc("count", delta.getValue())
+                                        .setOnInsert("dimension", delta.getKey().getDimension())
+                                        .setOnInsert("key", delta.getKey().getKey()),
+                                COLLECTION)))
+                .then()
+                .onErrorResume(ex -> {
+                    // the employee write already succeeded, the next rebuild repairs the counts
+                    log.warn("Could not update employee stats", ex);
+                    return Mono.empty();
+                });
+    }
+
+    private static Map<StatKey, Long> negate(Map<StatKey, Long> counts) {
+        Map<StatKey, Long> deltas = new HashMap<>(counts.size() * 2);
+        counts.forEach((key, count) -> deltas.put(key, -count));
+        return deltas;
+    }
+
+    private static Map<StatKey, Long> deltas(Employee before, Employee after) {
+        Map<StatKey, Long> deltas = new HashMap<>();
+        if (before != null) {
+            keys(before).forEach(key -> deltas.merge(key, -1L, Long::sum));
+        }
+        if (after != null) {
+            keys(after).forEach(key -> deltas.merge(key, 1L, Long::sum));
+        }
+        return deltas;
+    }
+
+    private static List<StatKey> keys(Employee employee) {
+        List<StatKey> keys = new ArrayList<>(2);
+        String email = employee.getEmail();
+        if (email != null && email.indexOf('@') >= 0) {
+            String emailDomain = normalize(EMAIL_DOMAIN, email.substring(email.lastIndexOf('@') + 1));
+            if (emailDomain != null) {
+                keys.add(new StatKey(EMAIL_DOMAIN, emailDomain));
+            }
+        }
+        String initial = normalize(LAST_NAME_INITIAL, employee.getLastName());
+        if (initial != null) {
+            keys.add(new StatKey(LAST_NAME_INITIAL, initial));
+        }
+        return keys;
+    }
+
+    static String normalize(String dimension, String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        if (EMAIL_DOMAIN.equals(dimension)) {
+            return value.toLowerCase(Locale.ROOT);
+        }
+        return value.substring(0, value.offsetByCodePoints(0, 1)).toUpperCase(Locale.ROOT);
+    }
+
+    @Value
+    private static class StatKey {
+        String dimension;
+        String key;
+
+        String id() {
+            return dimension + ":" + key;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Times reactive pipelines against a given {@link MeterRegistry}. Publishes
+ * {@code <name>.flow.duration}, tagged with the operation, the terminal status (completed,
+ * completedEmpty, error or cancelled) and the exception, and {@code <name>.subscribed}, tagged
+ * with the operation.
+ * <p>
+ * Reactor's own {@code metrics()} operator always records to the global registry, this one records
+ * to the registry it is built with. The meters of each operation are looked up once and reused.
+ */
+public class PipelineMetrics {
+
+    private static final String NO_EXCEPTION = "none";
+
+    private final String name;
+    private final MeterRegistry registry;
+    private final Map<String, Meters> meters = new ConcurrentHashMap<>();
+
+    public PipelineMetrics(String name, MeterRegistry registry) {
+        this.name = name;
+        this.registry = registry;
+    }
+
+    /**
+     * Leaves pipelines untouched, for when no registry is available.
+     */
+    public static PipelineMetrics disabled(String name) {
+        return new PipelineMetrics(name, null);
+    }
+
+    public <T> Mono<T> instrument(Mono<T> pipeline, String operation) {
+        if (registry == null) {
+            return pipeline;
+        }
+        Meters operationMeters = meters(operation);
+        return Mono.defer(() -> {
+            operationMeters.subscribed.increment();
+            Timer.Sample sample = Timer.start(registry);
+            return pipeline
+                    .doOnSuccess(value -> sample.stop(value == null
+                            ? operationMeters.completedEmpty : operationMeters.completed))
+                    .doOnError(error -> sample.stop(errorTimer(operation, error)))
+                    .doOnCancel(() -> sample.stop(operationMeters.cancelled));
+        });
+    }
+
+    public <T> Flux<T> instrument(Flux<T> pipeline, String operation) {
+        if (registry == null) {
+            return pipeline;
+        }
+        Meters operationMeters = meters(operation);
+        return Flux.defer(() -> {
+            operationMeters.subscribed.increment();
+            Timer.Sample sample = Timer.start(registry);
+            return pipeline
+                    .doOnComplete(() -> sample.stop(operationMeters.completed))
+                    .doOnError(error -> sample.stop(errorTimer(operation, error)))
+                    .doOnCancel(() -> sample.stop(operationMeters.cancelled));
+        });
+    }
+
+    private Meters meters(String operation) {
+        return meters.computeIfAbsent(operation, Meters::new);
+    }
+
+    private Timer errorTimer(String operation, Throwable error) {
+        // errors are rare and their exception tag is open ended, these are registered on demand
+        return timer(operation, "error", error.getClass().getSimpleName());
+    }
+
+    private Timer timer(String operation, String status, String exception) {
+        return Timer.builder(name + ".flow.duration")
+                .tag("operation", operation)
+                .tag("status", status)
+                .tag("exception", exception)
+                .register(registry);
+    }
+
+    private final class Meters {
+
+        private final Counter subscribed;
+        private final Timer completed;
+        private final Timer completedEmpty;
+        private final Timer cancelled;
+
+        private Meters(String operation) {
+            subscribed = Counter.builder(name + ".subscribed")
+                    .tag("operation", operation)
+                    .register(registry);
+            completed = timer(operation, "completed", NO_EXCEPTION);
+            completedEmpty = timer(operation, "completedEmpty", NO_EXCEPTION);
+            cancelled = timer(operation, "cancelled", NO_EXCEPTION);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.web;
+
+import com.example.config.ConcurrencyLimitProperties;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * AIMD concurrency limit driven by observed latency. Each request that completes within the
+ * target latency while the limit is being used grows the limit by {@code 1/limit}, about
+ * one per round trip; a slow or failed request shrinks it by the backoff ratio. A burst of slow
+ * requests is one overload signal, so only requests that started after the last decrease can
+ * shrink the limit again, which caps it at one decrease per round trip. Requests beyond the
+ * current limit are refused instead of queued, so the latency of admitted requests stays near
+ * the target.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    public enum Outcome {
+        SUCCESS,
+        DROPPED,
+        IGNORED
+    }
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetLatencyNanos;
+    private final double backoffRatio;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private volatile double limit;
+    // guarded by this
+    private long lastDecreaseNanos = Long.MIN_VALUE;
+
+    public AdaptiveConcurrencyLimit(String name, ConcurrencyLimitProperties.Route route) {
+        this.name = name;
+        this.minLimit = route.getMinLimit();
+        this.maxLimit = route.getMaxLimit();
+        this.targetLatencyNanos = route.getTargetLatency().toNanos();
+        this.backoffRatio = route.getBackoffRatio();
+        this.limit = Math.max(minLimit, Math.min(maxLimit, route.getInitialLimit()));
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases a request that was admitted {@code latencyNanos} ago, as measured with
+     * {@link System#nanoTime()}.
+     */
+    public void release(long latencyNanos, Outcome outcome) {
+        release(System.nanoTime() - latencyNanos, latencyNanos, outcome);
+    }
+
+    /**
+     * Releases a request admitted at {@code startNanos}, as measured with {@link System#nanoTime()},
+     * whose latency was {@code latencyNanos}; for a streamed response that is the latency of its
+     * first element rather than the time since the start.
+     */
+    public void release(long startNanos, long latencyNanos, Outcome outcome) {
+        int current = inFlight.getAndDecrement();
+        if (outcome == Outcome.IGNORED) {
+            return;
+        }
+        long now = System.nanoTime();
+        synchronized (this) {
+            if (outcome == Outcome.DROPPED || latencyNanos > targetLatencyNanos) {
+                // already in flight at the last decrease, so it reports the same overload
+                if (lastDecreaseNanos == Long.MIN_VALUE || startNanos - lastDecreaseNanos > 0) {
+                    limit = Math.max(minLimit, limit * backoffRatio);
+                    lastDecreaseNanos = now;
+                }
+            } else if (current * 2 >= limit) {
+                // additive increase of roughly one per round trip, only while the limit is used
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.web;
+
+import com.example.config.ConcurrencyLimitProperties;
+import com.example.config.WarmupRunner;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Sheds load on {@code /api/employees} with a separate {@link AdaptiveConcurrencyLimit} for
+ * reads of a single employee, scans (list, search and stats), exports and writes, so slow scans
+ * do not shrink the limit of cheap lookups. An export streams for as long as the collection
+ * takes, so its latency is measured up to the first element, when the response is committed,
+ * rather than to the end of the stream. Paths are matched by segment like the handler mappings
+ * do. Requests over the limit are answered immediately with {@code 503 Service Unavailable} and
+ * a {@code Retry-After} header.
+ */
+public class AdaptiveConcurrencyLimitFilter implements WebFilter {
+
+    private static final PathPattern API = PathPatternParser.defaultInstance.parse("/api/employees/**");
+    private static final PathPattern EXPORT = PathPatternParser.defaultInstance.parse("/api/employees/export");
+    private static final List<PathPattern> SCANS = Stream.of(
+                    "/api/employees", "/api/employees/search", "/api/employees/stats/**")
+            .map(PathPatternParser.defaultInstance::parse)
+            .collect(Collectors.toList());
+
+    private final AdaptiveConcurrencyLimit readLimit;
+    private final AdaptiveConcurrencyLimit scanLimit;
+    private final AdaptiveConcurrencyLimit exportLimit;
+    private final AdaptiveConcurrencyLimit writeLimit;
+
+    public AdaptiveConcurrencyLimitFilter(ConcurrencyLimitProperties properties) {
+        this.readLimit = new AdaptiveConcurrencyLimit("read", properties.getRead());
+        this.scanLimit = new AdaptiveConcurrencyLimit("scan", properties.getScan());
+        this.exportLimit = new AdaptiveConcurrencyLimit("export", properties.getExport());
+        this.writeLimit = new AdaptiveConcurrencyLimit("write", properties.getWrite());
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        AdaptiveConcurrencyLimit limit = limitFor(exchange.getRequest());
+        if (limit == null) {
+            return chain.filter(exchange);
+        }
+        if (!limit.tryAcquire()) {
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+            response.getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+            return response.setComplete();
+        }
+        long start = System.nanoTime();
+        AtomicLong firstElementLatency = new AtomicLong(-1);
+        if (limit == exportLimit) {
+            exchange.getResponse().beforeCommit(() -> Mono.fromRunnable(
+                    () -> firstElementLatency.compareAndSet(-1, System.nanoTime() - start)));
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        // released before the signal travels on, so whoever sees the response done sees the limit updated
+        return chain.filter(exchange)
+                .doOnSuccess(done -> release(limit, released, start, firstElementLatency, SignalType.ON_COMPLETE, exchange))
+                .doOnError(ex -> release(limit, released, start, firstElementLatency, SignalType.ON_ERROR, exchange))
+                .doOnCancel(() -> release(limit, released, start, firstElementLatency, SignalType.CANCEL, exchange));
+    }
+
+    private static void release(AdaptiveConcurrencyLimit limit, AtomicBoolean released, long start,
+                                AtomicLong firstElementLatency, SignalType signal, ServerWebExchange exchange) {
+        if (released.compareAndSet(false, true)) {
+            // only exports record their first element, for everything else the whole exchange is the latency
+            long latency = firstElementLatency.get();
+            limit.release(start, latency < 0 ? System.nanoTime() - start : latency, outcome(signal, exchange));
+        }
+    }
+
+    private AdaptiveConcurrencyLimit limitFor(ServerHttpRequest request) {
+        PathContainer path = request.getPath().pathWithinApplication();
+        if (!API.matches(path)) {
+            return null;
+        }
+        if (!HttpMethod.GET.equals(request.getMethod()) && !HttpMethod.HEAD.equals(request.getMethod())) {
+            return writeLimit;
+        }
+        if (EXPORT.matches(path)) {
+            return exportLimit;
+        }
+        for (PathPattern scan : SCANS) {
+            if (scan.matches(path)) {
+                return scanLimit;
+            }
+        }
+        return readLimit;
+    }
+
+    private static AdaptiveConcurrencyLimit.Outcome outcome(SignalType signal, ServerWebExchange exchange) {
+        if (signal == SignalType.CANCEL) {
+            // the client went away, the latency says nothing about the backend
+            return AdaptiveConcurrencyLimit.Outcome.IGNORED;
+        }
+        if (exchange.getRequest().getHeaders().containsKey(WarmupRunner.WARMUP_HEADER)) {
+            // cold-start latencies would shrink the limit before real traffic arrives
+            return AdaptiveConcurrencyLimit.Outcome.IGNORED;
+        }
+        HttpStatus status = exchange.getResponse().getStatusCode();
+        if (signal == SignalType.ON_ERROR || (status != null && status.is5xxServerError())) {
+            return AdaptiveConcurrencyLimit.Outcome.DROPPED;
+        }
+        return AdaptiveConcurrencyLimit.Outcome.SUCCESS;
+    }
+
+    public AdaptiveConcurrencyLimit getReadLimit() {
+        return readLimit;
+    }
+
+    public AdaptiveConcurrencyLimit getScanLimit() {
+        return scanLimit;
+    }
+
+    public AdaptiveConcurrencyLimit getExportLimit() {
+        return exportLimit;
+    }
+
+    public AdaptiveConcurrencyLimit getWriteLimit() {
+        return writeLimit;
+    }
+
+    public List<AdaptiveConcurrencyLimit> getLimits() {
+        return List.of(readLimit, scanLimit, exportLimit, writeLimit);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.web;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Binary alternatives to JSON for service-to-service consumers, negotiated through
+ * {@code Accept} and {@code Content-Type}. CBOR is {@link MediaType#APPLICATION_CBOR}.
+ */
+public final class BinaryMediaTypes {
+
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
+    public static final MediaType APPLICATION_SMILE = MediaType.parseMediaType(APPLICATION_SMILE_VALUE);
+
+    /**
+     * Smile values written one after another as they are produced, the binary counterpart of NDJSON.
+     */
+    public static final String APPLICATION_STREAM_SMILE_VALUE = "application/stream+x-jackson-smile";
+
+    public static final MediaType APPLICATION_STREAM_SMILE = MediaType.parseMediaType(APPLICATION_STREAM_SMILE_VALUE);
+
+    private BinaryMediaTypes() {
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CBOR encoder that also accepts {@link Flux} bodies. {@link Jackson2CborEncoder} only encodes
+ * single values through {@code encodeValue}, so a Flux is collected and written as one CBOR array, the same way the JSON
+ * encoder handles non-streaming Flux bodies. CBOR has no streaming media type.
+ */
+public class CborListEncoder extends Jackson2CborEncoder {
+
+    public CborListEncoder(ObjectMapper objectMapper) {
+        super(objectMapper, MediaType.APPLICATION_CBOR);
+    }
+
+    @Override
+    public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory,
+                                   ResolvableType elementType, MimeType mimeType, Map<String, Object> hints) {
+        if (inputStream instanceof Mono) {
+            return Mono.from(inputStream)
+                    .map(value -> encodeValue(value, bufferFactory, elementType, mimeType, hints))
+                    .flux();
+        }
+        ResolvableType listType = ResolvableType.forClassWithGenerics(List.class, elementType);
+        return Flux.from(inputStream)
+                .collectList()
+                .map(list -> encodeValue(list, bufferFactory, listType, mimeType, hints))
+                .flux();
+    }
+}
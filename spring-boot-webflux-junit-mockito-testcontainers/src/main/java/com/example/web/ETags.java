@@ -0,0 +1,82 @@
+package com.example.web;
+
+import com.example.dto.EmployeeDto;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Entity tags for employee resources. A single employee is tagged with its {@code version}
+ * (strong, {@code "3"}); a list is tagged with a weak hash over the ids and versions of its
+ * members in order, so any insert, update, delete or reordering changes it.
+ */
+public final class ETags {
+
+    private static final long OFFSET_BASIS = 0xcbf29ce484222325L;
+
+    private ETags() {
+    }
+
+    public static String forVersion(Long version) {
+        return version == null ? null : "\"" + version + "\"";
+    }
+
+    public static Mono<String> forList(Flux<EmployeeDto> versions) {
+        return versions
+                .reduce(new long[]{OFFSET_BASIS, 0}, ETags::accumulate)
+                .map(ETags::format);
+    }
+
+    public static String forList(List<EmployeeDto> employees) {
+        long[] state = {OFFSET_BASIS, 0};
+        for (EmployeeDto employee : employees) {
+            accumulate(state, employee);
+        }
+        return format(state);
+    }
+
+    /**
+     * Versions listed in an {@code If-Match} header: {@code null} for {@code *}, which matches any
+     * current version. Weak tags never match under the strong comparison {@code If-Match} uses, so
+     * they and anything unparsable are left out, possibly leaving the set empty.
+     */
+    public static Set<Long> parseIfMatch(String ifMatch) {
+        if (ifMatch.trim().equals("*")) {
+            return null;
+        }
+        Set<Long> versions = new HashSet<>();
+        for (String tag : ifMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+                try {
+                    versions.add(Long.parseLong(tag.substring(1, tag.length() - 1)));
+                } catch (NumberFormatException ex) {
+                    // not one of ours, cannot match
+                }
+            }
+        }
+        return versions;
+    }
+
+    private static long[] accumulate(long[] state, EmployeeDto employee) {
+        state[0] = hash(hash(state[0], String.valueOf(employee.getId())), String.valueOf(employee.getVersion()));
+        state[1]++;
+        return state;
+    }
+
+    private static String format(long[] state) {
+        return "W/\"" + Long.toHexString(state[0]) + "-" + state[1] + "\"";
+    }
+
+    private static long hash(long hash, String value) {
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash = (hash ^ (b & 0xff)) * 0x100000001b3L;
+        }
+        // separator, so that ("ab", "c") and ("a", "bc") differ
+        return (hash ^ 0xff) * 0x100000001b3L;
+    }
+}
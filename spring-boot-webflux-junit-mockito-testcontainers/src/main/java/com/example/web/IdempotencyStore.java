@@ -0,0 +1,260 @@
+package com.example.web;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the first successful response for each {@code Idempotency-Key} and returns it for
+ * repeats of the same request, marked with {@code Idempotent-Replayed: true}.
+ * <p>
+ * The in-flight result is shared, so concurrent duplicates wait for the one write instead of
+ * running their own. Entries live in a bounded LRU map for {@code ttl}; with a
+ * {@link ReactiveMongoTemplate} they are also written to the {@value #COLLECTION} collection,
+ * whose TTL index expires them, so repeats survive restarts and reach other instances once the
+ * first request has completed. Concurrent duplicates on different instances are not coalesced.
+ * <p>
+ * Replays keep the status, the body and the {@code Location} and {@code ETag} headers. Failed
+ * requests are not remembered and can be retried with the same key. Reusing a key for a
+ * different request body answers {@code 422 Unprocessable Entity}.
+ */
+@Slf4j
+public class IdempotencyStore {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    public static final String COLLECTION = "idempotency_keys";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    // replayed response headers and the fields they are stored in
+    private static final Map<String, String> STORED_HEADERS = Map.of(
+            HttpHeaders.LOCATION, "location",
+            HttpHeaders.ETAG, "etag");
+
+    private final Map<String, Entry> entries;
+    private final ObjectMapper objectMapper;
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final Duration ttl;
+    private final Mono<String> ttlIndex;
+    private final LongAdder replayed = new LongAdder();
+
+    public IdempotencyStore(int maxEntries, Duration ttl, ObjectMapper objectMapper, ReactiveMongoTemplate mongoTemplate) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.ttl = ttl;
+        this.objectMapper = objectMapper;
+        this.mongoTemplate = mongoTemplate;
+        this.ttlIndex = mongoTemplate == null ? Mono.empty() : mongoTemplate.indexOps(COLLECTION)
+                .ensureIndex(new Index().on("createdAt", Sort.Direction.ASC).expire(ttl))
+                .cache();
+    }
+
+    /**
+     * Runs {@code action} once per {@code scope} and {@code key}, replaying its response for
+     * repeats made with the same {@code request}.
+     */
+    public <T> Mono<ResponseEntity<T>> execute(String scope, String key, Object request, Class<T> bodyType,
+                                               Supplier<Mono<ResponseEntity<T>>> action) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    HEADER + " must be 1 to " + MAX_KEY_LENGTH + " characters"));
+        }
+        String id = scope + " " + key;
+        String fingerprint = fingerprint(request);
+        return Mono.defer(() -> {
+            Entry entry;
+            boolean owner = false;
+            synchronized (entries) {
+                entry = entries.get(id);
+                if (entry == null || entry.isExpired(ttl)) {
+                    entry = new Entry(fingerprint);
+                    entry.result = run(id, entry, bodyType, action).cache();
+                    entries.put(id, entry);
+                    owner = true;
+                }
+            }
+            if (!entry.fingerprint.equals(fingerprint)) {
+                return Mono.error(keyReused());
+            }
+            boolean replay = !owner;
+            return entry.result.flatMap(stored -> {
+                if (!stored.fingerprint.equals(fingerprint)) {
+                    return Mono.error(keyReused());
+                }
+                if (replay || stored.fromStore) {
+                    replayed.increment();
+                }
+                return Mono.just(stored.toResponse(objectMapper, bodyType, replay || stored.fromStore));
+            });
+        });
+    }
+
+    public int getSize() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getReplayed() {
+        return replayed.sum();
+    }
+
+    private <T> Mono<StoredResponse> run(String id, Entry entry, Class<T> bodyType,
+                                         Supplier<Mono<ResponseEntity<T>>> action) {
+        return find(id)
+                .switchIfEmpty(Mono.defer(action)
+                        .map(response -> StoredResponse.of(entry.fingerprint, response))
+                        .flatMap(stored -> persist(id, stored).thenReturn(stored)))
+                .doOnError(ex -> {
+                    // only successful responses are remembered, the client may retry with the same key
+                    synchronized (entries) {
+                        entries.remove(id, entry);
+                    }
+                });
+    }
+
+    private Mono<StoredResponse> find(String id) {
+        if (mongoTemplate == null) {
+            return Mono.empty();
+        }
+        return mongoTemplate.findById(id, Document.class, COLLECTION)
+                // the TTL monitor only runs once a minute
+                .filter(document -> document.getDate("createdAt").getTime() + ttl.toMillis() > System.currentTimeMillis())
+                .map(StoredResponse::fromDocument)
+                .onErrorResume(ex -> {
+                    log.warn("Could not read idempotency key '{}'", id, ex);
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<Void> persist(String id, StoredResponse stored) {
+        if (mongoTemplate == null) {
+            return Mono.empty();
+        }
+        return ttlIndex
+                .then(Mono.fromCallable(() -> stored.toDocument(id, objectMapper)))
+                .flatMap(document -> mongoTemplate.save(document, COLLECTION))
+                .then()
+                .onErrorResume(ex -> {
+                    log.warn("Could not store idempotency key '{}'", id, ex);
+                    return Mono.empty();
+                });
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("Could not fingerprint request", ex);
+        }
+    }
+
+    private static ResponseStatusException keyReused() {
+        return new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                HEADER + " was already used for a different request");
+    }
+
+    private static class Entry {
+
+        final String fingerprint;
+        final long createdAt = System.nanoTime();
+        Mono<StoredResponse> result;
+
+        Entry(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        boolean isExpired(Duration ttl) {
+            return System.nanoTime() - createdAt > ttl.toNanos();
+        }
+    }
+
+    private static class StoredResponse {
+
+        final String fingerprint;
+        final HttpStatus status;
+        final HttpHeaders headers;
+        // the live body for responses made here, the JSON body for responses read back from Mongo
+        final Object body;
+        final boolean fromStore;
+
+        StoredResponse(String fingerprint, HttpStatus status, HttpHeaders headers, Object body, boolean fromStore) {
+            this.fingerprint = fingerprint;
+            this.status = status;
+            this.headers = headers;
+            this.body = body;
+            this.fromStore = fromStore;
+        }
+
+        static StoredResponse of(String fingerprint, ResponseEntity<?> response) {
+            HttpHeaders headers = new HttpHeaders();
+            STORED_HEADERS.forEach((header, field) -> {
+                if (response.getHeaders().getFirst(header) != null) {
+                    headers.set(header, response.getHeaders().getFirst(header));
+                }
+            });
+            return new StoredResponse(fingerprint, response.getStatusCode(), headers, response.getBody(), false);
+        }
+
+        static StoredResponse fromDocument(Document document) {
+            HttpHeaders headers = new HttpHeaders();
+            STORED_HEADERS.forEach((header, field) -> {
+                if (document.getString(field) != null) {
+                    headers.set(header, document.getString(field));
+                }
+            });
+            return new StoredResponse(document.getString("fingerprint"), HttpStatus.valueOf(document.getInteger("status")),
+                    headers, document.getString("body"), true);
+        }
+
+        Document toDocument(String id, ObjectMapper objectMapper) throws JsonProcessingException {
+            Document document = new Document("_id", id)
+                    .append("fingerprint", fingerprint)
+                    .append("status", status.value());
+            STORED_HEADERS.forEach((header, field) -> document.append(field, headers.getFirst(header)));
+            return document
+                    .append("body", body == null ? null : objectMapper.writeValueAsString(body))
+                    .append("createdAt", new Date());
+        }
+
+        <T> ResponseEntity<T> toResponse(ObjectMapper objectMapper, Class<T> bodyType, boolean replayed) {
+            HttpHeaders responseHeaders = new HttpHeaders();
+            responseHeaders.addAll(headers);
+            if (replayed) {
+                responseHeaders.set(REPLAYED_HEADER, "true");
+            }
+            if (!fromStore || body == null) {
+                return new ResponseEntity<>(bodyType.cast(body), responseHeaders, status);
+            }
+            try {
+                return new ResponseEntity<>(objectMapper.readValue((String) body, bodyType), responseHeaders, status);
+            } catch (JsonProcessingException ex) {
+                throw new IllegalStateException("Could not replay response", ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.web;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Per-request phase durations rendered as a {@code Server-Timing} header, for example
+ * {@code db;dur=3.1, map;dur=0.2, ser;dur=1.4}. The {@link ServerTimingFilter} puts an instance
+ * into the Reactor context; the helpers below are no-ops when it is absent, so the service
+ * can use them unconditionally.
+ */
+public final class ServerTiming {
+
+    public static final String HEADER = "Server-Timing";
+    public static final String DB = "db";
+    public static final String MAP = "map";
+    public static final String SER = "ser";
+
+    private final Map<String, Long> phases = new LinkedHashMap<>();
+
+    public static ServerTiming from(ContextView context) {
+        return context.getOrDefault(ServerTiming.class, null);
+    }
+
+    /**
+     * Records the time from subscription to the terminal signal of {@code source}.
+     */
+    public static <T> Mono<T> time(String phase, Mono<T> source) {
+        return Mono.deferContextual(context -> {
+            ServerTiming timing = from(context);
+            if (timing == null) {
+                return source;
+            }
+            long start = System.nanoTime();
+            return source.doFinally(signal -> timing.record(phase, System.nanoTime() - start));
+        });
+    }
+
+    public static <T> Flux<T> time(String phase, Flux<T> source) {
+        return Flux.deferContextual(context -> {
+            ServerTiming timing = from(context);
+            if (timing == null) {
+                return source;
+            }
+            long start = System.nanoTime();
+            return source.doFinally(signal -> timing.record(phase, System.nanoTime() - start));
+        });
+    }
+
+    /**
+     * A {@code map} step for {@link Mono#transformDeferredContextual} that records the time
+     * spent in {@code mapper} as the {@link #MAP} phase.
+     */
+    public static <T, R> BiFunction<Mono<T>, ContextView, Mono<R>> map(Function<? super T, ? extends R> mapper) {
+        return (source, context) -> {
+            ServerTiming timing = from(context);
+            if (timing == null) {
+                return source.map(mapper);
+            }
+            return source.map(value -> {
+                long start = System.nanoTime();
+                R result = mapper.apply(value);
+                timing.record(MAP, System.nanoTime() - start);
+                return result;
+            });
+        };
+    }
+
+    public synchronized void record(String phase, long nanos) {
+        phases.merge(phase, nanos, Long::sum);
+    }
+
+    public synchronized String toHeaderValue() {
+        StringBuilder header = new StringBuilder(48);
+        for (Map.Entry<String, Long> phase : phases.entrySet()) {
+            if (header.length() > 0) {
+                header.append(", ");
+            }
+            long tenthsOfMillis = phase.getValue() / 100_000;
+            header.append(phase.getKey()).append(";dur=")
+                    .append(tenthsOfMillis / 10).append('.').append(tenthsOfMillis % 10);
+        }
+        return header.toString();
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.web;
+
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Makes a {@link ServerTiming} available to the request's Reactor context and writes it as a
+ * header just before the response is committed. Single-value bodies are committed after they
+ * are encoded, so their header includes the serialization phase.
+ */
+public class ServerTimingFilter implements WebFilter {
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerTiming timing = new ServerTiming();
+        ServerHttpResponse response = exchange.getResponse();
+        response.beforeCommit(() -> {
+            String value = timing.toHeaderValue();
+            if (!value.isEmpty()) {
+                response.getHeaders().add(ServerTiming.HEADER, value);
+            }
+            return Mono.empty();
+        });
+        return chain.filter(exchange)
+                .contextWrite(context -> context.put(ServerTiming.class, timing));
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * JSON encoder that records the time spent serializing as the {@link ServerTiming#SER} phase.
+ * Single values and non-streaming {@link Flux} bodies, which are collected into a list, are
+ * serialized by {@link #encodeValue} and timed there; streamed elements are timed from their
+ * arrival to their encoded buffer.
+ */
+public class ServerTimingJackson2JsonEncoder extends Jackson2JsonEncoder {
+
+    private static final String TIMING_HINT = ServerTimingJackson2JsonEncoder.class.getName() + ".timing";
+
+    public ServerTimingJackson2JsonEncoder(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory,
+                                   ResolvableType elementType, MimeType mimeType, Map<String, Object> hints) {
+        return Flux.deferContextual(context -> {
+            ServerTiming timing = ServerTiming.from(context);
+            if (timing == null) {
+                return super.encode(inputStream, bufferFactory, elementType, mimeType, hints);
+            }
+            if (getStreamingMediaTypeSeparator(mimeType) == null) {
+                // encodeValue has no Reactor context, the timing travels in the hints
+                Map<String, Object> timedHints = hints == null ? new HashMap<>() : new HashMap<>(hints);
+                timedHints.put(TIMING_HINT, timing);
+                return super.encode(inputStream, bufferFactory, elementType, mimeType, timedHints);
+            }
+            AtomicLong valueReceivedAt = new AtomicLong();
+            Flux<?> input = Flux.from(inputStream).doOnNext(value -> valueReceivedAt.set(System.nanoTime()));
+            return super.encode(input, bufferFactory, elementType, mimeType, hints)
+                    .doOnNext(buffer -> {
+                        long start = valueReceivedAt.getAndSet(0);
+                        if (start != 0) {
+                            timing.record(ServerTiming.SER, System.nanoTime() - start);
+                        }
+                    });
+        });
+    }
+
+    @Override
+    public DataBuffer encodeValue(Object value, DataBufferFactory bufferFactory, ResolvableType valueType,
+                                  MimeType mimeType, Map<String, Object> hints) {
+        ServerTiming timing = hints == null ? null : (ServerTiming) hints.get(TIMING_HINT);
+        if (timing == null) {
+            return super.encodeValue(value, bufferFactory, valueType, mimeType, hints);
+        }
+        long start = System.nanoTime();
+        try {
+            return super.encodeValue(value, bufferFactory, valueType, mimeType, hints);
+        } finally {
+            timing.record(ServerTiming.SER, System.nanoTime() - start);
+        }
+    }
+}
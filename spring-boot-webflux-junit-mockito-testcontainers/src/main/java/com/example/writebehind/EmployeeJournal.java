@@ -0,0 +1,205 @@
+package com.example.writebehind;
+
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Memory-mapped ring buffer of accepted employee documents.
+ * <p>
+ * Layout: a 16 byte header ({@code magic}, {@code version}, {@code checkpoint}) followed by
+ * records of {@code [length][crc32][BSON payload]}. A zero length marks the end and a length of
+ * {@code -1} continues at the first record slot. Each record writes its payload, checksum and
+ * the terminator after it before publishing its length (or the wrap marker that leads to it),
+ * so a torn record is never read back. {@code checkpoint} is the offset up to which records are
+ * known to be in Mongo; {@link #recover()} returns everything after it.
+ * <p>
+ * A record that does not fit before the end of the file wraps to the start as long as it ends
+ * before the checkpoint, so space is reclaimed as soon as the oldest records are in Mongo and
+ * the journal only fills up when Mongo falls behind by more than its capacity. Writes go to
+ * the page cache and survive a process crash; {@code fsync} additionally forces every append
+ * to disk.
+ */
+public class EmployeeJournal implements Closeable {
+
+    private static final int MAGIC = 0x454a524e;
+    private static final int VERSION = 1;
+    private static final int CHECKPOINT_OFFSET = 8;
+    private static final int HEADER_SIZE = 16;
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final int TERMINATOR_SIZE = 4;
+    private static final int WRAP = -1;
+
+    private static final DocumentCodec CODEC = new DocumentCodec();
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final boolean fsync;
+
+    private long writePosition;
+    private long checkpoint;
+
+    public EmployeeJournal(Path path, int capacity, boolean fsync) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(capacity, channel.size()));
+        this.fsync = fsync;
+        if (buffer.getInt(0) != MAGIC) {
+            buffer.putInt(HEADER_SIZE, 0);
+            buffer.putLong(CHECKPOINT_OFFSET, HEADER_SIZE);
+            buffer.putInt(4, VERSION);
+            buffer.putInt(0, MAGIC);
+            buffer.force();
+        } else if (buffer.getInt(4) != VERSION) {
+            throw new IOException("Unsupported journal version " + buffer.getInt(4) + " in " + path);
+        }
+        this.checkpoint = buffer.getLong(CHECKPOINT_OFFSET);
+        this.writePosition = checkpoint;
+    }
+
+    /**
+     * Reads the records after the checkpoint and positions the journal after the last valid one.
+     */
+    public synchronized List<Entry> recover() {
+        List<Entry> entries = new ArrayList<>();
+        long position = checkpoint;
+        boolean wrapped = false;
+        // a record may end right before the last terminator slot, so the wrap marker can sit in
+        // the final four bytes where no record header fits
+        while (position + TERMINATOR_SIZE <= buffer.capacity()) {
+            int length = buffer.getInt((int) position);
+            if (length == WRAP && !wrapped) {
+                position = HEADER_SIZE;
+                wrapped = true;
+                continue;
+            }
+            if (length <= 0 || position + RECORD_HEADER_SIZE + length > (wrapped ? checkpoint : buffer.capacity())) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            buffer.duplicate().position((int) position + RECORD_HEADER_SIZE).get(payload);
+            if (crc(payload) != buffer.getInt((int) position + 4)) {
+                break;
+            }
+            position += RECORD_HEADER_SIZE + length;
+            entries.add(new Entry(new RawBsonDocument(payload).decode(CODEC), position));
+        }
+        writePosition = position;
+        return entries;
+    }
+
+    /**
+     * Appends the document and returns its entry, or {@code null} if the journal is full.
+     */
+    public synchronized Entry append(Document document) {
+        if (checkpoint == writePosition && writePosition != HEADER_SIZE) {
+            // everything is in Mongo: terminate the start first, then move the checkpoint there
+            buffer.putInt(HEADER_SIZE, 0);
+            buffer.putLong(CHECKPOINT_OFFSET, HEADER_SIZE);
+            checkpoint = HEADER_SIZE;
+            writePosition = HEADER_SIZE;
+        }
+        ByteBuffer bson = new RawBsonDocument(document, CODEC).getByteBuffer().asNIO();
+        byte[] payload = new byte[bson.remaining()];
+        bson.get(payload);
+        int recordSize = RECORD_HEADER_SIZE + payload.length;
+        // the terminator after a record must never overwrite the oldest live record
+        long position = writePosition;
+        boolean wrap = false;
+        if (writePosition < checkpoint) {
+            if (position + recordSize + TERMINATOR_SIZE > checkpoint) {
+                return null;
+            }
+        } else if (position + recordSize + TERMINATOR_SIZE > buffer.capacity()) {
+            if (HEADER_SIZE + recordSize + TERMINATOR_SIZE > checkpoint) {
+                return null;
+            }
+            position = HEADER_SIZE;
+            wrap = true;
+        }
+        long end = position + recordSize;
+        buffer.duplicate().position((int) position + RECORD_HEADER_SIZE).put(payload);
+        buffer.putInt((int) position + 4, crc(payload));
+        buffer.putInt((int) end, 0);
+        buffer.putInt((int) position, payload.length);
+        if (wrap) {
+            buffer.putInt((int) writePosition, WRAP);
+        }
+        if (fsync) {
+            buffer.force();
+        }
+        writePosition = end;
+        return new Entry(document, end);
+    }
+
+    /**
+     * Marks every record up to and including the one ending at {@code end} as written to Mongo.
+     */
+    public synchronized void checkpoint(long end) {
+        boolean live = checkpoint <= writePosition
+                ? end > checkpoint && end <= writePosition
+                : end > checkpoint || end <= writePosition;
+        if (live) {
+            buffer.putLong(CHECKPOINT_OFFSET, end);
+            checkpoint = end;
+            if (fsync) {
+                buffer.force();
+            }
+        }
+    }
+
+    public synchronized long getUsedBytes() {
+        return checkpoint <= writePosition
+                ? writePosition - checkpoint
+                : buffer.capacity() - checkpoint + writePosition - HEADER_SIZE;
+    }
+
+    public int getCapacity() {
+        return buffer.capacity();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    private static int crc(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload, 0, payload.length);
+        return (int) crc.getValue();
+    }
+
+    public static class Entry {
+
+        private final Document document;
+        private final long end;
+
+        Entry(Document document, long end) {
+            this.document = document;
+            this.end = end;
+        }
+
+        public Document getDocument() {
+            return document;
+        }
+
+        public long getEnd() {
+            return end;
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.example.writebehind;
+
+import com.example.dto.EmployeeDto;
+import com.example.dto.WriteBehindEntryStatus;
+import com.example.dto.WriteBehindStatus;
+import com.example.entity.Employee;
+import com.example.mapper.EmployeeConverters;
+import com.example.mapper.EmployeeMapper;
+import com.example.service.EmployeeStatsService;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.WriteModel;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Accepts employee creates into the {@link EmployeeJournal} and group-commits them to Mongo.
+ * <p>
+ * Ids are assigned on accept, so the caller gets the final id with the {@code 202 Accepted}
+ * response. A single flusher thread drains whatever accumulated since its last run in batches
+ * of up to {@code batchSize} unordered upserts, then moves the journal checkpoint past the
+ * batch. Each upsert only uses {@code $setOnInsert} on the pre-assigned {@code _id}, so
+ * replaying records that reached Mongo just before a crash leaves the stored documents alone.
+ * <p>
+ * Rejected documents (for example a duplicate email) are counted as failed and dropped, and
+ * the reason is kept per id for the most recent {@value #MAX_FAILURES} of them so that
+ * {@link #getState(String)} can report it. Any other error keeps the batch for the next run.
+ * Until its batch is committed, an accepted employee is not visible to reads.
+ */
+@Slf4j
+public class EmployeeWriteBehind implements Closeable {
+
+    private static final EmployeeConverters.EmployeeToDocumentConverter TO_DOCUMENT =
+            new EmployeeConverters.EmployeeToDocumentConverter();
+    private static final EmployeeConverters.DocumentToEmployeeConverter TO_EMPLOYEE =
+            new EmployeeConverters.DocumentToEmployeeConverter();
+    static final int MAX_FAILURES = 1000;
+
+    private final EmployeeJournal journal;
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final EmployeeStatsService employeeStatsService;
+    private final int batchSize;
+    private final Duration writeTimeout;
+
+    private final Queue<EmployeeJournal.Entry> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicLong pending = new AtomicLong();
+    private final LongAdder committed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final Set<String> pendingIds = ConcurrentHashMap.newKeySet();
+    private final Map<String, String> failures = Collections.synchronizedMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return size() > MAX_FAILURES;
+        }
+    });
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "employee-write-behind");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile String lastError;
+    // only touched by the flusher thread
+    private List<EmployeeJournal.Entry> retry;
+
+    public EmployeeWriteBehind(EmployeeJournal journal, ReactiveMongoTemplate mongoTemplate,
+                               EmployeeStatsService employeeStatsService, int batchSize, Duration writeTimeout) {
+        this.journal = journal;
+        this.mongoTemplate = mongoTemplate;
+        this.employeeStatsService = employeeStatsService;
+        this.batchSize = batchSize;
+        this.writeTimeout = writeTimeout;
+    }
+
+    /**
+     * Replays the records left in the journal and starts the flusher.
+     */
+    public void start(Duration flushInterval) {
+        List<EmployeeJournal.Entry> recovered = journal.recover();
+        if (!recovered.isEmpty()) {
+            log.info("Replaying {} employee writes from the journal", recovered.size());
+            queue.addAll(recovered);
+            recovered.forEach(entry -> pendingIds.add(idOf(entry)));
+            pending.addAndGet(recovered.size());
+        }
+        long interval = flushInterval.toMillis();
+        flusher.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Journals the employee under a new id, or completes empty if the journal is full. Runs on
+     * the bounded elastic scheduler since appending may have to fault in or force mapped pages.
+     */
+    public Mono<EmployeeDto> accept(EmployeeDto employeeDto) {
+        return Mono.fromCallable(() -> {
+            EmployeeDto accepted = new EmployeeDto(new ObjectId().toHexString(), employeeDto.getFirstName(),
+                    employeeDto.getLastName(), employeeDto.getEmail(), 0L);
+            Document document = TO_DOCUMENT.convert(EmployeeMapper.mapToEmployee(accepted));
+            // journal order and queue order must agree for the checkpoint to be correct
+            synchronized (this) {
+                EmployeeJournal.Entry entry = journal.append(document);
+                if (entry == null) {
+                    return null;
+                }
+                pendingIds.add(accepted.getId());
+                queue.add(entry);
+            }
+            pending.incrementAndGet();
+            return accepted;
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Returns where the write of an accepted employee stands, or {@code null} once it is no
+     * longer tracked: committed, or failed long enough ago to have been evicted.
+     */
+    public WriteBehindEntryStatus getState(String employeeId) {
+        String error = failures.get(employeeId);
+        if (error != null) {
+            return new WriteBehindEntryStatus(employeeId, WriteBehindEntryStatus.State.FAILED, error);
+        }
+        if (pendingIds.contains(employeeId)) {
+            return new WriteBehindEntryStatus(employeeId, WriteBehindEntryStatus.State.PENDING, null);
+        }
+        return null;
+    }
+
+    public WriteBehindStatus getStatus() {
+        return new WriteBehindStatus(pending.get(), committed.sum(), failed.sum(),
+                journal.getUsedBytes(), journal.getCapacity(), lastError);
+    }
+
+    public long getPending() {
+        return pending.get();
+    }
+
+    public long getCommitted() {
+        return committed.sum();
+    }
+
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    public long getJournalUsedBytes() {
+        return journal.getUsedBytes();
+    }
+
+    void flush() {
+        try {
+            while (true) {
+                List<EmployeeJournal.Entry> batch = retry != null ? retry : poll();
+                retry = null;
+                if (batch.isEmpty() || !write(batch)) {
+                    return;
+                }
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Employee write-behind flush failed", ex);
+        }
+    }
+
+    private List<EmployeeJournal.Entry> poll() {
+        List<EmployeeJournal.Entry> batch = new ArrayList<>();
+        EmployeeJournal.Entry entry;
+        while (batch.size() < batchSize && (entry = queue.poll()) != null) {
+            batch.add(entry);
+        }
+        return batch;
+    }
+
+    private boolean write(List<EmployeeJournal.Entry> batch) {
+        List<WriteModel<Document>> models = new ArrayList<>(batch.size());
+        for (EmployeeJournal.Entry entry : batch) {
+            Document document = entry.getDocument();
+            models.add(new UpdateOneModel<>(new Document("_id", document.get("_id")),
+                    new Document("$setOnInsert", document), new UpdateOptions().upsert(true)));
+        }
+
+        List<BulkWriteUpsert> upserts;
+        try {
+            BulkWriteResult result = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Employee.class))
+                    .flatMap(collection -> Mono.from(collection.bulkWrite(models, new BulkWriteOptions().ordered(false))))
+                    .block(writeTimeout);
+            upserts = result == null ? List.of() : result.getUpserts();
+        } catch (MongoBulkWriteException ex) {
+            // rejected documents will never succeed, the rest of the batch went through
+            failed.add(ex.getWriteErrors().size());
+            for (BulkWriteError error : ex.getWriteErrors()) {
+                failures.put(idOf(batch.get(error.getIndex())), error.getMessage());
+            }
+            lastError = ex.getWriteErrors().get(0).getMessage();
+            log.warn("Dropped {} journaled employee writes: {}", ex.getWriteErrors().size(), lastError);
+            upserts = ex.getWriteResult().getUpserts();
+        } catch (RuntimeException ex) {
+            lastError = ex.getMessage();
+            log.warn("Could not write {} journaled employees, retrying", batch.size(), ex);
+            retry = batch;
+            return false;
+        }
+
+        journal.checkpoint(batch.get(batch.size() - 1).getEnd());
+        batch.forEach(entry -> pendingIds.remove(idOf(entry)));
+        pending.addAndGet(-batch.size());
+        committed.add(upserts.size());
+        // replayed records that were already stored are not upserted and not counted again
+        Flux.fromIterable(upserts)
+                .flatMap(upsert -> employeeStatsService.recordSaved(TO_EMPLOYEE.convert(batch.get(upsert.getIndex()).getDocument())))
+                .then()
+                .block(writeTimeout);
+        return true;
+    }
+
+    private static String idOf(EmployeeJournal.Entry entry) {
+        return entry.getDocument().get("_id").toString();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flusher.shutdown();
+        try {
+            if (flusher.awaitTermination(writeTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                flush();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            journal.close();
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.example;
+
+import com.example.config.ConcurrencyLimitProperties;
+import com.example.web.AdaptiveConcurrencyLimit;
+import com.example.web.AdaptiveConcurrencyLimitFilter;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AdaptiveConcurrencyLimitFilterTests {
+
+    private static final Duration TARGET_LATENCY = Duration.ofMillis(20);
+    private static final int CLIENTS = 64;
+    private static final int REQUESTS = 2000;
+
+    @Test
+    public void givenOverload_whenLimitEnabled_thenLimitConvergesBelowClients() {
+        LoadResult unlimited = runLoad(null);
+
+        AdaptiveConcurrencyLimitFilter filter = new AdaptiveConcurrencyLimitFilter(properties());
+        // let the limit converge before measuring the steady state
+        runLoad(filter);
+        LoadResult limited = runLoad(filter);
+
+        assertThat(unlimited.rejected).isZero();
+        assertThat(limited.rejected).isPositive();
+        assertThat(limited.latencies).isNotEmpty();
+        // the backend stays within the target up to 16 concurrent requests
+        assertThat(unlimited.maxInFlight).isGreaterThan(24);
+        assertThat(filter.getReadLimit().getLimit()).isBetween(2, 24);
+        assertThat(limited.maxInFlight).isLessThan(unlimited.maxInFlight);
+        // queueing in the backend drives the unlimited p99 up, the limit keeps it near the target
+        assertThat(limited.p99Millis()).isLessThan(unlimited.p99Millis() / 2);
+        assertThat(limited.p99Millis()).isLessThanOrEqualTo(3.0 * TARGET_LATENCY.toMillis());
+    }
+
+    @Test
+    public void givenSlowScans_whenFilter_thenReadLimitUnaffected() {
+        ConcurrencyLimitProperties properties = properties();
+        properties.getScan().setTargetLatency(Duration.ZERO);
+        AdaptiveConcurrencyLimitFilter filter = new AdaptiveConcurrencyLimitFilter(properties);
+
+        for (String path : List.of("/api/employees", "/api/employees/search", "/api/employees/stats/email-domains")) {
+            filter.filter(MockServerWebExchange.from(MockServerHttpRequest.get(path)),
+                    ex -> Mono.delay(Duration.ofMillis(1)).then()).block();
+        }
+
+        assertThat(filter.getScanLimit().getLimit()).isLessThan(properties.getScan().getInitialLimit());
+        assertThat(filter.getReadLimit().getLimit()).isEqualTo(properties.getRead().getInitialLimit());
+        assertThat(filter.getExportLimit().getLimit()).isEqualTo(properties.getExport().getInitialLimit());
+    }
+
+    @Test
+    public void givenLongExportWithPromptFirstElement_whenFilter_thenNoLimitShrinks() {
+        ConcurrencyLimitProperties properties = properties();
+        properties.getScan().setTargetLatency(TARGET_LATENCY);
+        properties.getExport().setTargetLatency(TARGET_LATENCY);
+        AdaptiveConcurrencyLimitFilter filter = new AdaptiveConcurrencyLimitFilter(properties);
+
+        // committed right away, then streams for far longer than the target
+        filter.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/api/employees/export")),
+                ex -> ex.getResponse().setComplete().then(Mono.delay(TARGET_LATENCY.multipliedBy(5))).then()).block();
+
+        assertThat(filter.getExportLimit().getLimit()).isEqualTo(properties.getExport().getInitialLimit());
+        assertThat(filter.getScanLimit().getLimit()).isEqualTo(properties.getScan().getInitialLimit());
+    }
+
+    @Test
+    public void givenSlowFirstExportElement_whenFilter_thenExportLimitShrinks() {
+        ConcurrencyLimitProperties properties = properties();
+        properties.getExport().setTargetLatency(TARGET_LATENCY);
+        AdaptiveConcurrencyLimitFilter filter = new AdaptiveConcurrencyLimitFilter(properties);
+
+        filter.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/api/employees/export")),
+                ex -> Mono.delay(TARGET_LATENCY.multipliedBy(5)).then(ex.getResponse().setComplete())).block();
+
+        assertThat(filter.getExportLimit().getLimit()).isLessThan(properties.getExport().getInitialLimit());
+        assertThat(filter.getScanLimit().getLimit()).isEqualTo(properties.getScan().getInitialLimit());
+    }
+
+    @Test
+    public void givenBurstOfSlowRequests_whenReleased_thenShrinkOnce() {
+        ConcurrencyLimitProperties.Route route = new ConcurrencyLimitProperties.Route(TARGET_LATENCY);
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit("read", route);
+        for (int i = 0; i < 10; i++) {
+            assertThat(limit.tryAcquire()).isTrue();
+        }
+
+        // all ten were admitted before the first one came back slow
+        long slow = TARGET_LATENCY.toNanos() * 10;
+        for (int i = 0; i < 10; i++) {
+            limit.release(slow, AdaptiveConcurrencyLimit.Outcome.DROPPED);
+        }
+
+        assertThat(limit.getLimit()).isEqualTo((int) (route.getInitialLimit() * route.getBackoffRatio()));
+    }
+
+    @Test
+    public void givenRequestOutsideApi_whenFilter_thenNotLimited() {
+        ConcurrencyLimitProperties properties = properties();
+        properties.getRead().setInitialLimit(0);
+        properties.getRead().setMinLimit(0);
+        AdaptiveConcurrencyLimitFilter filter = new AdaptiveConcurrencyLimitFilter(properties);
+
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/actuator/health"));
+        filter.filter(exchange, ex -> Mono.empty()).block();
+        assertThat(exchange.getResponse().getStatusCode()).isNull();
+
+        MockServerWebExchange similar = MockServerWebExchange.from(MockServerHttpRequest.get("/api/employeesX/1"));
+        filter.filter(similar, ex -> Mono.empty()).block();
+        assertThat(similar.getResponse().getStatusCode()).isNull();
+
+        MockServerWebExchange limited = MockServerWebExchange.from(MockServerHttpRequest.get("/api/employees/1"));
+        filter.filter(limited, ex -> Mono.empty()).block();
+        assertThat(limited.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    private static ConcurrencyLimitProperties properties() {
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+        properties.getRead().setTargetLatency(TARGET_LATENCY);
+        return properties;
+    }
+
+    /**
+     * Drives {@link #CLIENTS} concurrent callers against a simulated backend that serves
+     * 4 requests in parallel at 5ms each and slows down linearly beyond that, like a saturated
+     * database pool.
+     */
+    private static LoadResult runLoad(AdaptiveConcurrencyLimitFilter filter) {
+        AtomicInteger backendInFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        WebFilterChain backend = exchange -> Mono.defer(() -> {
+            int concurrent = backendInFlight.incrementAndGet();
+            maxInFlight.accumulateAndGet(concurrent, Math::max);
+            long serviceMillis = 5L * Math.max(1, (concurrent + 3) / 4);
+            return Mono.delay(Duration.ofMillis(serviceMillis)).then();
+        }).doFinally(signal -> backendInFlight.decrementAndGet());
+
+        List<Long> accepted = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger rejected = new AtomicInteger();
+
+        Flux.range(0, REQUESTS)
+                .flatMap(i -> Mono.defer(() -> {
+                    MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/employees/1"));
+                    long start = System.nanoTime();
+                    Mono<Void> call = filter == null ? backend.filter(exchange) : filter.filter(exchange, backend);
+                    return call.doOnSuccess(v -> {
+                        if (exchange.getResponse().getStatusCode() == HttpStatus.SERVICE_UNAVAILABLE) {
+                            rejected.incrementAndGet();
+                        } else {
+                            accepted.add(System.nanoTime() - start);
+                        }
+                    }).then(Mono.defer(() -> rejectedBackoff(exchange)));
+                }), CLIENTS)
+                .blockLast(Duration.ofMinutes(1));
+
+        return new LoadResult(new ArrayList<>(accepted), rejected.get(), maxInFlight.get());
+    }
+
+    private static Mono<Void> rejectedBackoff(MockServerWebExchange exchange) {
+        // a rejected client waits a little before its next call, as a retrying client would
+        return exchange.getResponse().getStatusCode() == HttpStatus.SERVICE_UNAVAILABLE
+                ? Mono.delay(Duration.ofMillis(2)).then()
+                : Mono.empty();
+    }
+
+    private static final class LoadResult {
+        private final List<Long> latencies;
+        private final int rejected;
+        private final int maxInFlight;
+
+        private LoadResult(List<Long> latencies, int rejected, int maxInFlight) {
+            Collections.sort(latencies);
+            this.latencies = latencies;
+            this.rejected = rejected;
+            this.maxInFlight = maxInFlight;
+        }
+
+        private double p99Millis() {
+            int index = (int) Math.ceil(latencies.size() * 0.99) - 1;
+            return latencies.get(Math.max(index, 0)) / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.example;
+
+import com.example.controller.EmployeeController;
+import com.example.dto.EmployeeCount;
+import com.example.dto.EmployeeDto;
+import com.example.entity.Employee;
+import com.example.mapper.EmployeeMapper;
+import com.example.repository.EmployeeRepository;
+import com.example.service.EmployeeService;
+import com.example.service.EmployeeServiceImpl;
+import com.example.service.PipelineMetrics;
+import com.example.service.EmployeeStatsService;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextQuery;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import org.springframework.web.server.adapter.WebHttpHandlerBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Proxy;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Allocation budgets of the {@link EmployeeController} endpoints, through the real
+ * {@link EmployeeServiceImpl} and Jackson, over 100 in-memory employees. Requests go straight to
+ * the application's {@link HttpHandler} rather than through {@code WebTestClient}, which would
+ * move them to another thread; with the in-memory stubs every exchange then completes on the
+ * calling thread, where {@link AllocationBudgets} counts its allocations.
+ * <p>
+ * The {@link ReactiveMongoTemplate} is a stub-only Mockito mock, so its dispatch is part of the
+ * budgets of the endpoints that query through it.
+ */
+@WebFluxTest(controllers = EmployeeController.class)
+public class EmployeeAllocationBudgetTests {
+
+    private static final int EMPLOYEES = 100;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private InMemoryEmployees employees;
+
+    private HttpHandler httpHandler;
+
+    private final AllocationBudgets budgets = new AllocationBudgets();
+
+    @BeforeEach
+    public void setup() {
+        httpHandler = WebHttpHandlerBuilder.applicationContext(applicationContext).build();
+        employees.reset();
+    }
+
+    @Test
+    public void givenNewEmployee_whenSaveEmployee_thenWithinAllocationBudget() throws Exception {
+        budgets.assertWithinBudget("employee.create", employees::reset, () -> perform(() ->
+                MockServerHttpRequest.post("/api/employees").contentType(MediaType.APPLICATION_JSON)
+                        .body("{\"firstName\":\"Ramesh\",\"lastName\":\"Fadatare\",\"email\":\"ramesh@gmail.com\"}"),
+                HttpStatus.CREATED));
+    }
+
+    @Test
+    public void givenEmployees_whenGetAllEmployees_thenWithinAllocationBudget() throws Exception {
+        budgets.assertWithinBudget("employee.getAll", () -> { }, () -> perform(() ->
+                MockServerHttpRequest.get("/api/employees").build(), HttpStatus.OK));
+    }
+
+    @Test
+    public void givenEmployees_whenSearchEmployees_thenWithinAllocationBudget() throws Exception {
+        budgets.assertWithinBudget("employee.search", () -> { }, () -> perform(() ->
+                MockServerHttpRequest.get("/api/employees/search?q=ramesh&limit=10").build(), HttpStatus.OK));
+    }
+
+    @Test
+    public void givenEmployee_whenGetEmployee_thenWithinAllocationBudget() throws Exception {
+        String employeeId = employees.firstId();
+        budgets.assertWithinBudget("employee.get", () -> { }, () -> perform(() ->
+                MockServerHttpRequest.get("/api/employees/{id}", employeeId).build(), HttpStatus.OK));
+    }
+
+    @Test
+    public void givenEmployee_whenUpdateEmployee_thenWithinAllocationBudget() throws Exception {
+        String employeeId = employees.firstId();
+        budgets.assertWithinBudget("employee.update", () -> { }, () -> perform(() ->
+                MockServerHttpRequest.put("/api/employees/{id}", employeeId).contentType(MediaType.APPLICATION_JSON)
+                        .body("{\"firstName\":\"Ram\",\"lastName\":\"Jadhav\",\"email\":\"ram@gmail.com\"}"),
+                HttpStatus.OK));
+    }
+
+    @Test
+    public void givenEmployee_whenDeleteEmployee_thenWithinAllocationBudget() throws Exception {
+        budgets.assertWithinBudget("employee.delete", employees::reset, () -> perform(() ->
+                MockServerHttpRequest.delete("/api/employees/{id}", employees.firstId()).build(),
+                HttpStatus.NO_CONTENT));
+    }
+
+    private void perform(Supplier<MockServerHttpRequest> request, HttpStatus expectedStatus) {
+        MockServerHttpResponse response = new MockServerHttpResponse();
+        CompletableFuture<Void> exchange = httpHandler.handle(request.get(), response).toFuture();
+        // anything left running on another thread would escape the allocation counter
+        assertThat(exchange).isCompleted();
+        // left unset unless the handler picks a status, the server then sends 200
+        HttpStatus status = response.getStatusCode() == null ? HttpStatus.OK : response.getStatusCode();
+        assertThat(status).isEqualTo(expectedStatus);
+    }
+
+    @TestConfiguration
+    static class InMemoryServiceConfig {
+
+        @Bean
+        public InMemoryEmployees inMemoryEmployees() {
+            return new InMemoryEmployees();
+        }
+
+        @Bean
+        public EmployeeService employeeService(InMemoryEmployees employees) {
+            return new EmployeeServiceImpl(employees.repository(), employees.mongoTemplate(), new NoOpStats(),
+                    PipelineMetrics.disabled("employee.service"));
+        }
+    }
+
+    /**
+     * Employees in a map behind the repository and template methods {@link EmployeeServiceImpl}
+     * calls for the measured endpoints.
+     */
+    static class InMemoryEmployees {
+
+        private final Map<String, Employee> employees = new LinkedHashMap<>();
+
+        void reset() {
+            employees.clear();
+            for (int i = 0; i < EMPLOYEES; i++) {
+                ObjectId id = new ObjectId(1_700_000_000, i);
+                employees.put(id.toHexString(), new Employee(id.toHexString(),
+                        "Ramesh" + i % 10, "Fadatare" + i % 10, "ramesh" + i + "@gmail.com", 0L));
+            }
+        }
+
+        String firstId() {
+            return employees.keySet().iterator().next();
+        }
+
+        EmployeeRepository repository() {
+            return (EmployeeRepository) Proxy.newProxyInstance(EmployeeRepository.class.getClassLoader(),
+                    new Class<?>[]{EmployeeRepository.class}, (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "findById":
+                                return Mono.justOrEmpty(copy(employees.get((String) args[0])));
+                            case "save":
+                                return Mono.fromSupplier(() -> save((Employee) args[0]));
+                            case "hashCode":
+                                return System.identityHashCode(proxy);
+                            case "equals":
+                                return proxy == args[0];
+                            case "toString":
+                                return "InMemoryEmployeeRepository";
+                            default:
+                                throw new UnsupportedOperationException(method.getName());
+                        }
+                    });
+        }
+
+        ReactiveMongoTemplate mongoTemplate() {
+            ReactiveMongoTemplate mongoTemplate = Mockito.mock(ReactiveMongoTemplate.class, withSettings().stubOnly());
+            given(mongoTemplate.getCollectionName(Employee.class)).willReturn("employee");
+            given(mongoTemplate.findAll(EmployeeDto.class, "employee")).willAnswer(invocation -> dtos());
+            given(mongoTemplate.find(any(Query.class), eq(EmployeeDto.class), anyString())).willAnswer(invocation -> {
+                Query query = invocation.getArgument(0);
+                return query instanceof TextQuery ? dtos().take(query.getLimit()) : dtos();
+            });
+            given(mongoTemplate.findById(anyString(), eq(EmployeeDto.class), anyString())).willAnswer(invocation ->
+                    Mono.justOrEmpty(employees.get(invocation.<String>getArgument(0))).map(EmployeeMapper::mapToEmployeeDto));
+            given(mongoTemplate.findAndRemove(any(Query.class), eq(Employee.class))).willAnswer(invocation -> {
+                Query query = invocation.getArgument(0);
+                return Mono.justOrEmpty(employees.remove(query.getQueryObject().getString("id")));
+            });
+            return mongoTemplate;
+        }
+
+        private Flux<EmployeeDto> dtos() {
+            return Flux.fromIterable(employees.values()).map(EmployeeMapper::mapToEmployeeDto);
+        }
+
+        private Employee save(Employee employee) {
+            Employee saved = copy(employee);
+            if (saved.getId() == null) {
+                saved.setId(new ObjectId().toHexString());
+                saved.setVersion(0L);
+            } else {
+                saved.setVersion(saved.getVersion() + 1);
+            }
+            employees.put(saved.getId(), saved);
+            return saved;
+        }
+
+        private static Employee copy(Employee employee) {
+            return employee == null ? null : new Employee(employee.getId(), employee.getFirstName(),
+                    employee.getLastName(), employee.getEmail(), employee.getVersion());
+        }
+    }
+
+    static class NoOpStats implements EmployeeStatsService {
+
+        @Override
+        public Flux<EmployeeCount> getEmailDomainCounts() {
+            return Flux.empty();
+        }
+
+        @Override
+        public Flux<EmployeeCount> getLastNameInitialCounts() {
+            return Flux.empty();
+        }
+
+        @Override
+        public Mono<Void> recordSaved(Employee employee) {
+            return Mono.empty();
+        }
+
+        @Override
+        public Mono<Void> recordUpdated(Employee before, Employee after) {
+            return Mono.empty();
+        }
+
+        @Override
+        public Mono<Void> recordDeleted(Employee employee) {
+            return Mono.empty();
+        }
+
+        @Override
+        public Mono<Long> recordBulkDelete(Criteria filter, Mono<Long> delete) {
+            return delete;
+        }
+
+        @Override
+        public Mono<Void> rebuild() {
+            return Mono.empty();
+        }
+    }
+}
@@ -3,17 +3,23 @@ package com.example;
 import com.example.dto.EmployeeDto;
 import com.example.repository.EmployeeRepository;
 import com.example.service.EmployeeService;
+import com.example.service.EmployeeStatsService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
 import java.util.Collections;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 public class EmployeeControllerIntegrationTests {
 
@@ -26,10 +32,14 @@ public class EmployeeControllerIntegrationTests {
     @Autowired
     private EmployeeRepository employeeRepository;
 
+    @Autowired
+    private EmployeeStatsService employeeStatsService;
+
     @BeforeEach
     public void before(){
         System.out.println("Before Each Test");
-        employeeRepository.deleteAll().subscribe();
+        // emails are unique, the next test must not start before the collection is empty
+        employeeRepository.deleteAll().block();
     }
 
     @Test
@@ -127,6 +137,51 @@ public class EmployeeControllerIntegrationTests {
                 .jsonPath("$.email").isEqualTo(updatedEmployee.getEmail());
     }
 
+    @Test
+    public void testConditionalUpdateWithETag(){
+
+        EmployeeDto employeeDto = new EmployeeDto();
+        employeeDto.setFirstName("Ramesh");
+        employeeDto.setLastName("Fadatare");
+        employeeDto.setEmail("ramesh@gmail.com");
+
+        EmployeeDto savedEmployee = employeeService.saveEmployee(employeeDto).block();
+
+        String eTag = webTestClient.get().uri("/api/employees/{id}", Collections.singletonMap("id", savedEmployee.getId()))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"0\"")
+                .returnResult(EmployeeDto.class)
+                .getResponseHeaders().getETag();
+
+        employeeDto.setFirstName("Ram");
+        webTestClient.put().uri("/api/employees/{id}", Collections.singletonMap("id", savedEmployee.getId()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_MATCH, eTag)
+                .body(Mono.just(employeeDto), EmployeeDto.class)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1\"");
+
+        // the same tag is now stale
+        webTestClient.put().uri("/api/employees/{id}", Collections.singletonMap("id", savedEmployee.getId()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_MATCH, eTag)
+                .body(Mono.just(employeeDto), EmployeeDto.class)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED);
+
+        webTestClient.delete().uri("/api/employees/{id}", Collections.singletonMap("id", savedEmployee.getId()))
+                .header(HttpHeaders.IF_MATCH, eTag)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED);
+
+        webTestClient.get().uri("/api/employees/{id}", Collections.singletonMap("id", savedEmployee.getId()))
+                .header(HttpHeaders.IF_NONE_MATCH, "\"1\"")
+                .exchange()
+                .expectStatus().isNotModified();
+    }
+
     @Test
     public void testDeleteEmployee(){
 
@@ -144,4 +199,175 @@ public class EmployeeControllerIntegrationTests {
                 .consumeWith(System.out::println);
 
     }
+
+    @Test
+    public void testDeleteEmployeeWithIfMatchAny(){
+
+        EmployeeDto employeeDto = new EmployeeDto();
+        employeeDto.setFirstName("Ramesh");
+        employeeDto.setLastName("Fadatare");
+        employeeDto.setEmail("ramesh@gmail.com");
+
+        EmployeeDto savedEmployee = employeeService.saveEmployee(employeeDto).block();
+
+        webTestClient.delete().uri("/api/employees/{id}", Collections.singletonMap("id", savedEmployee.getId()))
+                .header(HttpHeaders.IF_MATCH, "*")
+                .exchange()
+                .expectStatus().isNoContent();
+
+        // * still requires a current representation
+        webTestClient.delete().uri("/api/employees/{id}", Collections.singletonMap("id", savedEmployee.getId()))
+                .header(HttpHeaders.IF_MATCH, "*")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    public void testSearchEmployees(){
+
+        EmployeeDto employeeDto = new EmployeeDto();
+        employeeDto.setFirstName("Ramesh");
+        employeeDto.setLastName("Fadatare");
+        employeeDto.setEmail("ramesh@gmail.com");
+
+        employeeService.saveEmployee(employeeDto).block();
+
+        EmployeeDto employeeDto1 = new EmployeeDto();
+        employeeDto1.setFirstName("John");
+        employeeDto1.setLastName("Cena");
+        employeeDto1.setEmail("john@gmail.com");
+
+        employeeService.saveEmployee(employeeDto1).block();
+
+        webTestClient.get().uri("/api/employees/search?q=fadatare")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.size()").isEqualTo(1)
+                .jsonPath("$[0].email").isEqualTo(employeeDto.getEmail());
+    }
+
+    @Test
+    public void testExportEmployeesInIdOrderAcrossPartitions(){
+        Flux.range(0, 50)
+                .concatMap(i -> {
+                    EmployeeDto employeeDto = new EmployeeDto();
+                    employeeDto.setFirstName("First" + i);
+                    employeeDto.setLastName("Last" + i);
+                    employeeDto.setEmail("employee" + i + "@gmail.com");
+                    return employeeService.saveEmployee(employeeDto);
+                })
+                .blockLast();
+
+        StepVerifier.create(employeeService.exportEmployees(4, false).map(EmployeeDto::getId).collectList())
+                .assertNext(ids -> assertThat(ids).hasSize(50).doesNotHaveDuplicates())
+                .verifyComplete();
+
+        StepVerifier.create(employeeService.exportEmployees(4, true).map(EmployeeDto::getId).collectList())
+                .assertNext(ids -> assertThat(ids).hasSize(50).isSorted())
+                .verifyComplete();
+    }
+
+    @Test
+    public void testEmailDomainCountsFollowWrites(){
+        employeeStatsService.rebuild().block();
+
+        EmployeeDto employeeDto = new EmployeeDto();
+        employeeDto.setFirstName("Ramesh");
+        employeeDto.setLastName("Fadatare");
+        employeeDto.setEmail("ramesh@gmail.com");
+
+        EmployeeDto savedEmployee = employeeService.saveEmployee(employeeDto).block();
+
+        EmployeeDto employeeDto1 = new EmployeeDto();
+        employeeDto1.setFirstName("John");
+        employeeDto1.setLastName("Cena");
+        employeeDto1.setEmail("john@gmail.com");
+
+        employeeService.saveEmployee(employeeDto1).block();
+
+        employeeDto.setEmail("ramesh@example.com");
+        employeeService.updateEmployee(employeeDto, savedEmployee.getId()).block();
+
+        webTestClient.get().uri("/api/employees/stats/email-domains")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.size()").isEqualTo(2)
+                .jsonPath("$[?(@.key == 'gmail.com')].count").isEqualTo(1)
+                .jsonPath("$[?(@.key == 'example.com')].count").isEqualTo(1);
+
+        employeeService.deleteEmployee(savedEmployee.getId()).block();
+
+        webTestClient.get().uri("/api/employees/stats/email-domains")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.size()").isEqualTo(1)
+                .jsonPath("$[0].key").isEqualTo("gmail.com");
+    }
+
+    @Test
+    public void testEmailDomainCountsFollowBulkDeletes(){
+        employeeRepository.deleteAll().block();
+        employeeStatsService.rebuild().block();
+
+        Flux.range(0, 6)
+                .concatMap(i -> {
+                    EmployeeDto employeeDto = new EmployeeDto();
+                    employeeDto.setFirstName("First" + i);
+                    employeeDto.setLastName("Last" + i);
+                    employeeDto.setEmail("employee" + i + (i % 2 == 0 ? "@gmail.com" : "@example.com"));
+                    return employeeService.saveEmployee(employeeDto);
+                })
+                .blockLast();
+
+        assertThat(employeeService.deleteEmployeesByEmailDomain("example.com").block()).isEqualTo(3);
+
+        webTestClient.get().uri("/api/employees/stats/email-domains")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.size()").isEqualTo(1)
+                .jsonPath("$[0].key").isEqualTo("gmail.com")
+                .jsonPath("$[0].count").isEqualTo(3);
+    }
+
+    @Test
+    public void testFindEmployeeByEmail(){
+
+        EmployeeDto employeeDto = new EmployeeDto();
+        employeeDto.setFirstName("Ramesh");
+        employeeDto.setLastName("Fadatare");
+        employeeDto.setEmail("ramesh@gmail.com");
+
+        EmployeeDto savedEmployee = employeeService.saveEmployee(employeeDto).block();
+
+        StepVerifier.create(employeeRepository.findByEmail(employeeDto.getEmail()))
+                .expectNextMatches(employee -> employee.getId().equals(savedEmployee.getId()))
+                .verifyComplete();
+    }
+
+    @Test
+    public void testSaveEmployeeWithDuplicateEmail(){
+
+        EmployeeDto employeeDto = new EmployeeDto();
+        employeeDto.setFirstName("Ramesh");
+        employeeDto.setLastName("Fadatare");
+        employeeDto.setEmail("ramesh@gmail.com");
+
+        employeeService.saveEmployee(employeeDto).block();
+
+        webTestClient.post().uri("/api/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(employeeDto), EmployeeDto.class)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.CONFLICT);
+    }
 }
\ No newline at end of file
@@ -1,27 +1,49 @@
 package com.example;
 
+import com.example.config.BinaryCodecsConfig;
 import com.example.controller.EmployeeController;
+import com.example.dto.EmployeeDeleteRequest;
 import com.example.dto.EmployeeDto;
+import com.example.dto.EmployeeView;
 import com.example.service.EmployeeService;
+import com.example.web.BinaryMediaTypes;
+import com.example.web.ServerTiming;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentMatchers;
 import org.mockito.BDDMockito;
+import org.mockito.Mockito;
+import org.hamcrest.Matchers;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 @ExtendWith(SpringExtension.class)
 @WebFluxTest(controllers = EmployeeController.class)
+@Import(BinaryCodecsConfig.class)
 public class EmployeeControllerTests {
 
     @Autowired
@@ -78,6 +100,120 @@ public class EmployeeControllerTests {
                 .jsonPath("$.email").isEqualTo(employeeDto.getEmail());
     }
 
+    @Test
+    public void givenEmployeeId_whenGetEmployee_thenReturnServerTimingHeader() {
+        String employeeId = "123";
+
+        EmployeeDto employeeDto = new EmployeeDto();
+        employeeDto.setFirstName("Ramesh");
+        employeeDto.setLastName("Fadatare");
+        employeeDto.setEmail("ramesh@gmail.com");
+
+        BDDMockito.given(employeeService.getEmployee(employeeId))
+                .willReturn(Mono.just(employeeDto));
+
+        WebTestClient.ResponseSpec response = webTestClient.get()
+                .uri("/api/employees/{id}", Collections.singletonMap("id", employeeId))
+                .exchange();
+
+        response.expectStatus().isOk()
+                .expectHeader().value(ServerTiming.HEADER, Matchers.matchesPattern("ser;dur=\\d+\\.\\d"));
+    }
+
+    @Test
+    public void givenListOfEmployees_whenGetAllEmployees_thenReturnServerTimingHeader() {
+        EmployeeDto employeeDto = new EmployeeDto();
+        employeeDto.setFirstName("Ramesh");
+        employeeDto.setLastName("Fadatare");
+        employeeDto.setEmail("ramesh@gmail.com");
+
+        BDDMockito.given(employeeService.getAllEmployees()).willReturn(Flux.just(employeeDto));
+        BDDMockito.given(employeeService.getEmployeeVersions()).willReturn(Flux.empty());
+
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/employees")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange();
+
+        response.expectStatus().isOk()
+                .expectHeader().value(ServerTiming.HEADER, Matchers.matchesPattern("ser;dur=\\d+\\.\\d"));
+    }
+
+    @Test
+    public void givenEmployeeId_whenGetEmployee_thenReturnVersionAsETag() {
+        String employeeId = "123";
+
+        EmployeeDto employeeDto = new EmployeeDto();
+        employeeDto.setId(employeeId);
+        employeeDto.setFirstName("Ramesh");
+        employeeDto.setVersion(3L);
+
+        BDDMockito.given(employeeService.getEmployee(employeeId))
+                .willReturn(Mono.just(employeeDto));
+
+        WebTestClient.ResponseSpec response = webTestClient.get()
+                .uri("/api/employees/{id}", Collections.singletonMap("id", employeeId))
+                .exchange();
+
+        response.expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"3\"")
+                .expectBody()
+                .jsonPath("$.version").doesNotExist();
+    }
+
+    @Test
+    public void givenMatchingIfNoneMatch_whenGetEmployee_thenReturnNotModified() {
+        String employeeId = "123";
+        EmployeeDto employeeDto = new EmployeeDto();
+        employeeDto.setId(employeeId);
+        employeeDto.setVersion(3L);
+        BDDMockito.given(employeeService.getEmployee(employeeId))
+                .willReturn(Mono.just(employeeDto));
+
+        WebTestClient.ResponseSpec response = webTestClient.get()
+                .uri("/api/employees/{id}", Collections.singletonMap("id", employeeId))
+                .header(HttpHeaders.IF_NONE_MATCH, "\"3\"")
+                .exchange();
+
+        response.expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"3\"")
+                .expectBody().isEmpty();
+        BDDMockito.then(employeeService).should().getEmployee(employeeId);
+    }
+
+    @Test
+    public void givenUnchangedList_whenGetAllEmployeesWithIfNoneMatch_thenReturnNotModified() {
+        EmployeeDto employeeDto = new EmployeeDto();
+        employeeDto.setId("123");
+        employeeDto.setVersion(1L);
+        BDDMockito.given(employeeService.getEmployeeVersions())
+                .willAnswer(invocation -> Flux.just(employeeDto));
+        BDDMockito.given(employeeService.getAllEmployees())
+                .willReturn(Flux.just(employeeDto));
+
+        String eTag = webTestClient.get().uri("/api/employees")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(EmployeeDto.class)
+                .getResponseHeaders().getETag();
+
+        // the first read is tagged from the list itself
+        BDDMockito.then(employeeService).should(Mockito.never()).getEmployeeVersions();
+
+        webTestClient.get().uri("/api/employees")
+                .accept(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .exchange()
+                .expectStatus().isNotModified();
+
+        employeeDto.setVersion(2L);
+        webTestClient.get().uri("/api/employees")
+                .accept(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .exchange()
+                .expectStatus().isOk();
+    }
+
     @Test
     public void givenListOfEmployees_whenGetAllEmployees_returnListOfEmployees() {
         List<EmployeeDto> list = new ArrayList<>();
@@ -97,6 +233,8 @@ public class EmployeeControllerTests {
 
         BDDMockito.given(employeeService.getAllEmployees())
                 .willReturn(employeeFlux);
+        BDDMockito.given(employeeService.getEmployeeVersions())
+                .willReturn(Flux.empty());
 
         WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/employees")
                 .accept(MediaType.APPLICATION_JSON)
@@ -107,6 +245,186 @@ public class EmployeeControllerTests {
                 .consumeWith(System.out::println);
     }
 
+    @Test
+    public void givenDirectoryView_whenGetAllEmployees_returnProjectedEmployees() {
+        EmployeeDto employeeDto = new EmployeeDto();
+        employeeDto.setId("123");
+        employeeDto.setFirstName("Ramesh");
+        employeeDto.setLastName("Fadatare");
+
+        BDDMockito.given(employeeService.getAllEmployees(EmployeeView.DIRECTORY.getFields()))
+                .willReturn(Flux.just(employeeDto));
+        BDDMockito.given(employeeService.getEmployeeVersions())
+                .willReturn(Flux.empty());
+
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/employees?view=directory")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange();
+
+        response.expectStatus().isOk()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$[0].firstName").isEqualTo(employeeDto.getFirstName())
+                .jsonPath("$[0].email").doesNotExist();
+    }
+
+    @Test
+    public void givenUnknownField_whenGetAllEmployees_thenReturnBadRequest() {
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/employees?fields=id,salary")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange();
+
+        response.expectStatus().isBadRequest();
+    }
+
+    @Test
+    public void givenSearchText_whenSearchEmployees_thenReturnMatchingEmployees() {
+        EmployeeDto employeeDto = new EmployeeDto();
+        employeeDto.setId("123");
+        employeeDto.setFirstName("Ramesh");
+        employeeDto.setLastName("Fadatare");
+        employeeDto.setEmail("ramesh@gmail.com");
+
+        BDDMockito.given(employeeService.searchEmployees("fadatare", 5))
+                .willReturn(Flux.just(employeeDto));
+
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/employees/search?q=fadatare&limit=5")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange();
+
+        response.expectStatus().isOk()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.size()").isEqualTo(1)
+                .jsonPath("$[0].lastName").isEqualTo(employeeDto.getLastName());
+    }
+
+    @Test
+    public void givenLimitTooLarge_whenSearchEmployees_thenReturnBadRequest() {
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/employees/search?q=ramesh&limit=1000")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange();
+
+        response.expectStatus().isBadRequest();
+    }
+
+    @Test
+    public void givenPartitions_whenExportEmployees_thenStreamEmployeesAsNdjson() {
+        EmployeeDto employeeDto = new EmployeeDto();
+        employeeDto.setFirstName("Ramesh");
+        employeeDto.setLastName("Fadatare");
+        employeeDto.setEmail("ramesh@gmail.com");
+
+        BDDMockito.given(employeeService.exportEmployees(8, true))
+                .willReturn(Flux.just(employeeDto, employeeDto));
+
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/employees/export?partitions=8&ordered=true")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange();
+
+        response.expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(EmployeeDto.class)
+                .hasSize(2);
+    }
+
+    @Test
+    public void givenTooManyPartitions_whenExportEmployees_thenReturnBadRequest() {
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/employees/export?partitions=65")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange();
+
+        response.expectStatus().isBadRequest();
+    }
+
+    @Test
+    public void givenCborAccept_whenGetEmployee_thenReturnCborEncodedEmployee() throws IOException {
+        String employeeId = "123";
+
+        EmployeeDto employeeDto = new EmployeeDto();
+        employeeDto.setId(employeeId);
+        employeeDto.setFirstName("Ramesh");
+        employeeDto.setLastName("Fadatare");
+        employeeDto.setEmail("ramesh@gmail.com");
+
+        BDDMockito.given(employeeService.getEmployee(employeeId))
+                .willReturn(Mono.just(employeeDto));
+
+        byte[] body = webTestClient.get()
+                .uri("/api/employees/{id}", Collections.singletonMap("id", employeeId))
+                .accept(MediaType.APPLICATION_CBOR)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_CBOR)
+                .expectBody(byte[].class).returnResult().getResponseBody();
+
+        EmployeeDto decoded = new ObjectMapper(new CBORFactory()).readValue(body, EmployeeDto.class);
+        assertThat(decoded.getEmail()).isEqualTo(employeeDto.getEmail());
+    }
+
+    @Test
+    public void givenCborAccept_whenGetAllEmployees_thenReturnCborArray() throws IOException {
+        EmployeeDto employeeDto = new EmployeeDto();
+        employeeDto.setFirstName("Ramesh");
+        employeeDto.setLastName("Fadatare");
+
+        BDDMockito.given(employeeService.getAllEmployees())
+                .willReturn(Flux.just(employeeDto, employeeDto));
+        BDDMockito.given(employeeService.getEmployeeVersions())
+                .willReturn(Flux.empty());
+
+        byte[] body = webTestClient.get().uri("/api/employees")
+                .accept(MediaType.APPLICATION_CBOR)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(byte[].class).returnResult().getResponseBody();
+
+        List<EmployeeDto> decoded = new ObjectMapper(new CBORFactory())
+                .readValue(body, new TypeReference<List<EmployeeDto>>() {});
+        assertThat(decoded).extracting(EmployeeDto::getLastName).containsExactly("Fadatare", "Fadatare");
+    }
+
+    @Test
+    public void givenSmileStreamAccept_whenExportEmployees_thenStreamSmileValues() throws IOException {
+        EmployeeDto employeeDto = new EmployeeDto();
+        employeeDto.setFirstName("Ramesh");
+
+        BDDMockito.given(employeeService.exportEmployees(1, false))
+                .willReturn(Flux.just(employeeDto, employeeDto, employeeDto));
+
+        byte[] body = webTestClient.get().uri("/api/employees/export")
+                .accept(BinaryMediaTypes.APPLICATION_STREAM_SMILE)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(BinaryMediaTypes.APPLICATION_STREAM_SMILE)
+                .expectBody(byte[].class).returnResult().getResponseBody();
+
+        List<EmployeeDto> decoded = new ObjectMapper(new SmileFactory())
+                .readerFor(EmployeeDto.class).<EmployeeDto>readValues(body).readAll();
+        assertThat(decoded).hasSize(3);
+    }
+
+    @Test
+    public void givenCborBody_whenSaveEmployee_thenDecodeEmployee() throws IOException {
+        EmployeeDto employeeDto = new EmployeeDto();
+        employeeDto.setFirstName("Ramesh");
+        employeeDto.setLastName("Fadatare");
+        employeeDto.setEmail("ramesh@gmail.com");
+
+        BDDMockito.given(employeeService.saveEmployee(ArgumentMatchers.argThat(
+                        employee -> "ramesh@gmail.com".equals(employee.getEmail()))))
+                .willReturn(Mono.just(employeeDto));
+
+        webTestClient.post().uri("/api/employees")
+                .contentType(MediaType.APPLICATION_CBOR)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(new ObjectMapper(new CBORFactory()).writeValueAsBytes(employeeDto))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.email").isEqualTo(employeeDto.getEmail());
+    }
+
     @Test
     public void givenUpdatedEmployee_whenUpdateEmployee_thenReturnUpdatedEmployeeObject() {
         String employeeId = "123";
@@ -134,12 +452,97 @@ public class EmployeeControllerTests {
                 .jsonPath("$.email").isEqualTo(employeeDto.getEmail());
     }
 
+    @Test
+    public void givenStaleIfMatch_whenUpdateEmployee_thenReturnPreconditionFailed() {
+        String employeeId = "123";
+
+        EmployeeDto employeeDto = new EmployeeDto();
+        employeeDto.setFirstName("Ramesh");
+
+        BDDMockito.given(employeeService.updateEmployee(ArgumentMatchers.any(EmployeeDto.class),
+                        ArgumentMatchers.eq(employeeId), ArgumentMatchers.eq(Set.of(2L))))
+                .willReturn(Mono.error(new OptimisticLockingFailureException("Employee 123 is at version 3")));
+
+        WebTestClient.ResponseSpec response = webTestClient.put().uri("/api/employees/{id}", Collections.singletonMap("id", employeeId))
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_MATCH, "\"2\"")
+                .body(Mono.just(employeeDto), EmployeeDto.class)
+                .exchange();
+
+        response.expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @Test
+    public void givenDuplicateEmail_whenSaveEmployee_thenReturnConflict() {
+        EmployeeDto employeeDto = new EmployeeDto();
+        employeeDto.setFirstName("Ramesh");
+        employeeDto.setEmail("ramesh@gmail.com");
+
+        BDDMockito.given(employeeService.saveEmployee(ArgumentMatchers.any(EmployeeDto.class)))
+                .willReturn(Mono.error(new DuplicateKeyException("E11000 duplicate key error")));
+
+        WebTestClient.ResponseSpec response = webTestClient.post().uri("/api/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(employeeDto), EmployeeDto.class)
+                .exchange();
+
+        response.expectStatus().isEqualTo(HttpStatus.CONFLICT);
+    }
+
+    @Test
+    public void givenDuplicateEmail_whenUpdateEmployee_thenReturnConflict() {
+        String employeeId = "123";
+
+        EmployeeDto employeeDto = new EmployeeDto();
+        employeeDto.setFirstName("Ramesh");
+        employeeDto.setEmail("ramesh@gmail.com");
+
+        BDDMockito.given(employeeService.updateEmployee(ArgumentMatchers.any(EmployeeDto.class), ArgumentMatchers.eq(employeeId)))
+                .willReturn(Mono.error(new DuplicateKeyException("E11000 duplicate key error")));
+
+        WebTestClient.ResponseSpec response = webTestClient.put().uri("/api/employees/{id}", Collections.singletonMap("id", employeeId))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(employeeDto), EmployeeDto.class)
+                .exchange();
+
+        response.expectStatus().isEqualTo(HttpStatus.CONFLICT);
+    }
+
+    @Test
+    public void givenStaleIfMatch_whenDeleteEmployee_thenReturnPreconditionFailed() {
+        String employeeId = "123";
+        BDDMockito.given(employeeService.deleteEmployee(employeeId, Set.of(2L)))
+                .willReturn(Mono.error(new OptimisticLockingFailureException("Employee 123 is at version 3")));
+
+        WebTestClient.ResponseSpec response = webTestClient
+                .delete()
+                .uri("/api/employees/{id}", Collections.singletonMap("id", employeeId))
+                .header(HttpHeaders.IF_MATCH, "\"2\"")
+                .exchange();
+
+        response.expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @Test
+    public void givenIfMatchAny_whenDeleteUnknownEmployee_thenReturnNotFound() {
+        String employeeId = "123";
+        BDDMockito.given(employeeService.deleteEmployee(employeeId, null))
+                .willReturn(Mono.just(0L));
+
+        WebTestClient.ResponseSpec response = webTestClient
+                .delete()
+                .uri("/api/employees/{id}", Collections.singletonMap("id", employeeId))
+                .header(HttpHeaders.IF_MATCH, "*")
+                .exchange();
+
+        response.expectStatus().isNotFound();
+    }
+
     @Test
     public void givenEmployeeId_whenDeleteEmployee_thenReturnNothing() {
         String employeeId = "123";
-        Mono<Void> voidMono = Mono.empty();
         BDDMockito.given(employeeService.deleteEmployee(employeeId))
-                .willReturn(voidMono);
+                .willReturn(Mono.just(1L));
 
         WebTestClient.ResponseSpec response = webTestClient
                 .delete()
@@ -150,4 +553,37 @@ public class EmployeeControllerTests {
                 .expectBody()
                 .consumeWith(System.out::println);
     }
+
+    @Test
+    public void givenUnknownEmployeeId_whenDeleteEmployee_thenReturnNotFound() {
+        String employeeId = "123";
+        BDDMockito.given(employeeService.deleteEmployee(employeeId))
+                .willReturn(Mono.just(0L));
+
+        WebTestClient.ResponseSpec response = webTestClient
+                .delete()
+                .uri("/api/employees/{id}", Collections.singletonMap("id", employeeId))
+                .exchange();
+
+        response.expectStatus().isNotFound();
+    }
+
+    @Test
+    public void givenListOfIds_whenDeleteEmployees_thenReturnDeletedCount() {
+        List<String> employeeIds = List.of("123", "456");
+        BDDMockito.given(employeeService.deleteEmployees(employeeIds))
+                .willReturn(Mono.just(2L));
+
+        WebTestClient.ResponseSpec response = webTestClient
+                .method(HttpMethod.DELETE)
+                .uri("/api/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(EmployeeDeleteRequest.builder().ids(employeeIds).build())
+                .exchange();
+
+        response.expectStatus().isOk()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.deletedCount").isEqualTo(2);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,66 @@
+package com.example;
+
+import com.example.dto.EmployeeDto;
+import com.example.entity.Employee;
+import com.example.mapper.EmployeeConverters;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EmployeeConvertersTests {
+
+    private final EmployeeConverters.DocumentToEmployeeConverter toEmployee =
+            new EmployeeConverters.DocumentToEmployeeConverter();
+    private final EmployeeConverters.DocumentToEmployeeDtoConverter toEmployeeDto =
+            new EmployeeConverters.DocumentToEmployeeDtoConverter();
+    private final EmployeeConverters.EmployeeToDocumentConverter toDocument =
+            new EmployeeConverters.EmployeeToDocumentConverter();
+
+    @Test
+    public void givenEmployee_whenWrittenAndRead_thenRoundTrip() {
+        Employee employee = new Employee(new ObjectId().toHexString(), "Ramesh", "Fadatare", "ramesh@gmail.com", 3L);
+
+        Document document = toDocument.convert(employee);
+
+        assertThat(document.get("_id")).isEqualTo(new ObjectId(employee.getId()));
+        assertThat(document).doesNotContainKey("id");
+        assertThat(toEmployee.convert(document)).isEqualTo(employee);
+        assertThat(toEmployeeDto.convert(document))
+                .isEqualTo(new EmployeeDto(employee.getId(), "Ramesh", "Fadatare", "ramesh@gmail.com", 3L));
+    }
+
+    @Test
+    public void givenNonObjectIdAndIntVersion_whenRead_thenKeepIdAndWidenVersion() {
+        Document document = new Document("_id", "legacy-1")
+                .append("firstName", "John")
+                .append("version", 2)
+                .append("_class", Employee.class.getName());
+
+        Employee employee = toEmployee.convert(document);
+
+        assertThat(employee.getId()).isEqualTo("legacy-1");
+        assertThat(employee.getVersion()).isEqualTo(2L);
+        assertThat(employee.getLastName()).isNull();
+        assertThat(employee.getEmail()).isNull();
+    }
+
+    @Test
+    public void givenProjectedDocumentWithoutId_whenReadDto_thenLeaveMissingFieldsNull() {
+        Document document = new Document("firstName", "John").append("lastName", "Cena");
+
+        EmployeeDto employeeDto = toEmployeeDto.convert(document);
+
+        assertThat(employeeDto).isEqualTo(new EmployeeDto(null, "John", "Cena", null, null));
+    }
+
+    @Test
+    public void givenNewEmployee_whenWritten_thenOmitNullFields() {
+        Document document = toDocument.convert(new Employee(null, "John", "Cena", "cena@gmail.com", null));
+
+        assertThat(document).containsOnlyKeys("firstName", "lastName", "email");
+        assertThat(toDocument.convert(new Employee("legacy-1", "John", null, null, null)).get("_id"))
+                .isEqualTo("legacy-1");
+    }
+}
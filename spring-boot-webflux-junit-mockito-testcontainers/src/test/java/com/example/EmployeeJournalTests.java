@@ -0,0 +1,156 @@
+package com.example;
+
+import com.example.writebehind.EmployeeJournal;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EmployeeJournalTests {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void givenUncheckpointedRecords_whenReopened_thenRecoverThemInOrder() throws Exception {
+        Path path = directory.resolve("employee.journal");
+        try (EmployeeJournal journal = new EmployeeJournal(path, 4096, false)) {
+            journal.recover();
+            EmployeeJournal.Entry first = journal.append(employee("ramesh@gmail.com"));
+            journal.append(employee("john@gmail.com"));
+            journal.append(employee("meena@gmail.com"));
+            journal.checkpoint(first.getEnd());
+        }
+
+        try (EmployeeJournal journal = new EmployeeJournal(path, 4096, false)) {
+            List<EmployeeJournal.Entry> recovered = journal.recover();
+
+            assertThat(recovered).extracting(entry -> entry.getDocument().getString("email"))
+                    .containsExactly("john@gmail.com", "meena@gmail.com");
+        }
+    }
+
+    @Test
+    public void givenTornRecord_whenReopened_thenRecoverUpToIt() throws Exception {
+        Path path = directory.resolve("employee.journal");
+        long tornRecordStart;
+        try (EmployeeJournal journal = new EmployeeJournal(path, 4096, false)) {
+            journal.recover();
+            tornRecordStart = journal.append(employee("ramesh@gmail.com")).getEnd();
+            journal.append(employee("john@gmail.com"));
+        }
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            // flip a payload byte of the second record
+            file.seek(tornRecordStart + 20);
+            file.write(file.read() ^ 0xff);
+        }
+
+        try (EmployeeJournal journal = new EmployeeJournal(path, 4096, false)) {
+            assertThat(journal.recover()).extracting(entry -> entry.getDocument().getString("email"))
+                    .containsExactly("ramesh@gmail.com");
+        }
+    }
+
+    @Test
+    public void givenFullJournal_whenCheckpointed_thenSpaceIsReused() throws Exception {
+        try (EmployeeJournal journal = new EmployeeJournal(directory.resolve("employee.journal"), 512, false)) {
+            journal.recover();
+            EmployeeJournal.Entry last = null;
+            EmployeeJournal.Entry entry;
+            while ((entry = journal.append(employee(new ObjectId() + "@gmail.com"))) != null) {
+                last = entry;
+            }
+            assertThat(last).isNotNull();
+
+            journal.checkpoint(last.getEnd());
+
+            assertThat(journal.getUsedBytes()).isZero();
+            assertThat(journal.append(employee("ramesh@gmail.com"))).isNotNull();
+            assertThat(journal.recover()).hasSize(1);
+        }
+    }
+
+    @Test
+    public void givenOldestRecordsCheckpointed_whenAppendPastEnd_thenWrapAndRecoverInOrder() throws Exception {
+        Path path = directory.resolve("employee.journal");
+        List<String> expected = new ArrayList<>();
+        try (EmployeeJournal journal = new EmployeeJournal(path, 512, false)) {
+            journal.recover();
+            EmployeeJournal.Entry first = journal.append(employee("first.record@gmail.com"));
+            String email;
+            while (journal.append(employee(email = new ObjectId() + "@gmail.com")) != null) {
+                expected.add(email);
+            }
+            // only the first record is in Mongo, so the rest keep the journal from rewinding
+            journal.checkpoint(first.getEnd());
+
+            EmployeeJournal.Entry wrapped = journal.append(employee("ramesh@gmail.com"));
+
+            assertThat(wrapped).isNotNull();
+            assertThat(wrapped.getEnd()).isLessThan(first.getEnd());
+            assertThat(journal.append(employee("john@gmail.com"))).isNull();
+            expected.add("ramesh@gmail.com");
+        }
+
+        try (EmployeeJournal journal = new EmployeeJournal(path, 512, false)) {
+            List<EmployeeJournal.Entry> recovered = journal.recover();
+
+            assertThat(recovered).extracting(entry -> entry.getDocument().getString("email"))
+                    .containsExactlyElementsOf(expected);
+
+            journal.checkpoint(recovered.get(recovered.size() - 2).getEnd());
+
+            assertThat(journal.recover()).extracting(entry -> entry.getDocument().getString("email"))
+                    .containsExactly("ramesh@gmail.com");
+        }
+    }
+
+    @Test
+    public void givenRecordEndingAtLastTerminator_whenWrappedAndReopened_thenRecoverTheWrappedRecord() throws Exception {
+        int recordSize;
+        try (EmployeeJournal scratch = new EmployeeJournal(directory.resolve("scratch.journal"), 4096, false)) {
+            scratch.recover();
+            recordSize = (int) scratch.append(employee(new ObjectId() + "@gmail.com")).getEnd() - 16;
+        }
+        // four records fill the journal up to its last terminator slot, the wrap marker goes there
+        Path path = directory.resolve("employee.journal");
+        int capacity = 16 + 4 * recordSize + 4;
+        List<String> expected = new ArrayList<>();
+        try (EmployeeJournal journal = new EmployeeJournal(path, capacity, false)) {
+            journal.recover();
+            List<EmployeeJournal.Entry> entries = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                String email = new ObjectId() + "@gmail.com";
+                entries.add(journal.append(employee(email)));
+                expected.add(email);
+            }
+            assertThat(entries.get(3).getEnd()).isEqualTo(capacity - 4);
+            journal.checkpoint(entries.get(1).getEnd());
+
+            String wrapped = new ObjectId() + "@gmail.com";
+            assertThat(journal.append(employee(wrapped))).isNotNull();
+            expected.add(wrapped);
+        }
+
+        try (EmployeeJournal journal = new EmployeeJournal(path, capacity, false)) {
+            assertThat(journal.recover()).extracting(entry -> entry.getDocument().getString("email"))
+                    .containsExactlyElementsOf(expected.subList(2, 5));
+            // positioned after the wrapped record, so the only free slot before the checkpoint is taken
+            assertThat(journal.append(employee(new ObjectId() + "@gmail.com"))).isNull();
+        }
+    }
+
+    private static Document employee(String email) {
+        return new Document("_id", new ObjectId())
+                .append("firstName", "Ramesh")
+                .append("lastName", "Fadatare")
+                .append("email", email);
+    }
+}
@@ -0,0 +1,85 @@
+package com.example;
+
+import com.example.dto.EmployeeDto;
+import com.example.entity.Employee;
+import com.example.service.EmployeeServiceImpl;
+import com.example.service.PipelineMetrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+public class EmployeeServiceMetricsTests {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final ReactiveMongoTemplate mongoTemplate = mock(ReactiveMongoTemplate.class);
+
+    private final EmployeeServiceImpl employeeService = new EmployeeServiceImpl(null, mongoTemplate, null,
+            new PipelineMetrics("employee.service", registry));
+
+    @BeforeEach
+    public void setup() {
+        given(mongoTemplate.getCollectionName(Employee.class)).willReturn("employees");
+    }
+
+    @Test
+    public void givenEmployee_whenGetEmployee_thenRecordCompletedInInjectedRegistry() {
+        given(mongoTemplate.findById("1", EmployeeDto.class, "employees"))
+                .willReturn(Mono.just(new EmployeeDto("1", "Ramesh", "Fadatare", "ramesh@gmail.com", 0L)));
+
+        StepVerifier.create(employeeService.getEmployee("1")).expectNextCount(1).verifyComplete();
+
+        assertThat(flowDuration("get", "completed", "none").count()).isEqualTo(1);
+        assertThat(registry.get("employee.service.subscribed").tag("operation", "get").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void givenMissingEmployee_whenGetEmployee_thenRecordCompletedEmpty() {
+        given(mongoTemplate.findById("2", EmployeeDto.class, "employees")).willReturn(Mono.empty());
+
+        StepVerifier.create(employeeService.getEmployee("2")).verifyComplete();
+
+        assertThat(flowDuration("get", "completedEmpty", "none").count()).isEqualTo(1);
+        assertThat(flowDuration("get", "completed", "none").count()).isZero();
+    }
+
+    @Test
+    public void givenFailingQuery_whenGetAllEmployees_thenRecordErrorWithException() {
+        given(mongoTemplate.findAll(eq(EmployeeDto.class), eq("employees")))
+                .willReturn(Flux.error(new DataAccessResourceFailureException("down")));
+
+        StepVerifier.create(employeeService.getAllEmployees())
+                .verifyError(DataAccessResourceFailureException.class);
+
+        assertThat(flowDuration("getAll", "error", "DataAccessResourceFailureException").count()).isEqualTo(1);
+    }
+
+    @Test
+    public void givenCancelledSubscriber_whenGetAllEmployees_thenRecordCancelled() {
+        given(mongoTemplate.findAll(eq(EmployeeDto.class), eq("employees"))).willReturn(Flux.never());
+
+        StepVerifier.create(employeeService.getAllEmployees()).thenCancel().verify();
+
+        assertThat(flowDuration("getAll", "cancelled", "none").count()).isEqualTo(1);
+    }
+
+    private Timer flowDuration(String operation, String status, String exception) {
+        return registry.get("employee.service.flow.duration")
+                .tag("operation", operation)
+                .tag("status", status)
+                .tag("exception", exception)
+                .timer();
+    }
+}
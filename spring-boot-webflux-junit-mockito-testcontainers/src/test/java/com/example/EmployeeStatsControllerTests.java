@@ -0,0 +1,59 @@
+package com.example;
+
+import com.example.controller.EmployeeStatsController;
+import com.example.dto.EmployeeCount;
+import com.example.service.EmployeeStatsService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.BDDMockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+
+@ExtendWith(SpringExtension.class)
+@WebFluxTest(controllers = EmployeeStatsController.class)
+public class EmployeeStatsControllerTests {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private EmployeeStatsService employeeStatsService;
+
+    @Test
+    public void givenEmployees_whenGetEmailDomainCounts_thenReturnCounts() {
+        BDDMockito.given(employeeStatsService.getEmailDomainCounts())
+                .willReturn(Flux.just(new EmployeeCount("gmail.com", 2), new EmployeeCount("example.com", 1)));
+
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/employees/stats/email-domains")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange();
+
+        response.expectStatus().isOk()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.size()").isEqualTo(2)
+                .jsonPath("$[0].key").isEqualTo("gmail.com")
+                .jsonPath("$[0].count").isEqualTo(2);
+    }
+
+    @Test
+    public void givenEmployees_whenGetLastNameInitialCounts_thenReturnCounts() {
+        BDDMockito.given(employeeStatsService.getLastNameInitialCounts())
+                .willReturn(Flux.just(new EmployeeCount("F", 3)));
+
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/employees/stats/last-name-initials")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange();
+
+        response.expectStatus().isOk()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$[0].key").isEqualTo("F")
+                .jsonPath("$[0].count").isEqualTo(3);
+    }
+}
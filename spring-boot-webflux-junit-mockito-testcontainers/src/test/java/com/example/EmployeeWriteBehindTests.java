@@ -0,0 +1,79 @@
+package com.example;
+
+import com.example.dto.EmployeeDto;
+import com.example.dto.WriteBehindEntryStatus;
+import com.example.entity.Employee;
+import com.example.service.EmployeeStatsService;
+import com.example.writebehind.EmployeeJournal;
+import com.example.writebehind.EmployeeWriteBehind;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import org.bson.BsonDocument;
+import org.bson.BsonObjectId;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Mono;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+public class EmployeeWriteBehindTests {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void givenRejectedWrite_whenFlushed_thenReportFailureForItsId() throws Exception {
+        ReactiveMongoTemplate mongoTemplate = mock(ReactiveMongoTemplate.class);
+        MongoCollection<Document> collection = mock(MongoCollection.class);
+        EmployeeStatsService employeeStatsService = mock(EmployeeStatsService.class);
+        given(mongoTemplate.getCollectionName(Employee.class)).willReturn("employees");
+        given(mongoTemplate.getCollection("employees")).willReturn(Mono.just(collection));
+        given(employeeStatsService.recordSaved(any(Employee.class))).willReturn(Mono.empty());
+        MongoBulkWriteException rejected = new MongoBulkWriteException(
+                BulkWriteResult.acknowledged(0, 0, 0, 1, List.of(new BulkWriteUpsert(0, new BsonObjectId(new ObjectId()))), List.of()),
+                List.of(new BulkWriteError(11000, "E11000 duplicate key error", new BsonDocument(), 1)),
+                null, new ServerAddress());
+        given(collection.bulkWrite(anyList(), any(BulkWriteOptions.class))).willReturn(Mono.error(rejected));
+
+        EmployeeWriteBehind writeBehind = new EmployeeWriteBehind(
+                new EmployeeJournal(directory.resolve("employee.journal"), 4096, false),
+                mongoTemplate, employeeStatsService, 100, Duration.ofSeconds(5));
+        // the scheduled flush never runs, closing flushes once
+        writeBehind.start(Duration.ofHours(1));
+        EmployeeDto stored = writeBehind.accept(employee("ramesh@gmail.com")).block();
+        EmployeeDto duplicate = writeBehind.accept(employee("ramesh@gmail.com")).block();
+
+        assertThat(writeBehind.getState(stored.getId()).getState()).isEqualTo(WriteBehindEntryStatus.State.PENDING);
+
+        writeBehind.close();
+
+        assertThat(writeBehind.getState(stored.getId())).isNull();
+        assertThat(writeBehind.getState(duplicate.getId()))
+                .isEqualTo(new WriteBehindEntryStatus(duplicate.getId(), WriteBehindEntryStatus.State.FAILED,
+                        "E11000 duplicate key error"));
+        assertThat(writeBehind.getCommitted()).isEqualTo(1);
+        assertThat(writeBehind.getFailed()).isEqualTo(1);
+        assertThat(writeBehind.getPending()).isZero();
+    }
+
+    private static EmployeeDto employee(String email) {
+        return new EmployeeDto(null, "Ramesh", "Fadatare", email, null);
+    }
+}
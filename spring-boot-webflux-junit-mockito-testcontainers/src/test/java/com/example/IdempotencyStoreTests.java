@@ -0,0 +1,141 @@
+package com.example;
+
+import com.example.dto.EmployeeDto;
+import com.example.web.IdempotencyStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+
+public class IdempotencyStoreTests {
+
+    private static final String SCOPE = "POST /api/employees";
+
+    private final IdempotencyStore store = new IdempotencyStore(100, Duration.ofMinutes(5), new ObjectMapper(), null);
+
+    @Test
+    public void givenConcurrentDuplicates_whenExecute_thenWriteOnceAndReplay() {
+        EmployeeDto employeeDto = employee("ramesh@gmail.com");
+        AtomicInteger writes = new AtomicInteger();
+        Sinks.One<ResponseEntity<EmployeeDto>> write = Sinks.one();
+
+        Mono<ResponseEntity<EmployeeDto>> first = store.execute(SCOPE, "key-1", employeeDto, EmployeeDto.class, () -> {
+            writes.incrementAndGet();
+            return write.asMono();
+        });
+        Mono<ResponseEntity<EmployeeDto>> duplicate = store.execute(SCOPE, "key-1", employeeDto, EmployeeDto.class, () -> {
+            writes.incrementAndGet();
+            return write.asMono();
+        });
+
+        StepVerifier.create(first.zipWith(duplicate))
+                .then(() -> write.tryEmitValue(ResponseEntity.status(HttpStatus.CREATED).body(saved(employeeDto))))
+                .assertNext(responses -> {
+                    assertThat(responses.getT1().getStatusCode()).isEqualTo(HttpStatus.CREATED);
+                    assertThat(responses.getT1().getHeaders().containsKey(IdempotencyStore.REPLAYED_HEADER)).isFalse();
+                    assertThat(responses.getT2().getBody()).isEqualTo(responses.getT1().getBody());
+                    assertThat(responses.getT2().getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER)).isEqualTo("true");
+                })
+                .verifyComplete();
+        assertThat(writes).hasValue(1);
+    }
+
+    @Test
+    public void givenKeyReusedForDifferentBody_whenExecute_thenReturnUnprocessableEntity() {
+        EmployeeDto employeeDto = employee("ramesh@gmail.com");
+        store.execute(SCOPE, "key-2", employeeDto, EmployeeDto.class,
+                () -> Mono.just(ResponseEntity.status(HttpStatus.CREATED).body(saved(employeeDto)))).block();
+
+        StepVerifier.create(store.execute(SCOPE, "key-2", employee("john@gmail.com"), EmployeeDto.class,
+                        () -> Mono.just(ResponseEntity.status(HttpStatus.CREATED).body(saved(employeeDto)))))
+                .expectErrorMatches(ex -> ex instanceof ResponseStatusException
+                        && ((ResponseStatusException) ex).getStatus() == HttpStatus.UNPROCESSABLE_ENTITY)
+                .verify();
+    }
+
+    @Test
+    public void givenFailedRequest_whenRetriedWithSameKey_thenRunAgain() {
+        EmployeeDto employeeDto = employee("ramesh@gmail.com");
+        AtomicInteger writes = new AtomicInteger();
+
+        StepVerifier.create(store.execute(SCOPE, "key-3", employeeDto, EmployeeDto.class, () -> {
+                    writes.incrementAndGet();
+                    return Mono.error(new IllegalStateException("timeout"));
+                }))
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        StepVerifier.create(store.execute(SCOPE, "key-3", employeeDto, EmployeeDto.class, () -> {
+                    writes.incrementAndGet();
+                    return Mono.just(ResponseEntity.status(HttpStatus.CREATED).body(saved(employeeDto)));
+                }))
+                .assertNext(response -> assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED))
+                .verifyComplete();
+        assertThat(writes).hasValue(2);
+    }
+
+    @Test
+    public void givenCreatedWithETag_whenReplayedFromMemoryOrMongo_thenKeepLocationAndETag() {
+        ReactiveMongoTemplate mongoTemplate = mock(ReactiveMongoTemplate.class, RETURNS_DEEP_STUBS);
+        AtomicReference<Document> stored = new AtomicReference<>();
+        given(mongoTemplate.indexOps(IdempotencyStore.COLLECTION).ensureIndex(any())).willReturn(Mono.just("createdAt"));
+        given(mongoTemplate.findById(anyString(), eq(Document.class), eq(IdempotencyStore.COLLECTION)))
+                .willAnswer(invocation -> Mono.justOrEmpty(stored.get()));
+        given(mongoTemplate.save(any(Document.class), eq(IdempotencyStore.COLLECTION)))
+                .willAnswer(invocation -> {
+                    stored.set(invocation.getArgument(0));
+                    return Mono.just(stored.get());
+                });
+        EmployeeDto employeeDto = employee("ramesh@gmail.com");
+        ResponseEntity<EmployeeDto> created = ResponseEntity.status(HttpStatus.CREATED)
+                .location(URI.create("/api/employees/123"))
+                .eTag("\"0\"")
+                .body(saved(employeeDto));
+        IdempotencyStore store = new IdempotencyStore(100, Duration.ofMinutes(5), new ObjectMapper(), mongoTemplate);
+        store.execute(SCOPE, "key-4", employeeDto, EmployeeDto.class, () -> Mono.just(created)).block();
+
+        ResponseEntity<EmployeeDto> fromMemory = store.execute(SCOPE, "key-4", employeeDto, EmployeeDto.class,
+                () -> Mono.error(new IllegalStateException("replayed requests must not run"))).block();
+        // a restarted instance only has what is in Mongo
+        ResponseEntity<EmployeeDto> fromMongo = new IdempotencyStore(100, Duration.ofMinutes(5), new ObjectMapper(), mongoTemplate)
+                .execute(SCOPE, "key-4", employeeDto, EmployeeDto.class,
+                        () -> Mono.error(new IllegalStateException("replayed requests must not run"))).block();
+
+        for (ResponseEntity<EmployeeDto> replay : List.of(fromMemory, fromMongo)) {
+            assertThat(replay.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+            assertThat(replay.getHeaders().getLocation()).isEqualTo(URI.create("/api/employees/123"));
+            assertThat(replay.getHeaders().getETag()).isEqualTo("\"0\"");
+            assertThat(replay.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER)).isEqualTo("true");
+            // the version is not serialized, the ETag is the only place a replay from Mongo carries it
+            assertThat(replay.getBody()).usingRecursiveComparison().ignoringFields("version").isEqualTo(created.getBody());
+        }
+    }
+
+    private static EmployeeDto employee(String email) {
+        return EmployeeDto.builder().firstName("Ramesh").lastName("Fadatare").email(email).build();
+    }
+
+    private static EmployeeDto saved(EmployeeDto employeeDto) {
+        return new EmployeeDto("123", employeeDto.getFirstName(), employeeDto.getLastName(), employeeDto.getEmail(), 0L);
+    }
+}
@@ -0,0 +1,134 @@
+package com.example;
+
+import com.example.benchmark.EmployeeDataGenerator;
+import com.example.entity.Employee;
+import com.example.profiling.JfrAccessFilter;
+import com.example.profiling.JfrEndpoint;
+import com.example.profiling.JfrRecordings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JfrEndpointTests {
+
+    @TempDir
+    Path directory;
+
+    private JfrRecordings recordings;
+    private JfrEndpoint endpoint;
+
+    @BeforeEach
+    public void setup() {
+        recordings = new JfrRecordings(directory, Duration.ofMinutes(1), 1, "com.example.");
+        endpoint = new JfrEndpoint(recordings, 5);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        recordings.close();
+    }
+
+    @Test
+    public void givenRecording_whenSummary_thenHotMethodsInPackage() throws Exception {
+        WebEndpointResponse<Object> started = endpoint.start("profile", null);
+        assertThat(started.getStatus()).isEqualTo(200);
+        long id = ((JfrRecordings.RecordingInfo) started.getBody()).getId();
+
+        EmployeeDataGenerator generator = new EmployeeDataGenerator(42);
+        List<Employee> employees = new ArrayList<>();
+        long end = System.nanoTime() + Duration.ofMillis(1500).toNanos();
+        while (System.nanoTime() < end) {
+            employees.add(generator.next());
+            if (employees.size() == 100_000) {
+                employees.clear();
+            }
+        }
+        assertThat(endpoint.stop(id).getStatus()).isEqualTo(200);
+
+        WebEndpointResponse<JfrRecordings.RecordingSummary> summary = endpoint.summary(id, "summary");
+        assertThat(summary.getStatus()).isEqualTo(200);
+        assertThat(summary.getBody().getExecutionSamples()).isPositive();
+        assertThat(summary.getBody().getHotMethods()).isNotEmpty()
+                .allSatisfy(site -> assertThat(site.getMethod()).startsWith("com.example."));
+
+        WebEndpointResponse<Resource> download = endpoint.download(id);
+        assertThat(download.getStatus()).isEqualTo(200);
+        assertThat(download.getBody().contentLength()).isPositive();
+
+        assertThat(endpoint.delete(id).getStatus()).isEqualTo(204);
+        assertThat(endpoint.recordings()).isEmpty();
+    }
+
+    @Test
+    public void givenInvalidRequests_whenEndpoint_thenErrorStatuses() {
+        assertThat(endpoint.start("nope", null).getStatus()).isEqualTo(400);
+        assertThat(endpoint.start("default", Duration.ofHours(1)).getStatus()).isEqualTo(400);
+        long id = ((JfrRecordings.RecordingInfo) endpoint.start("default", null).getBody()).getId();
+        assertThat(endpoint.start("default", null).getStatus()).isEqualTo(429);
+
+        assertThat(endpoint.summary(id, "other").getStatus()).isEqualTo(404);
+        assertThat(endpoint.download(id + 1).getStatus()).isEqualTo(404);
+        assertThat(endpoint.stop(id + 1).getStatus()).isEqualTo(404);
+        assertThat(endpoint.delete(id + 1).getStatus()).isEqualTo(404);
+    }
+
+    @Test
+    public void givenToken_whenFilter_thenOnlyEndpointRequestsChecked() {
+        JfrAccessFilter filter = new JfrAccessFilter("/actuator/jfr", "s3cret");
+
+        MockServerWebExchange missing = MockServerWebExchange.from(MockServerHttpRequest.get("/actuator/jfr/1"));
+        assertThat(filter(filter, missing)).isFalse();
+        assertThat(missing.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(missing.getResponse().getHeaders().getFirst(HttpHeaders.WWW_AUTHENTICATE)).isEqualTo("Bearer");
+
+        MockServerWebExchange wrong = MockServerWebExchange.from(MockServerHttpRequest.post("/actuator/jfr")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer s3cretx"));
+        assertThat(filter(filter, wrong)).isFalse();
+
+        MockServerWebExchange valid = MockServerWebExchange.from(MockServerHttpRequest.post("/actuator/jfr")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer s3cret"));
+        assertThat(filter(filter, valid)).isTrue();
+
+        MockServerWebExchange other = MockServerWebExchange.from(MockServerHttpRequest.get("/actuator/jfrx"));
+        assertThat(filter(filter, other)).isTrue();
+    }
+
+    @Test
+    public void givenObfuscatedEndpointPath_whenFilterWithoutToken_thenRejected() {
+        JfrAccessFilter filter = new JfrAccessFilter("/actuator/jfr", "s3cret");
+
+        // both reach the endpoint: its handler mapping drops matrix parameters and decodes the path
+        for (String path : new String[]{"/actuator/jfr;x/1", "/actuator/%6Afr", "/actuator/jfr;x", "/actuator/jfr/"}) {
+            MockServerWebExchange exchange = MockServerWebExchange.from(
+                    MockServerHttpRequest.method(HttpMethod.GET, URI.create(path)));
+            assertThat(filter(filter, exchange)).as(path).isFalse();
+            assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        }
+    }
+
+    private static boolean filter(JfrAccessFilter filter, MockServerWebExchange exchange) {
+        AtomicBoolean passed = new AtomicBoolean();
+        WebFilterChain chain = e -> Mono.fromRunnable(() -> passed.set(true));
+        filter.filter(exchange, chain).block();
+        return passed.get();
+    }
+}
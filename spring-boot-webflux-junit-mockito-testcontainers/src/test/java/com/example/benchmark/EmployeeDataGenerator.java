@@ -0,0 +1,149 @@
+package com.example.benchmark;
+
+import com.example.entity.Employee;
+import org.bson.types.ObjectId;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Endless, deterministic stream of realistic employees for seeding benchmark databases: the
+ * same seed always yields the same sequence.
+ * <p>
+ * First names, last names and email domains are drawn from Zipf-like distributions, so a few
+ * names are very common and many (first name, last name) pairs repeat, the way real directories
+ * have many John Smiths. Emails are unique: the local part is built from the name in one of a
+ * few common styles and ends in the row's sequence number.
+ * <p>
+ * Ids are ObjectIds derived from the seed and the sequence number, increasing in generation
+ * order, so re-seeding with the same seed reproduces the same {@code _id}s.
+ */
+public class EmployeeDataGenerator {
+
+    private static final String[] FIRST_NAMES = {
+            "James", "Mary", "John", "Patricia", "Robert", "Jennifer", "Michael", "Linda", "David", "Elizabeth",
+            "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah", "Charles", "Karen",
+            "Christopher", "Lisa", "Daniel", "Nancy", "Matthew", "Betty", "Anthony", "Sandra", "Mark", "Margaret",
+            "Donald", "Ashley", "Steven", "Kimberly", "Andrew", "Emily", "Paul", "Donna", "Joshua", "Michelle",
+            "Kenneth", "Carol", "Kevin", "Amanda", "Brian", "Melissa", "George", "Deborah", "Timothy", "Stephanie",
+            "Ramesh", "Priya", "Rahul", "Anita", "Suresh", "Deepa", "Amit", "Kavita", "Vikram", "Sunita",
+            "Wei", "Li", "Jun", "Mei", "Hiroshi", "Yuki", "Min-jun", "Seo-yeon", "Mohammed", "Fatima",
+            "Ahmed", "Aisha", "Omar", "Layla", "Carlos", "Maria", "Jose", "Ana", "Luis", "Sofia",
+            "Juan", "Camila", "Pedro", "Valentina", "Lukas", "Emma", "Jonas", "Mia", "Noah", "Olivia",
+            "Liam", "Ava", "Oliver", "Isabella", "Elijah", "Amelia", "Lucas", "Harper", "Mateo", "Evelyn"
+    };
+
+    private static final String[] LAST_NAMES = {
+            "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez", "Martinez",
+            "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas", "Taylor", "Moore", "Jackson", "Martin",
+            "Lee", "Perez", "Thompson", "White", "Harris", "Sanchez", "Clark", "Ramirez", "Lewis", "Robinson",
+            "Walker", "Young", "Allen", "King", "Wright", "Scott", "Torres", "Nguyen", "Hill", "Flores",
+            "Green", "Adams", "Nelson", "Baker", "Hall", "Rivera", "Campbell", "Mitchell", "Carter", "Roberts",
+            "Patel", "Sharma", "Singh", "Kumar", "Gupta", "Fadatare", "Reddy", "Iyer", "Nair", "Joshi",
+            "Wang", "Zhang", "Chen", "Liu", "Yang", "Tanaka", "Suzuki", "Kim", "Park", "Choi",
+            "Khan", "Ali", "Hassan", "Hussein", "Silva", "Santos", "Oliveira", "Pereira", "Costa", "Fernandes",
+            "Muller", "Schmidt", "Schneider", "Fischer", "Weber", "Meyer", "Wagner", "Becker", "Schulz", "Hoffmann",
+            "Rossi", "Russo", "Ferrari", "Esposito", "Bianchi", "Dubois", "Durand", "Leroy", "Moreau", "Laurent",
+            "Jansen", "De Vries", "Van Dijk", "Bakker", "Visser", "Novak", "Kowalski", "Nowak", "Wisniewski", "Horvat",
+            "O'Brien", "Murphy", "Kelly", "Sullivan", "Walsh", "Andersson", "Johansson", "Karlsson", "Nilsson", "Eriksson"
+    };
+
+    private static final String[] DOMAINS = {
+            "gmail.com", "outlook.com", "yahoo.com", "example.com", "hotmail.com", "icloud.com",
+            "proton.me", "corp.example.org", "mail.example.net", "aol.com"
+    };
+
+    private static final String[] FIRST_LOCAL_PARTS = localParts(FIRST_NAMES);
+    private static final String[] LAST_LOCAL_PARTS = localParts(LAST_NAMES);
+
+    private final SplittableRandom random;
+    private final int idPrefix;
+    private final double[] firstNameCdf = zipfCdf(FIRST_NAMES.length, 1.1);
+    private final double[] lastNameCdf = zipfCdf(LAST_NAMES.length, 0.9);
+    private final double[] domainCdf = zipfCdf(DOMAINS.length, 1.5);
+    private long sequence;
+
+    public EmployeeDataGenerator(long seed) {
+        this.random = new SplittableRandom(seed);
+        this.idPrefix = random.nextInt();
+    }
+
+    /**
+     * The next employee, with an id and version 0 as if it had been saved.
+     */
+    public Employee next() {
+        int firstName = pick(firstNameCdf);
+        int lastName = pick(lastNameCdf);
+        String domain = DOMAINS[pick(domainCdf)];
+        return Employee.builder()
+                .id(objectId(sequence).toHexString())
+                .firstName(FIRST_NAMES[firstName])
+                .lastName(LAST_NAMES[lastName])
+                .email(email(FIRST_LOCAL_PARTS[firstName], LAST_LOCAL_PARTS[lastName], domain, sequence++))
+                .version(0L)
+                .build();
+    }
+
+    public long generated() {
+        return sequence;
+    }
+
+    private String email(String first, String last, String domain, long sequence) {
+        String name;
+        switch (random.nextInt(4)) {
+            case 0:
+                name = first + "." + last;
+                break;
+            case 1:
+                name = first.charAt(0) + last;
+                break;
+            case 2:
+                name = first + "_" + last;
+                break;
+            default:
+                name = first + last.charAt(0);
+        }
+        // the sequence number never contains a dot, so it alone keeps emails unique
+        return name + "." + Long.toString(sequence, 36) + "@" + domain;
+    }
+
+    /**
+     * A fixed timestamp, 4 bytes from the seed and the sequence number, so ids sort in generation order.
+     */
+    private ObjectId objectId(long sequence) {
+        return new ObjectId(ByteBuffer.allocate(12)
+                .putInt(1_700_000_000)
+                .putInt(idPrefix)
+                .putInt((int) sequence)
+                .array());
+    }
+
+    private int pick(double[] cdf) {
+        int index = Arrays.binarySearch(cdf, random.nextDouble());
+        return Math.min(index < 0 ? -index - 1 : index, cdf.length - 1);
+    }
+
+    private static String[] localParts(String[] names) {
+        return Arrays.stream(names)
+                .map(name -> name.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]", ""))
+                .toArray(String[]::new);
+    }
+
+    /**
+     * Cumulative probabilities of ranks 1..n with weight {@code 1 / rank^exponent}.
+     */
+    private static double[] zipfCdf(int n, double exponent) {
+        double[] cdf = new double[n];
+        double total = 0;
+        for (int rank = 1; rank <= n; rank++) {
+            total += 1 / Math.pow(rank, exponent);
+            cdf[rank - 1] = total;
+        }
+        for (int i = 0; i < n; i++) {
+            cdf[i] /= total;
+        }
+        return cdf;
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.benchmark;
+
+import com.example.dto.EmployeeDto;
+import com.example.entity.Employee;
+import com.example.mapper.EmployeeConverters;
+import com.example.mapper.EmployeeMapper;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-document decode cost of the reflective {@link MappingMongoConverter} path followed by
+ * {@link EmployeeMapper#mapToEmployeeDto} against the hand-written converters.
+ * <p>
+ * Both start from an already decoded {@link Document}. The driver's BSON to {@code Document}
+ * decode happens on either path and is left out, so the difference here overstates the share
+ * of a whole read that the converters save.
+ * <p>
+ * Run with {@code -prof gc} and compare {@code gc.alloc.rate.norm} for bytes allocated per
+ * decoded document.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmployeeDecodeBenchmark {
+
+    private Document document;
+    private MappingMongoConverter reflectiveConverter;
+    private EmployeeConverters.DocumentToEmployeeDtoConverter dtoConverter;
+    private EmployeeConverters.DocumentToEmployeeConverter employeeConverter;
+
+    @Setup
+    public void setup() {
+        document = new Document("_id", new ObjectId())
+                .append("firstName", "Ramesh")
+                .append("lastName", "Fadatare")
+                .append("email", "ramesh@gmail.com")
+                .append("_class", Employee.class.getName());
+
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setInitialEntitySet(Set.of(Employee.class));
+        mappingContext.afterPropertiesSet();
+        reflectiveConverter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        reflectiveConverter.afterPropertiesSet();
+
+        dtoConverter = new EmployeeConverters.DocumentToEmployeeDtoConverter();
+        employeeConverter = new EmployeeConverters.DocumentToEmployeeConverter();
+    }
+
+    @Benchmark
+    public EmployeeDto reflectiveEntityThenMapper() {
+        return EmployeeMapper.mapToEmployeeDto(reflectiveConverter.read(Employee.class, document));
+    }
+
+    @Benchmark
+    public Employee handWrittenEntity() {
+        return employeeConverter.convert(document);
+    }
+
+    @Benchmark
+    public EmployeeDto handWrittenDirectToDto() {
+        return dtoConverter.convert(document);
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load harness comparing HTTP/1.1 with h2c for many concurrent {@code GET /api/employees/{id}}
+ * calls against a running instance. For each protocol it reports the number of TCP
+ * connections opened and latency percentiles.
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec \
+ *     -Dbenchmark.main=com.example.benchmark.H2cConcurrencyBenchmark \
+ *     -Dbenchmark.args="http://localhost:8080 &lt;employeeId&gt; 512 50000"
+ * </pre>
+ */
+public class H2cConcurrencyBenchmark {
+
+    public static void main(String[] args) {
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.INFO);
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        String employeeId = args.length > 1 ? args[1] : "000000000000000000000000";
+        int concurrency = args.length > 2 ? Integer.parseInt(args[2]) : 256;
+        int requests = args.length > 3 ? Integer.parseInt(args[3]) : 20_000;
+
+        String uri = baseUrl + "/api/employees/" + employeeId;
+        for (HttpProtocol protocol : new HttpProtocol[]{HttpProtocol.HTTP11, HttpProtocol.H2C}) {
+            run(protocol, uri, concurrency, requests / 10);
+            Result result = run(protocol, uri, concurrency, requests);
+            System.out.println(protocol + ": " + result);
+        }
+    }
+
+    private static Result run(HttpProtocol protocol, String uri, int concurrency, int requests) {
+        // HTTP/1.1 needs a connection per in-flight request, h2c multiplexes them as streams
+        int maxConnections = protocol == HttpProtocol.H2C ? 1 : concurrency;
+        ConnectionProvider provider = ConnectionProvider.builder("benchmark-" + protocol)
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(-1)
+                .build();
+        AtomicInteger connections = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        HttpClient client = HttpClient.create(provider)
+                .protocol(protocol)
+                .doOnChannelInit((observer, channel, remoteAddress) -> connections.incrementAndGet());
+
+        long[] latencies = new long[requests];
+        AtomicInteger index = new AtomicInteger();
+        long start = System.nanoTime();
+        try {
+            Flux.range(0, requests)
+                    .flatMap(i -> Mono.defer(() -> {
+                        long requestStart = System.nanoTime();
+                        return client.get().uri(uri)
+                                .responseSingle((response, body) -> body.then(Mono.just(response.status())))
+                                .doOnNext(status -> {
+                                    if (status.code() >= HttpResponseStatus.INTERNAL_SERVER_ERROR.code()) {
+                                        errors.incrementAndGet();
+                                    }
+                                    latencies[index.getAndIncrement()] = System.nanoTime() - requestStart;
+                                })
+                                .onErrorResume(ex -> {
+                                    errors.incrementAndGet();
+                                    return Mono.empty();
+                                });
+                    }), concurrency)
+                    .blockLast(Duration.ofMinutes(10));
+        } finally {
+            provider.disposeLater().block();
+        }
+        long elapsed = System.nanoTime() - start;
+        return new Result(connections.get(), errors.get(), Arrays.copyOf(latencies, index.get()), elapsed, requests);
+    }
+
+    private static final class Result {
+        private final int connections;
+        private final int errors;
+        private final long[] latencies;
+        private final long elapsedNanos;
+        private final int requests;
+
+        private Result(int connections, int errors, long[] latencies, long elapsedNanos, int requests) {
+            this.connections = connections;
+            this.errors = errors;
+            this.latencies = latencies;
+            this.elapsedNanos = elapsedNanos;
+            this.requests = requests;
+            Arrays.sort(this.latencies);
+        }
+
+        private double percentileMillis(double percentile) {
+            if (latencies.length == 0) {
+                return Double.NaN;
+            }
+            int i = (int) Math.min(latencies.length - 1, Math.ceil(percentile / 100 * latencies.length) - 1);
+            return latencies[Math.max(i, 0)] / 1_000_000.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("connections=%d errors=%d throughput=%.0f req/s p50=%.2fms p99=%.2fms p99.9=%.2fms",
+                    connections, errors, requests / (elapsedNanos / 1e9),
+                    percentileMillis(50), percentileMillis(99), percentileMillis(99.9));
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.example.dto.EmployeeDto;
+import com.example.entity.Employee;
+import com.example.service.EmployeeServiceImpl;
+import com.example.service.PipelineMetrics;
+import com.mongodb.ConnectionString;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoClients;
+import org.bson.Document;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * Compares a full-collection scan through the single cursor of {@code getAllEmployees} with the
+ * range-partitioned export at several partition counts, unordered and ordered, against a running
+ * MongoDB. The collection is topped up to the requested number of documents first.
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec \
+ *     -Dbenchmark.main=com.example.benchmark.PartitionedScanBenchmark \
+ *     -Dbenchmark.args="mongodb://localhost:27017/ems 1000000 1,2,4,8,16 5"
+ * </pre>
+ */
+public class PartitionedScanBenchmark {
+
+    public static void main(String[] args) {
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.INFO);
+        String uri = args.length > 0 ? args[0] : "mongodb://localhost:27017/ems";
+        long documents = args.length > 1 ? Long.parseLong(args[1]) : 1_000_000;
+        int[] partitionCounts = Arrays.stream((args.length > 2 ? args[2] : "1,2,4,8,16").split(","))
+                .mapToInt(Integer::parseInt).toArray();
+        int runs = args.length > 3 ? Integer.parseInt(args[3]) : 5;
+
+        try (MongoClient client = MongoClients.create(uri)) {
+            ReactiveMongoTemplate mongoTemplate =
+                    new ReactiveMongoTemplate(client, new ConnectionString(uri).getDatabase());
+            seed(mongoTemplate, documents);
+            // the export paths only use the template
+            EmployeeServiceImpl service = new EmployeeServiceImpl(null, mongoTemplate, null,
+                    PipelineMetrics.disabled("employee.service"));
+
+            report("single cursor", runs, service::getAllEmployees);
+            for (int partitions : partitionCounts) {
+                report(partitions + " partitions, unordered", runs, () -> service.exportEmployees(partitions, false));
+                report(partitions + " partitions, ordered", runs, () -> service.exportEmployees(partitions, true));
+            }
+        }
+    }
+
+    private static void seed(ReactiveMongoTemplate mongoTemplate, long documents) {
+        String collection = mongoTemplate.getCollectionName(Employee.class);
+        long existing = mongoTemplate.getCollection(collection)
+                .flatMap(c -> Mono.from(c.countDocuments())).block();
+        if (existing >= documents) {
+            return;
+        }
+        System.out.println("seeding " + (documents - existing) + " employees");
+        Flux.range(0, Math.toIntExact(documents - existing))
+                .map(i -> new Document("firstName", "First" + i)
+                        .append("lastName", "Last" + i)
+                        .append("email", "scan" + existing + "-" + i + "@example.com"))
+                .buffer(10_000)
+                .concatMap(batch -> mongoTemplate.getCollection(collection)
+                        .flatMapMany(c -> c.insertMany(batch)), 4)
+                .blockLast(Duration.ofMinutes(30));
+    }
+
+    private static void report(String label, int runs, Supplier<Flux<EmployeeDto>> scan) {
+        scan.get().count().block(Duration.ofMinutes(10));
+        long[] millis = new long[runs];
+        long count = 0;
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            count = scan.get().count().block(Duration.ofMinutes(10));
+            millis[i] = (System.nanoTime() - start) / 1_000_000;
+        }
+        Arrays.sort(millis);
+        System.out.printf("%-28s docs=%d median=%dms min=%dms max=%dms%n",
+                label, count, millis[runs / 2], millis[0], millis[runs - 1]);
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.benchmark;
+
+import com.example.dto.EmployeeDto;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode and decode cost of an employee list in each negotiable payload format, the CPU a
+ * bulk consumer of {@code GET /api/employees} pays per response. The encoded size of each
+ * list is printed once per trial.
+ * <p>
+ * Run with {@code -prof gc} to compare {@code gc.alloc.rate.norm} as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PayloadFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"1", "1000"})
+    private int employees;
+
+    private List<EmployeeDto> list;
+    private byte[] payload;
+    private ObjectWriter writer;
+    private ObjectReader reader;
+
+    @Setup
+    public void setup() throws IOException {
+        list = new ArrayList<>(employees);
+        for (int i = 0; i < employees; i++) {
+            EmployeeDto employee = new EmployeeDto();
+            employee.setId(new ObjectId().toHexString());
+            employee.setFirstName("Ramesh" + i % 100);
+            employee.setLastName("Fadatare" + i % 1000);
+            employee.setEmail("ramesh" + i + "@gmail.com");
+            list.add(employee);
+        }
+
+        ObjectMapper mapper = new ObjectMapper(factory(format));
+        TypeReference<List<EmployeeDto>> listType = new TypeReference<>() {};
+        writer = mapper.writerFor(listType);
+        reader = mapper.readerFor(listType);
+        payload = writer.writeValueAsBytes(list);
+        System.out.printf("%n%s, %d employees: %d bytes%n", format, employees, payload.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return writer.writeValueAsBytes(list);
+    }
+
+    @Benchmark
+    public List<EmployeeDto> decode() throws IOException {
+        return reader.readValue(payload);
+    }
+
+    private static JsonFactory factory(String format) {
+        switch (format) {
+            case "cbor":
+                return new CBORFactory();
+            case "smile":
+                return new SmileFactory();
+            default:
+                return new JsonFactory();
+        }
+    }
+}